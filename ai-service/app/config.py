@@ -11,6 +11,8 @@ class Settings:
     fairguard_parity_threshold: float = float(os.getenv("FAIRGUARD_PARITY_THRESHOLD", "0.15"))
     fairguard_drift_threshold: float = float(os.getenv("FAIRGUARD_DRIFT_THRESHOLD", "0.2"))
     fairguard_window_size: int = int(os.getenv("FAIRGUARD_WINDOW_SIZE", "200"))
+    fairguard_queue_size: int = int(os.getenv("FAIRGUARD_QUEUE_SIZE", "1024"))
+    fairguard_batch_size: int = int(os.getenv("FAIRGUARD_BATCH_SIZE", "64"))
 
 
 settings = Settings()
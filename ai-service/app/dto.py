@@ -13,5 +13,6 @@ class ExplainResponse:
     shap_values: Dict[str, float] = field(default_factory=dict)
     base_value: Optional[float] = None
     probability: Optional[float] = None
+    model_version: Optional[str] = None
     fairguard: Dict[str, Any] = field(default_factory=dict)
 
@@ -1,14 +1,15 @@
-from flask import Blueprint, jsonify, request
+from flask import Blueprint
 
 from ..dto import ExplainResponse
+from ..wire import read_payload, respond
 
 
-def create_blueprint(shap_engine, pipeline, fairguard_monitor):
+def create_blueprint(shap_engine, pipeline, fairguard_monitor, model_version=None):
     blueprint = Blueprint("explain", __name__)
 
     @blueprint.post("/explain")
     def explain():
-        payload = request.get_json(force=True) or {}
+        payload = read_payload()
         feature_frame = shap_engine.prepare_features(payload)
 
         prediction = int(pipeline.predict(feature_frame)[0])
@@ -20,25 +21,44 @@ def create_blueprint(shap_engine, pipeline, fairguard_monitor):
             shap_values=shap_values,
             base_value=shap_engine.base_value,
             probability=probability,
+            model_version=model_version,
         )
 
-        fairguard_status = fairguard_monitor.record_event(
+        fairguard_status = fairguard_monitor.submit_event(
             payload, response.decision, probability, shap_values
         )
         envelope = response.__dict__.copy()
         envelope["fairguard"] = fairguard_status
-        return jsonify(envelope)
+        return respond(envelope)
+
+    @blueprint.post("/monitor/fairguard/events")
+    def record_fairguard_event():
+        # Decisions scored natively by the gateway are reported here so the monitor still sees them.
+        event = read_payload()
+        if "decision" not in event or "probability" not in event:
+            return respond({"error": "decision and probability are required"}, 400)
+        status = fairguard_monitor.submit_event(
+            event.get("payload") or {},
+            event["decision"],
+            float(event["probability"]),
+            event.get("shap_values"),
+        )
+        return respond(status)
+
+    @blueprint.get("/monitor/fairguard/status")
+    def fairguard_status():
+        return respond(fairguard_monitor.latest_status())
 
     @blueprint.get("/monitor/fairguard")
     def fairguard_summary():
-        return jsonify(fairguard_monitor.summary())
+        return respond(fairguard_monitor.summary())
 
     @blueprint.post("/monitor/fairguard/simulate")
     def trigger_simulation():
         # In case the browser sends an options preflight or empty body, we handle it gracefully.
         # The simulation doesn't actually need a body.
         fairguard_monitor.seed_simulation_data()
-        return jsonify(fairguard_monitor.summary())
+        return respond(fairguard_monitor.summary())
 
     return blueprint
 
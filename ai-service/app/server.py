@@ -15,20 +15,23 @@ def create_app():
     pipeline = artifact["pipeline"]
     feature_columns = artifact.get("feature_columns")
     background = artifact.get("background")
+    model_version = artifact.get("model_version")
 
     shap_engine = ShapEngine(pipeline, feature_columns, background).bootstrap()
     fairguard_monitor = FairGuardMonitor(
         parity_threshold=settings.fairguard_parity_threshold,
         drift_threshold=settings.fairguard_drift_threshold,
         window_size=settings.fairguard_window_size,
+        queue_size=settings.fairguard_queue_size,
+        batch_size=settings.fairguard_batch_size,
     )
     app.register_blueprint(
-        create_blueprint(shap_engine, pipeline, fairguard_monitor)
+        create_blueprint(shap_engine, pipeline, fairguard_monitor, model_version)
     )
 
     @app.get("/health")
     def health():
-        return jsonify({"status": "ok"})
+        return jsonify({"status": "ok", "model_version": model_version})
 
     return app
 
@@ -2,10 +2,14 @@ from __future__ import annotations
 
 from collections import Counter, defaultdict, deque
 from datetime import datetime, timezone
-from threading import Lock
+from threading import Lock, Thread
 from typing import Any, Dict, List, Optional
+import logging
+import queue
 import random
 
+logger = logging.getLogger(__name__)
+
 
 class FairGuardMonitor:
     """
@@ -16,6 +20,12 @@ class FairGuardMonitor:
     probability drift, and highlights the SHAP features that consistently depress
     approvals. Whenever a guardrail is exceeded the monitor toggles a circuit breaker
     so the gateway can route decisions to human review.
+
+    Request handlers use `submit_event`, which only enqueues: a background worker drains
+    the bounded queue in batches, applies each batch under one lock acquisition, rebuilds
+    the summary once and publishes the resulting status for the next reader. When the queue
+    is full the event is dropped and counted under its own lock, so a request thread never
+    waits on the worker's recompute.
     """
 
     def __init__(
@@ -25,6 +35,8 @@ class FairGuardMonitor:
         drift_threshold: float = 0.2,
         window_size: int = 200,
         min_samples: int = 5,
+        queue_size: int = 1024,
+        batch_size: int = 64,
     ):
         self.protected_attributes = protected_attributes or [
             "GENDER",
@@ -43,7 +55,16 @@ class FairGuardMonitor:
             for attr in self.protected_attributes
         }
         self._shap_counter: Counter[str] = Counter()
-        
+
+        self.batch_size = max(1, batch_size)
+        self._queue: "queue.Queue[tuple]" = queue.Queue(maxsize=max(1, queue_size))
+        self._worker: Optional[Thread] = None
+        self._worker_lock = Lock()
+        self._dropped_lock = Lock()
+        self._dropped_events = 0
+        with self._lock:
+            self._published_status = self._status_from_summary(self._build_summary_locked())
+
         # Seed initial data for demo purposes
         # self.seed_simulation_data()
 
@@ -90,6 +111,22 @@ class FairGuardMonitor:
             }
             self.record_event(payload, decision, prob)
 
+    def submit_event(
+        self,
+        payload: Dict[str, Any],
+        decision: str,
+        probability: float,
+        shap_values: Optional[Dict[str, float]] = None,
+    ) -> Dict[str, Any]:
+        """Queues an event for the background worker and returns the last published status."""
+        self._ensure_worker()
+        try:
+            self._queue.put_nowait((payload, decision, float(probability), shap_values))
+        except queue.Full:
+            with self._dropped_lock:
+                self._dropped_events += 1
+        return self._published_status
+
     def record_event(
         self,
         payload: Dict[str, Any],
@@ -97,44 +134,99 @@ class FairGuardMonitor:
         probability: float,
         shap_values: Optional[Dict[str, float]] = None,
     ) -> Dict[str, Any]:
+        with self._lock:
+            self._apply_event_locked(payload, decision, probability, shap_values)
+            return self._publish_locked()
+
+    def latest_status(self) -> Dict[str, Any]:
+        status = dict(self._published_status)
+        status["queueDepth"] = self._queue.qsize()
+        status["droppedEvents"] = self._dropped_events
+        return status
+
+    def _ensure_worker(self):
+        # Started lazily so the thread is created in the serving process rather than a pre-fork parent.
+        if self._worker is not None and self._worker.is_alive():
+            return
+        with self._worker_lock:
+            if self._worker is None or not self._worker.is_alive():
+                self._worker = Thread(target=self._drain_forever, name="fairguard-recorder", daemon=True)
+                self._worker.start()
+
+    def _drain_forever(self):
+        while True:
+            batch = [self._queue.get()]
+            while len(batch) < self.batch_size:
+                try:
+                    batch.append(self._queue.get_nowait())
+                except queue.Empty:
+                    break
+            with self._lock:
+                for payload, decision, probability, shap_values in batch:
+                    # One malformed event must not kill the worker and silently drop everything after it
+                    try:
+                        self._apply_event_locked(payload, decision, probability, shap_values)
+                    except Exception:
+                        logger.exception("FairGuard skipped an event it could not apply")
+                try:
+                    self._publish_locked()
+                except Exception:
+                    logger.exception("FairGuard could not publish its status; keeping the previous one")
+
+    def _apply_event_locked(
+        self,
+        payload: Dict[str, Any],
+        decision: str,
+        probability: float,
+        shap_values: Optional[Dict[str, float]],
+    ):
         normalized_payload = payload or {}
         approved = str(decision).lower() == "approved"
+        probability = float(probability)
         protected_snapshot = {
             attr: normalized_payload.get(attr) for attr in self.protected_attributes
         }
+        # Parsed before anything is mutated so a malformed event leaves no partial state behind
+        negative_shap = {
+            feature: abs(float(weight))
+            for feature, weight in (shap_values or {}).items()
+            if float(weight) < 0
+        }
 
-        with self._lock:
-            self._events.append(
-                {
-                    "timestamp": datetime.now(timezone.utc).isoformat(),
-                    "probability": float(probability),
-                    "approved": approved,
-                    "protected": protected_snapshot,
-                }
-            )
-
-            for attr, value in protected_snapshot.items():
-                bucket = self._dimension_stats[attr][value or "UNDECLARED"]
-                bucket["count"] += 1
-                if approved:
-                    bucket["approved"] += 1
-
-            if shap_values:
-                for feature, weight in shap_values.items():
-                    if weight < 0:
-                        self._shap_counter[feature] += abs(weight)
-
-            snapshot = self._build_summary_locked()
-            return {
-                "status": "ALERT"
-                if snapshot["circuitBreaker"]["active"]
-                else "NORMAL",
-                "circuitBreakerActive": snapshot["circuitBreaker"]["active"],
-                "reason": snapshot["circuitBreaker"]["reason"],
-                "alerts": snapshot["alerts"],
-                "driftScore": snapshot["drift"]["score"],
-                "windowSize": snapshot["windowSize"],
+        self._events.append(
+            {
+                "timestamp": datetime.now(timezone.utc).isoformat(),
+                "probability": probability,
+                "approved": approved,
+                "protected": protected_snapshot,
             }
+        )
+
+        for attr, value in protected_snapshot.items():
+            bucket = self._dimension_stats[attr][value or "UNDECLARED"]
+            bucket["count"] += 1
+            if approved:
+                bucket["approved"] += 1
+
+        for feature, weight in negative_shap.items():
+            self._shap_counter[feature] += weight
+
+    def _publish_locked(self) -> Dict[str, Any]:
+        self._published_status = self._status_from_summary(self._build_summary_locked())
+        return self._published_status
+
+    @staticmethod
+    def _status_from_summary(snapshot: Dict[str, Any]) -> Dict[str, Any]:
+        return {
+            "status": "ALERT"
+            if snapshot["circuitBreaker"]["active"]
+            else "NORMAL",
+            "circuitBreakerActive": snapshot["circuitBreaker"]["active"],
+            "reason": snapshot["circuitBreaker"]["reason"],
+            "alerts": snapshot["alerts"],
+            "driftScore": snapshot["drift"]["score"],
+            "windowSize": snapshot["windowSize"],
+        }
 
     def summary(self) -> Dict[str, Any]:
         with self._lock:
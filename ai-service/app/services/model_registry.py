@@ -1,4 +1,6 @@
 from pathlib import Path
+import hashlib
+
 import joblib
 
 
@@ -13,6 +15,7 @@ class ModelRegistry:
         self.pipeline = None
         self.feature_columns = None
         self.background = None
+        self.model_version = None
 
     def load(self):
         if not self.model_path.exists():
@@ -20,6 +23,8 @@ class ModelRegistry:
                 f"Model artifact not found at {self.model_path}. Run modeling/train_model.py first."
             )
 
+        # Same fingerprint train_model.py stamps on the portable artifact, so the gateway can tell retrains apart
+        self.model_version = hashlib.sha256(self.model_path.read_bytes()).hexdigest()
         artifact = joblib.load(self.model_path)
         if isinstance(artifact, dict) and "pipeline" in artifact:
             self.pipeline = artifact["pipeline"]
@@ -35,5 +40,6 @@ class ModelRegistry:
             "pipeline": self.pipeline,
             "feature_columns": self.feature_columns,
             "background": self.background,
+            "model_version": self.model_version,
         }
 
@@ -64,46 +64,54 @@ class ShapEngine:
         return dict(contributions)
 
     def _prettify_name(self, name: str) -> str:
-        # Remove standard pipeline prefixes
-        clean = name.replace("cat__", "").replace("num__", "")
-        
-        mapping = {
-            "MARITALSTATUS": "Marital Status",
-            "EDUCATION": "Education",
-            "GENDER": "Gender",
-            "CC_Flag": "Credit Card Holder",
-            "PL_Flag": "Personal Loan Holder",
-            "HL_Flag": "Home Loan Holder",
-            "GL_Flag": "Gold Loan Holder",
-            "last_prod_enq2": "Recent Product Inquiry",
-            "first_prod_enq2": "First Product Inquiry",
-            "AGE": "Age",
-            "NETMONTHLYINCOME": "Net Monthly Income",
-            "Credit_Score": "Credit Score",
-            "num_times_delinquent": "Times Delinquent",
-            "num_times_60p_dpd": "Times 60+ DPD",
-            "num_std": "Standard Accounts",
-            "num_sub": "Substandard Accounts",
-            "num_dbt": "Doubtful Accounts",
-            "CC_utilization": "Credit Card Utilization",
-            "PL_utilization": "Personal Loan Utilization",
-            "time_since_recent_payment": "Time Since Recent Payment",
-            "time_since_recent_enq": "Time Since Recent Inquiry",
-        }
-
-        for key, label in mapping.items():
-            if clean.startswith(key):
-                if clean == key:
-                    return label
-                # Handle one-hot encoded suffixes (e.g. GENDER_F)
-                if clean.startswith(key + "_"):
-                    suffix = clean[len(key) + 1:]
-                    return f"{label}: {suffix}"
-        
-        # Fallback cleanup
-        return clean.replace("_", " ").title()
+        return prettify_feature_name(name)
 
     @property
     def base_value(self) -> Optional[float]:
         return self._base_value
 
+    @property
+    def background_mean(self) -> Optional[np.ndarray]:
+        # Mean of the masker's (sub)sampled background in transformed space; SHAP values are coef * (x - mean).
+        return None if self.explainer is None else np.asarray(self.explainer.mean, dtype=float)
+
+
+def prettify_feature_name(name: str) -> str:
+    # Remove standard pipeline prefixes
+    clean = name.replace("cat__", "").replace("num__", "")
+    
+    mapping = {
+        "MARITALSTATUS": "Marital Status",
+        "EDUCATION": "Education",
+        "GENDER": "Gender",
+        "CC_Flag": "Credit Card Holder",
+        "PL_Flag": "Personal Loan Holder",
+        "HL_Flag": "Home Loan Holder",
+        "GL_Flag": "Gold Loan Holder",
+        "last_prod_enq2": "Recent Product Inquiry",
+        "first_prod_enq2": "First Product Inquiry",
+        "AGE": "Age",
+        "NETMONTHLYINCOME": "Net Monthly Income",
+        "Credit_Score": "Credit Score",
+        "num_times_delinquent": "Times Delinquent",
+        "num_times_60p_dpd": "Times 60+ DPD",
+        "num_std": "Standard Accounts",
+        "num_sub": "Substandard Accounts",
+        "num_dbt": "Doubtful Accounts",
+        "CC_utilization": "Credit Card Utilization",
+        "PL_utilization": "Personal Loan Utilization",
+        "time_since_recent_payment": "Time Since Recent Payment",
+        "time_since_recent_enq": "Time Since Recent Inquiry",
+    }
+
+    for key, label in mapping.items():
+        if clean.startswith(key):
+            if clean == key:
+                return label
+            # Handle one-hot encoded suffixes (e.g. GENDER_F)
+            if clean.startswith(key + "_"):
+                suffix = clean[len(key) + 1:]
+                return f"{label}: {suffix}"
+    
+    # Fallback cleanup
+    return clean.replace("_", " ").title()
@@ -0,0 +1,35 @@
+"""Content negotiation for the gateway <-> AI service link.
+
+With ``ai-service.wire-format=cbor`` the gateway sends CBOR request bodies and prefers CBOR responses (``Accept:
+application/cbor, application/json;q=0.5``); by default, and for browsers and other clients, the link stays JSON.
+"""
+
+import cbor2
+from flask import Response, jsonify, request
+
+CBOR_MIMETYPE = "application/cbor"
+JSON_MIMETYPE = "application/json"
+
+
+def _encode_default(encoder, value):
+    # numpy scalars (SHAP values, probabilities) are not CBOR-native; jsonify copes with them via float().
+    if hasattr(value, "item"):
+        encoder.encode(value.item())
+        return
+    raise cbor2.CBOREncodeValueError(f"cannot serialize type {type(value).__name__} as CBOR")
+
+
+def read_payload():
+    """Request body as a dict, decoded from CBOR or JSON according to Content-Type."""
+    if request.mimetype == CBOR_MIMETYPE:
+        data = request.get_data(cache=False)
+        return cbor2.loads(data) if data else {}
+    return request.get_json(force=True) or {}
+
+
+def respond(body, status=200):
+    """Encodes ``body`` as CBOR when the client prefers it, JSON otherwise."""
+    best = request.accept_mimetypes.best_match([JSON_MIMETYPE, CBOR_MIMETYPE], default=JSON_MIMETYPE)
+    if best == CBOR_MIMETYPE:
+        return Response(cbor2.dumps(body, default=_encode_default), status=status, mimetype=CBOR_MIMETYPE)
+    return jsonify(body), status
@@ -0,0 +1,69 @@
+"""Compares JSON and CBOR for the payloads exchanged with the gateway.
+
+Uses the reference cases in ``ethical_model/model.parity.json`` to build realistic ``/explain`` requests and
+responses (plus a FairGuard status block), then reports encoded size and encode/decode time per message.
+
+    python benchmarks/wire_format.py [--iterations 20000]
+"""
+
+import argparse
+import json
+import sys
+import timeit
+from pathlib import Path
+
+import cbor2
+
+ROOT = Path(__file__).resolve().parents[1]
+PARITY_PATH = ROOT / "ethical_model" / "model.parity.json"
+
+FAIRGUARD_STATUS = {
+    "circuitBreakerActive": False,
+    "reason": None,
+    "parityGap": 0.082,
+    "driftScore": 0.031,
+    "windowSize": 200,
+    "queueDepth": 0,
+    "droppedEvents": 0,
+    "timestamp": "2026-01-01T00:00:00+00:00",
+}
+
+
+def load_messages():
+    cases = json.loads(PARITY_PATH.read_text())["cases"]
+    requests = [case["payload"] for case in cases]
+    responses = [dict(case["expected"], fairguard=FAIRGUARD_STATUS) for case in cases]
+    return {"explain request": requests, "explain response": responses}
+
+
+def measure(messages, encode, decode, iterations):
+    encoded = [encode(message) for message in messages]
+    size = sum(len(blob) for blob in encoded) / len(encoded)
+    rounds = max(1, iterations // len(messages))
+    encode_us = timeit.timeit(lambda: [encode(m) for m in messages], number=rounds) / (rounds * len(messages))
+    decode_us = timeit.timeit(lambda: [decode(b) for b in encoded], number=rounds) / (rounds * len(messages))
+    return size, encode_us * 1e6, decode_us * 1e6
+
+
+def main(argv=None):
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("--iterations", type=int, default=20000)
+    args = parser.parse_args(argv)
+
+    formats = {
+        "json": (lambda m: json.dumps(m).encode("utf-8"), json.loads),
+        "cbor": (cbor2.dumps, cbor2.loads),
+    }
+    print(f"{'message':<18}{'format':<8}{'bytes':>8}{'encode us':>12}{'decode us':>12}")
+    for name, messages in load_messages().items():
+        baseline = None
+        for fmt, (encode, decode) in formats.items():
+            size, encode_us, decode_us = measure(messages, encode, decode, args.iterations)
+            baseline = baseline or size
+            print(f"{name:<18}{fmt:<8}{size:>8.0f}{encode_us:>12.2f}{decode_us:>12.2f}"
+                  f"  ({size / baseline:.0%} of json)")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
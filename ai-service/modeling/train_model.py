@@ -3,10 +3,20 @@ Training entry point for the Ethical Banking AI service.
 
 Consumes `External_Cibil_Dataset.xlsx`, engineers features, fits a logistic regression
 pipeline, and serializes both the model and representative background samples for SHAP.
+
+Alongside `model.pkl` it writes `model.portable.json` (imputation, encoding and scaling
+parameters, coefficients and the SHAP background mean) so the Java gateway can score the
+linear model natively, plus `model.parity.json` with reference outputs for its parity tests.
+Run with `--export-only` to regenerate both files from an existing `model.pkl`.
 """
 
 from pathlib import Path
+import hashlib
+import json
+import sys
+
 import joblib
+import numpy as np
 import pandas as pd
 from sklearn.compose import ColumnTransformer
 from sklearn.impute import SimpleImputer
@@ -14,9 +24,20 @@ from sklearn.linear_model import LogisticRegression
 from sklearn.pipeline import Pipeline
 from sklearn.preprocessing import OneHotEncoder, StandardScaler
 
+if __package__ in (None, ""):
+    sys.path.insert(0, str(Path(__file__).resolve().parents[1]))
+
+from app.services.shap_engine import ShapEngine, prettify_feature_name  # noqa: E402
+
 DATA_PATH = Path("data/External_Cibil_Dataset.xlsx")
 MODEL_DIR = Path("ethical_model")
 MODEL_PATH = MODEL_DIR / "model.pkl"
+PORTABLE_MODEL_PATH = MODEL_DIR / "model.portable.json"
+PARITY_CASES_PATH = MODEL_DIR / "model.parity.json"
+
+PORTABLE_FORMAT_VERSION = 1
+PARITY_TOP_N = 6
+PARITY_CASE_STRIDE = 10
 
 TARGET_COLUMN = "Approved_Flag"
 APPROVED_LABELS = {"P1"}  # Treated as positive class
@@ -109,6 +130,96 @@ def build_background_samples(features: pd.DataFrame, sample_size: int = 200) ->
     return features.sample(n=sample_size, random_state=42).reset_index(drop=True)
 
 
+def _json_value(value):
+    if isinstance(value, np.generic):
+        return value.item()
+    return value
+
+
+def _model_version(model_path: Path) -> str:
+    return hashlib.sha256(model_path.read_bytes()).hexdigest()
+
+
+def export_portable_artifact(pipeline: Pipeline, shap_engine: ShapEngine, model_version: str) -> dict:
+    preprocessor = pipeline.named_steps["preprocessor"]
+    model = pipeline.named_steps["model"]
+    categorical = preprocessor.named_transformers_["cat"]
+    numeric = preprocessor.named_transformers_["num"]
+    encoder = categorical.named_steps["encoder"]
+    imputer = numeric.named_steps["imputer"]
+    scaler = numeric.named_steps["scaler"]
+    output_features = [str(name) for name in preprocessor.get_feature_names_out()]
+
+    return {
+        "formatVersion": PORTABLE_FORMAT_VERSION,
+        "modelVersion": model_version,
+        "featureColumns": FEATURE_COLUMNS,
+        "categorical": [
+            {"name": column, "categories": [_json_value(value) for value in categories]}
+            for column, categories in zip(CATEGORICAL_FEATURES, encoder.categories_)
+        ],
+        "numeric": [
+            {
+                "name": column,
+                "median": float(imputer.statistics_[index]),
+                "mean": float(scaler.mean_[index]),
+                "scale": float(scaler.scale_[index]),
+            }
+            for index, column in enumerate(NUMERIC_FEATURES)
+        ],
+        "outputFeatures": output_features,
+        "displayNames": [prettify_feature_name(name) for name in output_features],
+        "coefficients": [float(value) for value in model.coef_[0]],
+        "intercept": float(model.intercept_[0]),
+        "backgroundMean": [float(value) for value in shap_engine.background_mean],
+        "baseValue": shap_engine.base_value,
+    }
+
+
+def export_parity_cases(pipeline: Pipeline, shap_engine: ShapEngine, background: pd.DataFrame,
+                        model_version: str) -> dict:
+    payloads = [
+        {column: _json_value(value) for column, value in row.items() if pd.notna(value)}
+        for _, row in background.iloc[::PARITY_CASE_STRIDE].iterrows()
+    ]
+    # Edge cases: nothing supplied, unknown categories, and string-typed values.
+    payloads.append({})
+    payloads.append({"GENDER": "X", "EDUCATION": "PHD", "CC_Flag": 1, "Credit_Score": 810, "NETMONTHLYINCOME": 150000})
+    payloads.append({"MARITALSTATUS": "Single", "GENDER": "F", "CC_Flag": "1", "Credit_Score": "640", "AGE": 23})
+
+    cases = []
+    for payload in payloads:
+        frame = shap_engine.prepare_features(payload)
+        cases.append(
+            {
+                "payload": payload,
+                "expected": {
+                    "decision": "Approved" if int(pipeline.predict(frame)[0]) == 1 else "Rejected",
+                    "probability": float(pipeline.predict_proba(frame)[0][1]),
+                    "base_value": shap_engine.base_value,
+                    "shap_values": shap_engine.explain(frame, top_n=PARITY_TOP_N),
+                },
+            }
+        )
+    return {"modelVersion": model_version, "topN": PARITY_TOP_N, "cases": cases}
+
+
+def export_native_artifacts(pipeline: Pipeline, background: pd.DataFrame, model_path: Path = MODEL_PATH):
+    shap_engine = ShapEngine(pipeline, FEATURE_COLUMNS, background).bootstrap()
+    model_version = _model_version(model_path)
+
+    with PORTABLE_MODEL_PATH.open("w", encoding="utf-8") as handle:
+        json.dump(export_portable_artifact(pipeline, shap_engine, model_version), handle, indent=2)
+    with PARITY_CASES_PATH.open("w", encoding="utf-8") as handle:
+        json.dump(export_parity_cases(pipeline, shap_engine, background, model_version), handle, indent=2)
+    print(f"Portable model saved to {PORTABLE_MODEL_PATH} (parity cases in {PARITY_CASES_PATH})")
+
+
+def export_only():
+    artifact = joblib.load(MODEL_PATH)
+    export_native_artifacts(artifact["pipeline"], artifact["background"])
+
+
 def train():
     X, y = load_dataset()
     pipeline = build_pipeline()
@@ -124,8 +235,12 @@ def train():
     MODEL_DIR.mkdir(parents=True, exist_ok=True)
     joblib.dump(artifact, MODEL_PATH)
     print(f"Model and background samples saved to {MODEL_PATH}")
+    export_native_artifacts(pipeline, background)
 
 
 if __name__ == "__main__":
-    train()
+    if "--export-only" in sys.argv[1:]:
+        export_only()
+    else:
+        train()
 
@@ -0,0 +1,73 @@
+"""
+Checks the committed native-scoring files against the pipeline the service actually loads.
+
+The gateway's parity tests only prove the Java engine reproduces `model.parity.json`; this test
+proves `model.portable.json` and `model.parity.json` are what `train_model.py --export-only`
+produces from `model.pkl` with the real scikit-learn and shap stack. Run from `ai-service/`:
+
+    pip install -r requirements.txt pytest
+    python -m pytest tests/test_native_export.py
+"""
+
+import json
+from pathlib import Path
+
+import pytest
+
+pytest.importorskip("sklearn")
+pytest.importorskip("shap")
+joblib = pytest.importorskip("joblib")
+
+from app.services.shap_engine import ShapEngine  # noqa: E402
+from modeling import train_model  # noqa: E402
+
+MODEL_DIR = Path(__file__).resolve().parents[1] / "ethical_model"
+
+
+@pytest.fixture(scope="module")
+def exported():
+    model_path = MODEL_DIR / "model.pkl"
+    artifact = joblib.load(model_path)
+    pipeline, background = artifact["pipeline"], artifact["background"]
+    shap_engine = ShapEngine(pipeline, train_model.FEATURE_COLUMNS, background).bootstrap()
+    model_version = train_model._model_version(model_path)
+    return (
+        train_model.export_portable_artifact(pipeline, shap_engine, model_version),
+        train_model.export_parity_cases(pipeline, shap_engine, background, model_version),
+    )
+
+
+def _committed(name: str) -> dict:
+    with (MODEL_DIR / name).open(encoding="utf-8") as handle:
+        return json.load(handle)
+
+
+def test_portable_artifact_matches_the_served_pipeline(exported):
+    portable, _ = exported
+    committed = _committed("model.portable.json")
+    for key in ("formatVersion", "modelVersion", "featureColumns", "categorical", "outputFeatures", "displayNames"):
+        assert committed[key] == portable[key], key
+    for committed_numeric, numeric in zip(committed["numeric"], portable["numeric"]):
+        assert committed_numeric["name"] == numeric["name"]
+        for field in ("median", "mean", "scale"):
+            assert committed_numeric[field] == pytest.approx(numeric[field], rel=1e-9), numeric["name"]
+    for key in ("coefficients", "backgroundMean"):
+        assert committed[key] == pytest.approx(portable[key], rel=1e-9, abs=1e-12), key
+    for key in ("intercept", "baseValue"):
+        assert committed[key] == pytest.approx(portable[key], rel=1e-9), key
+
+
+def test_parity_cases_match_the_served_pipeline(exported):
+    _, parity = exported
+    committed = _committed("model.parity.json")
+    assert committed["modelVersion"] == parity["modelVersion"]
+    assert committed["topN"] == parity["topN"]
+    assert len(committed["cases"]) == len(parity["cases"])
+    for committed_case, case in zip(committed["cases"], parity["cases"]):
+        assert committed_case["payload"] == case["payload"]
+        expected, actual = committed_case["expected"], case["expected"]
+        assert expected["decision"] == actual["decision"], case["payload"]
+        assert expected["probability"] == pytest.approx(actual["probability"], rel=1e-9)
+        assert expected["base_value"] == pytest.approx(actual["base_value"], rel=1e-9)
+        assert list(expected["shap_values"]) == list(actual["shap_values"]), case["payload"]
+        assert expected["shap_values"] == pytest.approx(actual["shap_values"], rel=1e-9, abs=1e-12)
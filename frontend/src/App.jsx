@@ -14,6 +14,7 @@ import DecisionScreen from './screens/DecisionScreen';
 import TrustVaultScreen from './screens/TrustVaultScreen';
 import AskAiScreen from './screens/AskAiScreen';
 import FairGuardScreen from './screens/FairGuardScreen';
+import { Api } from './lib/api';
 
 const viewConfig = [
   { id: 'decision', label: 'XBox', roles: ['admin'], icon: LayoutDashboard },
@@ -58,6 +59,7 @@ function App() {
   };
 
   const handleLogout = () => {
+    Api.logout().catch(() => {});
     localStorage.removeItem('currentUser');
     setCurrentUser(null);
     setActiveView('login');
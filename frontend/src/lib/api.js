@@ -1,9 +1,35 @@
 import axios from 'axios';
 
+const SESSION_TOKEN_KEY = 'sessionToken';
+
 const client = axios.create({
   baseURL: 'http://localhost:8080/api'
 });
 
+client.interceptors.request.use((config) => {
+  const token = localStorage.getItem(SESSION_TOKEN_KEY);
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
+
+client.interceptors.response.use(
+  (response) => {
+    const token = response.headers['x-session-token'];
+    if (token) {
+      localStorage.setItem(SESSION_TOKEN_KEY, token);
+    }
+    return response;
+  },
+  (error) => {
+    if (error?.response?.status === 401) {
+      localStorage.removeItem(SESSION_TOKEN_KEY);
+    }
+    return Promise.reject(error);
+  }
+);
+
 export const Api = {
   getUser(userId) {
     return client.get(`/user/${userId}`);
@@ -14,12 +40,18 @@ export const Api = {
   login(body) {
     return client.post('/user/login', body);
   },
+  logout() {
+    return client.post('/user/logout').finally(() => localStorage.removeItem(SESSION_TOKEN_KEY));
+  },
   setConsent(userId, payload) {
     return client.post(`/user/${userId}/trustvault`, payload);
   },
   askAi(body) {
     return client.post('/ask', body);
   },
+  getExplanationJob(jobId) {
+    return client.get(`/ask/explanations/${jobId}`);
+  },
   getDecisionInsight(userId) {
     return client.get(`/decision/${userId}`);
   },
@@ -30,4 +62,3 @@ export const Api = {
     return client.post('/fairguard/simulate');
   }
 };
-
@@ -1,4 +1,4 @@
-import { useMemo, useState } from 'react';
+import { useEffect, useMemo, useRef, useState } from 'react';
 import DOMPurify from 'dompurify';
 import { 
   MessageSquare, 
@@ -12,14 +12,17 @@ import {
 import { Card } from '../components/common/Card';
 import { Api } from '../lib/api';
 
+const EXPLANATION_POLL_INTERVAL_MS = 1500;
+const EXPLANATION_POLL_LIMIT = 60;
+
 const DEFAULT_FEATURE_SNAPSHOT = {
   MARITALSTATUS: 'Married',
-  EDUCATION: 'Graduate',
+  EDUCATION: 'GRADUATE',
   GENDER: 'F',
-  CC_Flag: 'Y',
-  PL_Flag: 'N',
-  HL_Flag: 'Y',
-  GL_Flag: 'N',
+  CC_Flag: 1,
+  PL_Flag: 0,
+  HL_Flag: 1,
+  GL_Flag: 0,
   last_prod_enq2: 'PL',
   first_prod_enq2: 'CC',
   AGE: 34,
@@ -44,6 +47,29 @@ export default function AskAiScreen({ currentUser }) {
   const [fairGuardStatus, setFairGuardStatus] = useState(null);
   const [isSubmitting, setIsSubmitting] = useState(false);
   const [error, setError] = useState('');
+  const [isEnriching, setIsEnriching] = useState(false);
+  const pollTimer = useRef(null);
+
+  useEffect(() => () => clearTimeout(pollTimer.current), []);
+
+  // The gateway answers with a template explanation first; the LLM version arrives through a job handle.
+  const pollExplanation = (jobId, attempt = 0) => {
+    pollTimer.current = setTimeout(async () => {
+      try {
+        const { data } = await Api.getExplanationJob(jobId);
+        if (data?.status === 'PENDING' && attempt + 1 < EXPLANATION_POLL_LIMIT) {
+          pollExplanation(jobId, attempt + 1);
+          return;
+        }
+        if (data?.explanation) {
+          setResponse(data.explanation);
+        }
+      } catch {
+        // Keep the template explanation already on screen.
+      }
+      setIsEnriching(false);
+    }, EXPLANATION_POLL_INTERVAL_MS);
+  };
   
   // Use the logged-in user ID, fallback to 'user_001' if somehow not present
   const activeUserId = currentUser?.id || 'user_001';
@@ -60,6 +86,8 @@ export default function AskAiScreen({ currentUser }) {
       return;
     }
 
+    clearTimeout(pollTimer.current);
+    setIsEnriching(false);
     setIsSubmitting(true);
     setError('');
     setDecisionSummary('');
@@ -83,6 +111,10 @@ export default function AskAiScreen({ currentUser }) {
           'The Hugging Face client responded without an explanation payload.'
       );
       setFairGuardStatus(data?.fairGuard ?? null);
+      if (data?.explanationJobId && data?.explanationStatus === 'PENDING') {
+        setIsEnriching(true);
+        pollExplanation(data.explanationJobId);
+      }
 
       const sortedShap = Object.entries(data?.shapValues ?? {}).sort(
         (a, b) => Math.abs(b[1]) - Math.abs(a[1])
@@ -193,6 +225,11 @@ export default function AskAiScreen({ currentUser }) {
             className="askai-response text-sm leading-relaxed text-slate-700 prose prose-sm max-w-none"
             dangerouslySetInnerHTML={{ __html: sanitizedResponse }}
           />
+          {isEnriching && (
+            <p className="mt-3 text-xs italic text-slate-500">
+              Generating a detailed explanation with the language model...
+            </p>
+          )}
         </Card>
 
         <div className="space-y-6">
@@ -0,0 +1,134 @@
+package com.ethicalbanking.gateway.benchmarks;
+
+import com.ethicalbanking.gateway.domain.user.LoanApplication;
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.dto.ExplainResponse;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.CircuitBreakerSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.DimensionSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.DriftSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.GroupSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.ShapWatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Representative inputs mirroring the seeded demo users and the payloads the gateway exchanges in production.
+ */
+public final class BenchmarkFixtures {
+
+	private BenchmarkFixtures() {
+	}
+
+	/** Same defaults Spring Boot applies to the application's {@code ObjectMapper}. */
+	public static ObjectMapper objectMapper() {
+		return Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+	}
+
+	public static UserProfile profile(String segment) {
+		UserProfile profile = new UserProfile();
+		profile.setFullName("Ananya Singh");
+		profile.setEmail("ananya.singh@example.com");
+		profile.setSegment(segment);
+		switch (segment) {
+			case "Prime" -> {
+				profile.setExternalId("user_001");
+				profile.setCreditScore(742);
+				profile.setNetMonthlyIncome(9500);
+			}
+			case "Watch" -> {
+				profile.setExternalId("user_009");
+				profile.setCreditScore(590);
+				profile.setNetMonthlyIncome(4700);
+			}
+			default -> {
+				profile.setExternalId("user_004");
+				profile.setCreditScore(602);
+				profile.setNetMonthlyIncome(5400);
+			}
+		}
+		return profile;
+	}
+
+	public static LoanApplication latestDecision(UserProfile profile) {
+		boolean approved = profile.getCreditScore() >= 650;
+		return new LoanApplication()
+				.setUser(profile)
+				.setProductType(approved ? "GreenMortgage" : "EthicalLine")
+				.setRequestedAmount(new BigDecimal(approved ? "420000" : "12000"))
+				.setDecision(approved ? "Approved" : "Declined")
+				.setDecisionDate(LocalDate.of(2026, 9, 14))
+				.setRationale(approved
+						? "High household income and strong repayment record."
+						: "Debt-to-income temporarily exceeded policy threshold.");
+	}
+
+	public static FairGuardSummaryResponse fairGuardSummary() {
+		return new FairGuardSummaryResponse(
+				Instant.parse("2026-10-01T09:30:00Z"),
+				500,
+				new DriftSnapshot(0.082, 0.15, "stable"),
+				new CircuitBreakerSnapshot(false, null),
+				List.of("Approval parity gap for EDUCATION approaching threshold"),
+				List.of(
+						new DimensionSnapshot("GENDER", 0.041, 0.1, "ok", 500, List.of(
+								new GroupSnapshot("F", 231, 0.61),
+								new GroupSnapshot("M", 269, 0.65))),
+						new DimensionSnapshot("EDUCATION", 0.087, 0.1, "watch", 500, List.of(
+								new GroupSnapshot("GRADUATE", 188, 0.71),
+								new GroupSnapshot("UNDER GRADUATE", 142, 0.62),
+								new GroupSnapshot("SSC", 97, 0.58),
+								new GroupSnapshot("12TH", 73, 0.60))),
+						new DimensionSnapshot("MARITALSTATUS", 0.022, 0.1, "ok", 500, List.of(
+								new GroupSnapshot("Married", 301, 0.64),
+								new GroupSnapshot("Single", 199, 0.62)))),
+				List.of(
+						new ShapWatch("Credit_Score", 0.412),
+						new ShapWatch("enq_L3m", 0.187),
+						new ShapWatch("NETMONTHLYINCOME", 0.143),
+						new ShapWatch("num_times_delinquent", 0.121),
+						new ShapWatch("AGE", 0.064)));
+	}
+
+	/** OpenAI-compatible chat completion as returned by the Hugging Face router for an Ask AI explanation. */
+	public static String chatCompletionResponse() {
+		return """
+				{"id":"chatcmpl-8f3a","object":"chat.completion","created":1759311000,\
+				"model":"mistralai/Mistral-7B-Instruct-v0.2","choices":[{"index":0,"message":{"role":"assistant",\
+				"content":"{\\"summary\\":\\"The application was declined mainly because of recent credit enquiries and a \
+				below-threshold credit score.\\",\\"factors\\":[{\\"feature\\":\\"Credit Score\\",\\"reason\\":\\"A score \
+				of 602 lowered the approval odds.\\"},{\\"feature\\":\\"Enquiries (3 months)\\",\\"reason\\":\\"Several \
+				recent enquiries signal credit seeking.\\"},{\\"feature\\":\\"Net Monthly Income\\",\\"reason\\":\\"Income \
+				supported approval but did not offset the other drivers.\\"}],\\"next_steps\\":[\\"Avoid new credit \
+				enquiries for three months.\\",\\"Reduce utilisation to lift the credit score.\\"]}"},\
+				"finish_reason":"stop"}],"usage":{"prompt_tokens":142,"completion_tokens":118,"total_tokens":260}}
+				""";
+	}
+
+	/** {@code /explain} response for the first parity case: top six SHAP values plus the FairGuard status. */
+	public static ExplainResponse explainResponse() {
+		Map<String, Double> shapValues = new LinkedHashMap<>();
+		shapValues.put("Credit Score", -1.9476847192453535);
+		shapValues.put("Gender: M", 1.8339893338990734);
+		shapValues.put("Gender: F", -1.6242698750498288);
+		shapValues.put("Home Loan Holder: 0", 1.493539447924547);
+		shapValues.put("Home Loan Holder: 1", -1.4706827311744588);
+		shapValues.put("Marital Status: Married", -0.5990257813346259);
+		Map<String, Object> fairguard = new LinkedHashMap<>();
+		fairguard.put("status", "ok");
+		fairguard.put("window_size", 500);
+		fairguard.put("max_parity_gap", 0.087);
+		fairguard.put("circuit_open", false);
+		return new ExplainResponse("Rejected", 2.543704983656894e-09, shapValues, -18.068549611450383,
+				"50e782b4fef5905a0c95819ce9f3f4d054ad4cefd1ff4821eec37d04a8832a45", fairguard);
+	}
+}
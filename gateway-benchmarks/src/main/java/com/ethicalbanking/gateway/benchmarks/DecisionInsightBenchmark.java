@@ -0,0 +1,50 @@
+package com.ethicalbanking.gateway.benchmarks;
+
+import com.ethicalbanking.gateway.domain.user.LoanApplication;
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.dto.DecisionInsightResponse;
+import com.ethicalbanking.gateway.service.DecisionService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Driver scoring, currency formatting and counterfactual text of {@link DecisionService#buildInsight}, i.e.
+ * {@code buildInsightForUser} without the repository lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecisionInsightBenchmark {
+
+	@Param({ "Prime", "Growth", "Watch" })
+	private String segment;
+
+	private DecisionService decisionService;
+	private UserProfile profile;
+	private LoanApplication latestDecision;
+
+	@Setup
+	public void setUp() {
+		decisionService = new DecisionService(null, null);
+		profile = BenchmarkFixtures.profile(segment);
+		latestDecision = BenchmarkFixtures.latestDecision(profile);
+	}
+
+	@Benchmark
+	public DecisionInsightResponse buildInsight() {
+		return decisionService.buildInsight(profile, latestDecision);
+	}
+}
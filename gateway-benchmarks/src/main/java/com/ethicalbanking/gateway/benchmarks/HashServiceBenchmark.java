@@ -0,0 +1,44 @@
+package com.ethicalbanking.gateway.benchmarks;
+
+import com.ethicalbanking.gateway.service.HashService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TrustVault consent hashing; 64 characters is a typical consent note, 4096 a pasted disclosure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashServiceBenchmark {
+
+	@Param({ "64", "4096" })
+	private int payloadLength;
+
+	private final HashService hashService = new HashService();
+	private String payload;
+
+	@Setup
+	public void setUp() {
+		String sentence = "I consent to sharing my credit bureau data with Ethical Bank for this application. ";
+		payload = sentence.repeat(payloadLength / sentence.length() + 1).substring(0, payloadLength);
+	}
+
+	@Benchmark
+	public String sha256() {
+		return hashService.sha256(payload);
+	}
+}
@@ -0,0 +1,53 @@
+package com.ethicalbanking.gateway.benchmarks;
+
+import com.ethicalbanking.gateway.dto.DecisionInsightResponse;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
+import com.ethicalbanking.gateway.service.DecisionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Response body serialization with the application's Jackson configuration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+	private ObjectMapper objectMapper;
+	private DecisionInsightResponse decisionInsight;
+	private FairGuardSummaryResponse fairGuardSummary;
+
+	@Setup
+	public void setUp() {
+		objectMapper = BenchmarkFixtures.objectMapper();
+		var profile = BenchmarkFixtures.profile("Growth");
+		decisionInsight = new DecisionService(null, null)
+				.buildInsight(profile, BenchmarkFixtures.latestDecision(profile));
+		fairGuardSummary = BenchmarkFixtures.fairGuardSummary();
+	}
+
+	@Benchmark
+	public byte[] decisionInsight() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(decisionInsight);
+	}
+
+	@Benchmark
+	public byte[] fairGuardSummary() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(fairGuardSummary);
+	}
+}
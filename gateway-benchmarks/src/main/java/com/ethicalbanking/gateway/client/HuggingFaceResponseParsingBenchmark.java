@@ -0,0 +1,44 @@
+package com.ethicalbanking.gateway.client;
+
+import com.ethicalbanking.gateway.benchmarks.BenchmarkFixtures;
+import com.ethicalbanking.gateway.client.HuggingFaceClient.ChatCompletion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chat completion parsing ({@code extractCompletion}); lives in the client package because the parser is
+ * package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HuggingFaceResponseParsingBenchmark {
+
+	private HuggingFaceClient client;
+	private String rawResponse;
+
+	@Setup
+	public void setUp() {
+		client = new HuggingFaceClient(null, null, BenchmarkFixtures.objectMapper(),
+				"mistralai/Mistral-7B-Instruct-v0.2", 45, 320, 0.2);
+		rawResponse = BenchmarkFixtures.chatCompletionResponse();
+	}
+
+	@Benchmark
+	public ChatCompletion extractCompletion() throws JsonProcessingException {
+		return client.extractCompletion(rawResponse);
+	}
+}
@@ -0,0 +1,54 @@
+package com.ethicalbanking.gateway.client;
+
+import com.ethicalbanking.gateway.benchmarks.BenchmarkFixtures;
+import com.ethicalbanking.gateway.dto.ExplainResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Decoding an {@code /explain} response into {@link ExplainResponse} for each {@code ai-service.wire-format}, with
+ * mappers built like the ones behind the {@code aiWebClient}'s Jackson JSON and CBOR decoders. The encoded size is
+ * printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatDecodeBenchmark {
+
+	@Param({ "json", "cbor" })
+	public String format;
+
+	private ObjectMapper mapper;
+	private byte[] payload;
+
+	@Setup
+	public void setUp() throws IOException {
+		mapper = switch (format) {
+			case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+			default -> Jackson2ObjectMapperBuilder.json().build();
+		};
+		payload = mapper.writeValueAsBytes(BenchmarkFixtures.explainResponse());
+		System.out.printf("%n%s payload: %d bytes%n", format, payload.length);
+	}
+
+	@Benchmark
+	public ExplainResponse decode() throws IOException {
+		return mapper.readValue(payload, ExplainResponse.class);
+	}
+}
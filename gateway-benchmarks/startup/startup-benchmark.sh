@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Startup benchmark for gateway-service: time from JVM launch until /actuator/health/readiness answers 200.
+#
+# Usage: startup-benchmark.sh [runs] [port]
+# Expects `./mvnw -Pfaststart package` to have produced target/*-exec.jar and target/faststart/ in gateway-service.
+set -euo pipefail
+
+runs="${1:-5}"
+port="${2:-8099}"
+gateway="$(cd "$(dirname "$0")/../../gateway-service" && pwd)"
+fat_jar="$(ls "$gateway"/target/*-exec.jar)"
+faststart_dir="$gateway/target/faststart"
+extracted_jar="$faststart_dir/$(basename "$fat_jar")"
+log="$(mktemp)"
+trap 'rm -f "$log"' EXIT
+
+if [[ ! -f "$faststart_dir/application.jsa" ]]; then
+	echo "Missing $faststart_dir/application.jsa; build with ./mvnw -Pfaststart package" >&2
+	exit 1
+fi
+
+# mode name, then the java arguments
+modes=(
+	"baseline|-jar $fat_jar"
+	"faststart-profile|-Dspring.profiles.active=faststart -jar $fat_jar"
+	"faststart-aot|-Dspring.profiles.active=faststart -Dspring.aot.enabled=true -jar $extracted_jar"
+	"faststart-aot-cds|-XX:SharedArchiveFile=$faststart_dir/application.jsa -Dspring.profiles.active=faststart -Dspring.aot.enabled=true -jar $extracted_jar"
+)
+
+now_ms() {
+	echo $(( $(date +%s%N) / 1000000 ))
+}
+
+run_once() {
+	local args="$1"
+	local start pid ready
+	start="$(now_ms)"
+	# shellcheck disable=SC2086
+	(cd "$faststart_dir" && exec java $args --server.port="$port") > "$log" 2>&1 &
+	pid=$!
+	until curl -sf -o /dev/null "http://localhost:$port/actuator/health/readiness"; do
+		if ! kill -0 "$pid" 2>/dev/null; then
+			echo "Gateway exited during startup; log follows" >&2
+			cat "$log" >&2
+			exit 1
+		fi
+		sleep 0.05
+	done
+	ready="$(now_ms)"
+	kill "$pid"
+	wait "$pid" 2>/dev/null || true
+	local started
+	started="$(grep -ao 'Started GatewayServiceApplication in [0-9.]*' "$log" | awk '{print $4}')"
+	echo "$(( ready - start )) ${started:-?}"
+}
+
+printf '%-20s %6s %18s %18s\n' "mode" "run" "ready after (ms)" "Spring started (s)"
+for mode in "${modes[@]}"; do
+	name="${mode%%|*}"
+	args="${mode#*|}"
+	total=0
+	for run in $(seq 1 "$runs"); do
+		read -r ready started <<< "$(run_once "$args")"
+		total=$(( total + ready ))
+		printf '%-20s %6s %18s %18s\n' "$name" "$run" "$ready" "$started"
+	done
+	printf '%-20s %6s %18s\n' "$name" "mean" "$(( total / runs ))"
+done
@@ -0,0 +1,222 @@
+package com.ethicalbanking.gateway.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Concurrency limit for one lane of expensive requests, adapted from observed latency (a gradient limiter in the
+ * style of Netflix's Gradient2).
+ * <p>
+ * A short-term and a long-term moving average of request latency are tracked. While the short average stays within
+ * {@code tolerance} of the long one the limit grows by about {@code sqrt(limit)} per sample; when latency rises
+ * above it the limit shrinks proportionally (at most halving). Samples taken while less than half the limit is in
+ * use do not grow the limit, so an idle lane does not drift up to its maximum.
+ * <p>
+ * Requests over the limit wait in a FIFO queue of {@code queueSize} for at most {@code maxWait}; anything else is
+ * rejected straight away with a {@link LoadSheddingException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+	private static final double SHORT_WINDOW = 10;
+	private static final double LONG_WINDOW = 500;
+	private static final double SMOOTHING = 0.2;
+	private static final double MIN_GRADIENT = 0.5;
+	private static final String LANE_TAG = "lane";
+
+	private final String lane;
+	private final int minLimit;
+	private final int maxLimit;
+	private final int queueSize;
+	private final long maxWaitNanos;
+	private final double tolerance;
+
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private final Condition released = lock.newCondition();
+	// Only written under the lock; volatile so the gauges can read them from the scrape thread without it
+	private volatile double limit;
+	private volatile int inFlight;
+	private volatile int waiting;
+	private double shortRttNanos;
+	private double longRttNanos;
+
+	private final Counter queueFull;
+	private final Counter waitTimeouts;
+	private final Timer waitTimer;
+
+	public AdaptiveConcurrencyLimiter(String lane, int initialLimit, int minLimit, int maxLimit, int queueSize,
+			Duration maxWait, double tolerance, MeterRegistry meterRegistry) {
+		this.lane = lane;
+		this.minLimit = Math.max(1, minLimit);
+		this.maxLimit = Math.max(this.minLimit, maxLimit);
+		this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+		this.queueSize = Math.max(0, queueSize);
+		this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+		this.tolerance = Math.max(1, tolerance);
+
+		Gauge.builder("admission.limit", this, AdaptiveConcurrencyLimiter::limit)
+				.description("Current adaptive concurrency limit")
+				.tag(LANE_TAG, lane)
+				.register(meterRegistry);
+		Gauge.builder("admission.in.flight", this, AdaptiveConcurrencyLimiter::inFlight)
+				.description("Admitted requests currently running")
+				.tag(LANE_TAG, lane)
+				.register(meterRegistry);
+		Gauge.builder("admission.queue.depth", this, AdaptiveConcurrencyLimiter::waiting)
+				.description("Requests waiting for a concurrency slot")
+				.tag(LANE_TAG, lane)
+				.register(meterRegistry);
+		this.queueFull = rejectionCounter(meterRegistry, lane, "queue-full");
+		this.waitTimeouts = rejectionCounter(meterRegistry, lane, "wait-timeout");
+		this.waitTimer = Timer.builder("admission.wait")
+				.description("Time admitted requests spent queued for a concurrency slot")
+				.tag(LANE_TAG, lane)
+				.register(meterRegistry);
+	}
+
+	public String lane() {
+		return lane;
+	}
+
+	/**
+	 * Blocks for at most {@code maxWait} until a slot is free.
+	 *
+	 * @throws LoadSheddingException when the queue is full or the wait elapses
+	 */
+	public Permit acquire() {
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			if (waiting == 0 && inFlight < (int) limit) {
+				inFlight++;
+				return new Permit(start);
+			}
+			if (waiting >= queueSize) {
+				queueFull.increment();
+				throw reject("queue is full");
+			}
+
+			waiting++;
+			boolean granted = false;
+			try {
+				long remaining = maxWaitNanos;
+				while (inFlight >= (int) limit) {
+					if (remaining <= 0) {
+						waitTimeouts.increment();
+						throw reject("no slot freed up within %d ms".formatted(
+								TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)));
+					}
+					remaining = released.awaitNanos(remaining);
+				}
+				granted = true;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw reject("interrupted while queued");
+			}
+			finally {
+				waiting--;
+				// A signal may have been meant for this waiter; pass it on if a slot is free
+				if (!granted && inFlight < (int) limit) {
+					released.signal();
+				}
+			}
+			inFlight++;
+			long admitted = System.nanoTime();
+			waitTimer.record(admitted - start, TimeUnit.NANOSECONDS);
+			return new Permit(admitted);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the slot and feeds the request's latency (from admission, excluding queueing) into the limit.
+	 */
+	public void release(Permit permit) {
+		long rtt = Math.max(1, System.nanoTime() - permit.admittedAtNanos());
+		lock.lock();
+		try {
+			int previousLimit = (int) limit;
+			updateLimit(rtt, inFlight);
+			inFlight--;
+			if ((int) limit > previousLimit) {
+				released.signalAll();
+			}
+			else {
+				released.signal();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void updateLimit(long rtt, int inFlightAtCompletion) {
+		if (shortRttNanos == 0) {
+			shortRttNanos = rtt;
+			longRttNanos = rtt;
+			return;
+		}
+		shortRttNanos += (rtt - shortRttNanos) / SHORT_WINDOW;
+		longRttNanos += (shortRttNanos - longRttNanos) / LONG_WINDOW;
+		// After a sustained latency drop, let the baseline catch up quickly instead of over 500 samples
+		if (longRttNanos > 2 * shortRttNanos) {
+			longRttNanos *= 0.95;
+		}
+		if (inFlightAtCompletion < limit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+		double target = limit * gradient + Math.sqrt(limit);
+		double next = Math.min(maxLimit, Math.max(minLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+		if ((int) next != (int) limit) {
+			log.debug("Lane {} limit {} -> {} (short RTT {} ms, long RTT {} ms)", lane, (int) limit, (int) next,
+					Math.round(shortRttNanos / 1e6), Math.round(longRttNanos / 1e6));
+		}
+		limit = next;
+	}
+
+	/**
+	 * Rough time for the queue ahead to drain at the current limit and latency, never below one second.
+	 */
+	private LoadSheddingException reject(String reason) {
+		double drainNanos = shortRttNanos * (waiting + 1) / Math.max(1, limit);
+		Duration retryAfter = Duration.ofSeconds(Math.max(1, (long) Math.ceil(drainNanos / 1e9)));
+		return new LoadSheddingException(lane, "The %s lane is at capacity (%s); retry in %d s."
+				.formatted(lane, reason, retryAfter.toSeconds()), retryAfter);
+	}
+
+	private double limit() {
+		return limit;
+	}
+
+	private int inFlight() {
+		return inFlight;
+	}
+
+	private int waiting() {
+		return waiting;
+	}
+
+	private static Counter rejectionCounter(MeterRegistry meterRegistry, String lane, String reason) {
+		return Counter.builder("admission.rejected")
+				.description("Requests shed by a concurrency lane")
+				.tag(LANE_TAG, lane)
+				.tag("reason", reason)
+				.register(meterRegistry);
+	}
+
+	public record Permit(long admittedAtNanos) {
+	}
+}
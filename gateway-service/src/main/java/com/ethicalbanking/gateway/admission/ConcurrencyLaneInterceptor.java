@@ -0,0 +1,45 @@
+package com.ethicalbanking.gateway.admission;
+
+import com.ethicalbanking.gateway.admission.AdaptiveConcurrencyLimiter.Permit;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits requests for one route through its {@link AdaptiveConcurrencyLimiter} and returns the slot once the
+ * request completes. A {@link LoadSheddingException} thrown from {@link #preHandle} is rendered by the
+ * {@code GlobalExceptionHandler}.
+ */
+public class ConcurrencyLaneInterceptor implements HandlerInterceptor {
+
+	private final AdaptiveConcurrencyLimiter limiter;
+	private final HttpMethod method;
+	private final String permitAttribute;
+
+	public ConcurrencyLaneInterceptor(AdaptiveConcurrencyLimiter limiter, HttpMethod method) {
+		this.limiter = limiter;
+		this.method = method;
+		this.permitAttribute = ConcurrencyLaneInterceptor.class.getName() + ".permit." + limiter.lane();
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// Error and async re-dispatches belong to a request that was already admitted
+		if (request.getDispatcherType() != DispatcherType.REQUEST || !method.matches(request.getMethod())) {
+			return true;
+		}
+		request.setAttribute(permitAttribute, limiter.acquire());
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		if (request.getAttribute(permitAttribute) instanceof Permit permit) {
+			request.removeAttribute(permitAttribute);
+			limiter.release(permit);
+		}
+	}
+}
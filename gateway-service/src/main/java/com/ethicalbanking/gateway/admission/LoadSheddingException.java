@@ -0,0 +1,27 @@
+package com.ethicalbanking.gateway.admission;
+
+import java.time.Duration;
+
+/**
+ * A request was turned away by its concurrency lane (queue full or queue wait elapsed);
+ * {@link #getRetryAfter()} is the suggested client backoff.
+ */
+public class LoadSheddingException extends RuntimeException {
+
+	private final String lane;
+	private final Duration retryAfter;
+
+	public LoadSheddingException(String lane, String message, Duration retryAfter) {
+		super(message);
+		this.lane = lane;
+		this.retryAfter = retryAfter;
+	}
+
+	public String getLane() {
+		return lane;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
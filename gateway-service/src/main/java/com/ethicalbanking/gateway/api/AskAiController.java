@@ -1,35 +1,93 @@
 package com.ethicalbanking.gateway.api;
 
+import com.ethicalbanking.gateway.config.SessionTokenFilter;
+import com.ethicalbanking.gateway.dto.AskAiJobBatchRequest;
+import com.ethicalbanking.gateway.dto.AskAiJobResponse;
+import com.ethicalbanking.gateway.dto.AskAiJobSubmission;
 import com.ethicalbanking.gateway.dto.AskAiRequest;
 import com.ethicalbanking.gateway.dto.AskAiResponse;
+import com.ethicalbanking.gateway.dto.ExplanationJobResponse;
+import com.ethicalbanking.gateway.service.AskAiJobService;
 import com.ethicalbanking.gateway.service.AskAiService;
+import com.ethicalbanking.gateway.service.ExplanationJobService;
+import com.ethicalbanking.gateway.service.SessionTokenService.SessionPrincipal;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/ask")
 @CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173"}, allowCredentials = "true")
 public class AskAiController {
 
+	public static final String REQUEST_BUDGET_HEADER = "X-Request-Budget-Ms";
+
 	private static final Logger log = LoggerFactory.getLogger(AskAiController.class);
 
 	private final AskAiService askAiService;
+	private final ExplanationJobService explanationJobService;
+	private final AskAiJobService askAiJobService;
 
-	public AskAiController(AskAiService askAiService) {
+	public AskAiController(AskAiService askAiService, ExplanationJobService explanationJobService,
+			AskAiJobService askAiJobService) {
 		this.askAiService = askAiService;
+		this.explanationJobService = explanationJobService;
+		this.askAiJobService = askAiJobService;
 	}
 
 	@PostMapping
-	public ResponseEntity<AskAiResponse> ask(@Valid @RequestBody AskAiRequest request) {
+	public ResponseEntity<AskAiResponse> ask(@Valid @RequestBody AskAiRequest request,
+			@RequestHeader(name = REQUEST_BUDGET_HEADER, required = false) Long budgetMs) {
 		log.info("Received Ask AI request for user {}", request.getUserId());
-		AskAiResponse response = askAiService.processQuestion(request);
+		AskAiResponse response = askAiService.processQuestion(request,
+				budgetMs != null ? Duration.ofMillis(budgetMs) : null);
 		return ResponseEntity.ok(response);
 	}
+
+	@GetMapping("/explanations/{jobId}")
+	public ResponseEntity<ExplanationJobResponse> explanation(@PathVariable String jobId,
+			@RequestAttribute(name = SessionTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) SessionPrincipal principal) {
+		return explanationJobService.find(jobId, callerUserId(principal))
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@GetMapping(path = "/explanations/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> streamExplanation(@PathVariable String jobId,
+			@RequestAttribute(name = SessionTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) SessionPrincipal principal) {
+		return explanationJobService.subscribe(jobId, callerUserId(principal))
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@PostMapping("/jobs")
+	public ResponseEntity<AskAiJobSubmission> submitJobs(@Valid @RequestBody AskAiJobBatchRequest request) {
+		log.info("Received Ask AI batch with {} questions", request.getQuestions().size());
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(askAiJobService.submit(request.getQuestions()));
+	}
+
+	@GetMapping("/jobs/{jobId}")
+	public ResponseEntity<AskAiJobResponse> job(@PathVariable String jobId) {
+		return askAiJobService.find(jobId)
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	private static String callerUserId(SessionPrincipal principal) {
+		return principal != null ? principal.userId() : null;
+	}
 }
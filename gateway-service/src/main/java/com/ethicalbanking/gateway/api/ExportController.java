@@ -0,0 +1,103 @@
+package com.ethicalbanking.gateway.api;
+
+import com.ethicalbanking.gateway.service.DecisionExportService;
+import com.ethicalbanking.gateway.service.DecisionExportService.ExportFormat;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+	private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+
+	private final DecisionExportService decisionExportService;
+
+	public ExportController(DecisionExportService decisionExportService) {
+		this.decisionExportService = decisionExportService;
+	}
+
+	@GetMapping("/decisions")
+	public ResponseEntity<StreamingResponseBody> exportDecisions(
+			@RequestParam(defaultValue = "csv") String format,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		ExportFormat exportFormat = ExportFormat.from(format);
+		boolean gzip = acceptsGzip(acceptEncoding);
+		log.info("Exporting customer decisions as {} (gzip: {})", exportFormat, gzip);
+
+		StreamingResponseBody body = outputStream -> {
+			if (!gzip) {
+				decisionExportService.exportLatestDecisions(exportFormat, outputStream);
+				return;
+			}
+			GZIPOutputStream compressed = new GZIPOutputStream(outputStream, DecisionExportService.BUFFER_SIZE);
+			decisionExportService.exportLatestDecisions(exportFormat, compressed);
+			compressed.finish();
+		};
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(exportFormat.contentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+						.filename("customer-decisions." + exportFormat.extension())
+						.build()
+						.toString())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(body);
+	}
+
+	/**
+	 * Whether {@code Accept-Encoding} allows gzip (RFC 9110 section 12.5.3): an explicit {@code gzip} or
+	 * {@code x-gzip} entry decides by its q-value, otherwise a {@code *} entry does, so {@code gzip;q=0} opts out.
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		Double gzipQuality = null;
+		Double wildcardQuality = null;
+		for (String entry : acceptEncoding.split(",")) {
+			String[] parts = entry.split(";");
+			String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+			double quality = quality(parts);
+			if (coding.equals("gzip") || coding.equals("x-gzip")) {
+				gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+			}
+			else if (coding.equals("*")) {
+				wildcardQuality = quality;
+			}
+		}
+		Double effective = gzipQuality != null ? gzipQuality : wildcardQuality;
+		return effective != null && effective > 0;
+	}
+
+	/** The entry's {@code q} parameter, 1 when absent and 0 when it cannot be parsed. */
+	private static double quality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = parts[i].trim();
+			if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2).trim());
+				}
+				catch (NumberFormatException ex) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+}
@@ -0,0 +1,59 @@
+package com.ethicalbanking.gateway.api;
+
+import com.ethicalbanking.gateway.dto.AskAiJobBatchRequest;
+import com.ethicalbanking.gateway.dto.AskAiRequest;
+import com.ethicalbanking.gateway.scoring.FeatureSchemaRegistry;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Compiles Ask AI feature snapshots against the model's feature schema as soon as the body is read, so invalid
+ * snapshots are rejected with a 400 before any work starts and downstream code gets a ready {@code FeatureVector}.
+ */
+@ControllerAdvice
+public class FeatureSnapshotBodyAdvice extends RequestBodyAdviceAdapter {
+
+	private final FeatureSchemaRegistry featureSchemaRegistry;
+
+	public FeatureSnapshotBodyAdvice(FeatureSchemaRegistry featureSchemaRegistry) {
+		this.featureSchemaRegistry = featureSchemaRegistry;
+	}
+
+	@Override
+	public boolean supports(MethodParameter methodParameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		return targetType == AskAiRequest.class || targetType == AskAiJobBatchRequest.class;
+	}
+
+	@Override
+	public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+			Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		if (body instanceof AskAiRequest request) {
+			compile(request, null);
+		}
+		else if (body instanceof AskAiJobBatchRequest batch && batch.getQuestions() != null) {
+			List<AskAiRequest> questions = batch.getQuestions();
+			for (int i = 0; i < questions.size(); i++) {
+				compile(questions.get(i), "questions[%d]".formatted(i));
+			}
+		}
+		return body;
+	}
+
+	private void compile(AskAiRequest request, String location) {
+		if (request == null) {
+			return;
+		}
+		try {
+			request.setFeatureVector(featureSchemaRegistry.compile(request.getFeatureSnapshot()));
+		}
+		catch (IllegalArgumentException ex) {
+			throw location == null ? ex : new IllegalArgumentException(location + ": " + ex.getMessage(), ex);
+		}
+	}
+}
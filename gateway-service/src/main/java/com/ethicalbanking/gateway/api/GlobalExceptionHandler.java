@@ -1,10 +1,14 @@
 package com.ethicalbanking.gateway.api;
 
+import com.ethicalbanking.gateway.admission.LoadSheddingException;
 import com.ethicalbanking.gateway.client.ExternalServiceException;
+import com.ethicalbanking.gateway.config.SessionOwnershipException;
+import com.ethicalbanking.gateway.service.DeadlineExceededException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -51,6 +55,28 @@ public class GlobalExceptionHandler {
 						resolvePath(request)));
 	}
 
+	@ExceptionHandler(DeadlineExceededException.class)
+	public ResponseEntity<ApiError> handleDeadlineExceeded(DeadlineExceededException ex, HttpServletRequest request) {
+		log.warn("Latency budget exhausted during {} at {}: {}", ex.getStage(), resolvePath(request), ex.getMessage());
+		return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+				.body(ApiError.of("Latency budget exceeded", ex.getMessage(), resolvePath(request)));
+	}
+
+	@ExceptionHandler(LoadSheddingException.class)
+	public ResponseEntity<ApiError> handleLoadShedding(LoadSheddingException ex, HttpServletRequest request) {
+		log.warn("Shed request in lane {} at {}: {}", ex.getLane(), resolvePath(request), ex.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfter().toSeconds()))
+				.body(ApiError.of("Service overloaded", ex.getMessage(), resolvePath(request)));
+	}
+
+	@ExceptionHandler(SessionOwnershipException.class)
+	public ResponseEntity<ApiError> handleSessionOwnership(SessionOwnershipException ex, HttpServletRequest request) {
+		log.warn("Forbidden at {}: {}", resolvePath(request), ex.getMessage());
+		return ResponseEntity.status(HttpStatus.FORBIDDEN)
+				.body(ApiError.of("Forbidden", ex.getMessage(), resolvePath(request)));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiError> handleUnhandled(Exception ex, HttpServletRequest request) {
 		log.error("Unexpected error at {}", resolvePath(request), ex);
@@ -1,31 +1,53 @@
 package com.ethicalbanking.gateway.api;
 
 import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.config.SessionTokenFilter;
 import com.ethicalbanking.gateway.dto.LoginRequest;
+import com.ethicalbanking.gateway.dto.UserRosterPage;
+import com.ethicalbanking.gateway.service.SessionTokenService;
+import com.ethicalbanking.gateway.service.SessionTokenService.IssuedSessionToken;
 import com.ethicalbanking.gateway.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/user")
 public class UserController {
 
+	public static final String SESSION_TOKEN_HEADER = "X-Session-Token";
+	public static final String SESSION_EXPIRES_HEADER = "X-Session-Expires-At";
+
 	private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
 	private final UserService userService;
+	private final SessionTokenService sessionTokenService;
+	private final ObjectMapper objectMapper;
 
-	public UserController(UserService userService) {
+	public UserController(UserService userService, SessionTokenService sessionTokenService,
+			ObjectMapper objectMapper) {
 		this.userService = userService;
+		this.sessionTokenService = sessionTokenService;
+		this.objectMapper = objectMapper;
 	}
 
 	@GetMapping("/{userId}")
@@ -42,12 +64,57 @@ public class UserController {
 		return ResponseEntity.ok(userService.findAllProfiles());
 	}
 
+	@GetMapping("/roster")
+	public ResponseEntity<UserRosterPage> rosterPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) String fields) {
+		log.info("Fetching roster page (cursor present: {}, limit {})", cursor != null, limit);
+		return ResponseEntity.ok(userService.findRosterPage(cursor, limit, fields));
+	}
+
+	@GetMapping("/roster/stream")
+	public ResponseEntity<StreamingResponseBody> streamRoster(@RequestParam(required = false) String fields) {
+		log.info("Streaming roster as NDJSON");
+		userService.validateRosterFields(fields);
+		StreamingResponseBody body = outputStream -> {
+			JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+			generator.setRootValueSeparator(null);
+			try (generator) {
+				userService.streamRoster(fields, row -> {
+					try {
+						generator.writeObject(row);
+						generator.writeRaw('\n');
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				});
+			}
+		};
+		return ResponseEntity.ok().contentType(NDJSON).body(body);
+	}
+
 	@PostMapping("/login")
 	public ResponseEntity<UserProfile> login(@Valid @RequestBody LoginRequest request) {
 		log.info("Authenticating user {}", request.userId());
 		return userService.authenticate(request.userId(), request.password())
-				.map(ResponseEntity::ok)
+				.map(profile -> {
+					IssuedSessionToken session = sessionTokenService.issue(profile);
+					return ResponseEntity.ok()
+							.header(SESSION_TOKEN_HEADER, session.token())
+							.header(SESSION_EXPIRES_HEADER, session.expiresAt().toString())
+							.body(profile);
+				})
 				.orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
 	}
+
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(HttpServletRequest request) {
+		boolean revoked = SessionTokenFilter.extractBearerToken(request)
+				.map(sessionTokenService::revoke)
+				.orElse(false);
+		log.info("Logout requested; session revoked: {}", revoked);
+		return ResponseEntity.noContent().build();
+	}
 }
 
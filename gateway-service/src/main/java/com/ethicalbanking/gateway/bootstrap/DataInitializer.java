@@ -12,8 +12,12 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -39,24 +43,69 @@ public class DataInitializer {
 	private final UserProfileRepository userProfileRepository;
 	private final LoanApplicationRepository loanApplicationRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final boolean deferred;
+	private final CompletableFuture<Void> seeding = new CompletableFuture<>();
 
 	public DataInitializer(UserProfileRepository userProfileRepository,
 			LoanApplicationRepository loanApplicationRepository,
-			PasswordEncoder passwordEncoder) {
+			PasswordEncoder passwordEncoder,
+			@Value("${app.seed.deferred:false}") boolean deferred) {
 		this.userProfileRepository = userProfileRepository;
 		this.loanApplicationRepository = loanApplicationRepository;
 		this.passwordEncoder = passwordEncoder;
+		this.deferred = deferred;
+	}
+
+	/**
+	 * Completes once the demo users exist (or seeding was skipped), so later bulk loaders do not mistake their own
+	 * rows for an already seeded database.
+	 */
+	public CompletableFuture<Void> seeding() {
+		return seeding;
 	}
 
 	@PostConstruct
+	public void seedDuringStartup() {
+		if (!deferred) {
+			seedUsers();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void seedAfterStartup() {
+		if (!deferred) {
+			return;
+		}
+		// Seeding is BCrypt-bound (seconds on small instances); keep it off the startup path
+		Thread seeder = new Thread(this::seedUsers, "data-initializer");
+		seeder.setDaemon(true);
+		seeder.start();
+	}
+
 	public void seedUsers() {
+		try {
+			seedIfEmpty();
+			seeding.complete(null);
+		}
+		catch (RuntimeException ex) {
+			seeding.completeExceptionally(ex);
+			throw ex;
+		}
+	}
+
+	private void seedIfEmpty() {
 		if (userProfileRepository.count() > 0) {
 			return;
 		}
 
 		List<UserSeed> seeds = buildSeeds();
+		// BCrypt dominates seeding time; hash the (independent) passwords across cores before the serial saves
+		List<String> passwordHashes = seeds.parallelStream()
+				.map(seed -> passwordEncoder.encode(seed.password()))
+				.toList();
 		Map<String, UserProfile> persistedUsers = new LinkedHashMap<>();
-		for (UserSeed seed : seeds) {
+		for (int i = 0; i < seeds.size(); i++) {
+			UserSeed seed = seeds.get(i);
 			UserProfile profile = new UserProfile();
 			profile.setExternalId(seed.id());
 			profile.setFullName(seed.fullName());
@@ -65,7 +114,7 @@ public class DataInitializer {
 			profile.setNetMonthlyIncome(seed.netMonthlyIncome());
 			profile.setSegment(seed.segment());
 			profile.setUserType(seed.userType());
-			profile.setPasswordHash(passwordEncoder.encode(seed.password()));
+			profile.setPasswordHash(passwordHashes.get(i));
 			persistedUsers.put(seed.id(), userProfileRepository.save(profile));
 		}
 
@@ -0,0 +1,323 @@
+package com.ethicalbanking.gateway.bootstrap;
+
+import com.ethicalbanking.gateway.domain.user.UserType;
+import com.ethicalbanking.gateway.service.HashService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates synthetic customers at production-like volume once the application is ready, without delaying
+ * startup.
+ * <p>
+ * Profiles get normally distributed credit scores, log-normal incomes and Pareto-distributed loan histories
+ * (most customers have one application, a few have many); {@code consent-rate} of them have one or more
+ * TrustVault consents. Rows are written in chunks of {@code batch-size} customers by {@code threads} workers,
+ * each chunk in its own transaction with JDBC batch inserts; a separate coordinator thread hands out the chunks
+ * and waits on them, so every worker writes. Ids come from the same sequences and 50-wide blocks
+ * as Hibernate's pooled optimizer, so JPA inserts keep working afterwards.
+ * <p>
+ * BCrypt is deliberately slow, so a pool of {@code password-hash-pool} hashes of the shared password (each with
+ * its own salt) is encoded in parallel up front and assigned round-robin; login cost per user is unchanged.
+ * Progress and final throughput are logged in rows per second and counted as {@code synthetic.data.rows}.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+	private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+	private static final String EXTERNAL_ID_PREFIX = "synth_";
+	private static final int SEQUENCE_INCREMENT = 50;
+	private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+	private static final String[] FIRST_NAMES = { "Aarav", "Diya", "Kabir", "Anika", "Vihaan", "Isha", "Arjun",
+			"Myra", "Reyansh", "Saanvi", "Aditya", "Kiara", "Rohan", "Meera", "Dev", "Tara" };
+	private static final String[] LAST_NAMES = { "Sharma", "Patel", "Singh", "Iyer", "Reddy", "Nair", "Gupta",
+			"Mehta", "Joshi", "Kapoor", "Rao", "Desai", "Verma", "Chopra" };
+	private static final String[] PRODUCTS = { "GreenMortgage", "SolarUpgrade", "GreenAuto", "EthicalLine",
+			"BridgeFund", "CommunityImpact" };
+	private static final long[] PRODUCT_MEDIAN_AMOUNTS = { 380000, 20000, 32000, 12000, 18000, 55000 };
+
+	private static final String INSERT_PROFILE = """
+			insert into user_profiles (id, external_id, full_name, email, credit_score, net_monthly_income, segment,
+			password_hash, user_type) values (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+	private static final String INSERT_LOAN = """
+			insert into loan_applications (id, user_id, product_type, requested_amount, decision, decision_date,
+			rationale) values (?, ?, ?, ?, ?, ?, ?)""";
+	private static final String INSERT_CONSENT = """
+			insert into user_consents (id, user_external_id, consent_hash, recorded_at) values (?, ?, ?, ?)""";
+
+	private final DataInitializer dataInitializer;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final PasswordEncoder passwordEncoder;
+	private final HashService hashService;
+	private final EntityManagerFactory entityManagerFactory;
+	private final Counter profileRows;
+	private final Counter loanRows;
+	private final Counter consentRows;
+
+	private final boolean enabled;
+	private final int users;
+	private final int batchSize;
+	private final int threads;
+	private final int maxLoansPerUser;
+	private final double consentRate;
+	private final int passwordHashPool;
+	private final String password;
+	private final long seed;
+	private volatile ExecutorService coordinator;
+	private volatile ExecutorService workers;
+
+	public SyntheticDataGenerator(DataInitializer dataInitializer,
+			JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate,
+			PasswordEncoder passwordEncoder,
+			HashService hashService,
+			EntityManagerFactory entityManagerFactory,
+			MeterRegistry meterRegistry,
+			@Value("${app.synthetic-data.enabled:false}") boolean enabled,
+			@Value("${app.synthetic-data.users:1000000}") int users,
+			@Value("${app.synthetic-data.batch-size:1000}") int batchSize,
+			@Value("${app.synthetic-data.threads:4}") int threads,
+			@Value("${app.synthetic-data.max-loans-per-user:25}") int maxLoansPerUser,
+			@Value("${app.synthetic-data.consent-rate:0.6}") double consentRate,
+			@Value("${app.synthetic-data.password-hash-pool:256}") int passwordHashPool,
+			@Value("${app.synthetic-data.password:pass123}") String password,
+			@Value("${app.synthetic-data.seed:42}") long seed) {
+		this.dataInitializer = dataInitializer;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.passwordEncoder = passwordEncoder;
+		this.hashService = hashService;
+		this.entityManagerFactory = entityManagerFactory;
+		this.profileRows = rowCounter(meterRegistry, "user_profiles");
+		this.loanRows = rowCounter(meterRegistry, "loan_applications");
+		this.consentRows = rowCounter(meterRegistry, "user_consents");
+		this.enabled = enabled;
+		this.users = Math.max(0, users);
+		this.batchSize = Math.max(1, batchSize);
+		this.threads = Math.max(1, threads);
+		this.maxLoansPerUser = Math.max(1, maxLoansPerUser);
+		this.consentRate = Math.min(1, Math.max(0, consentRate));
+		this.passwordHashPool = Math.max(1, passwordHashPool);
+		this.password = password;
+		this.seed = seed;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void generateAfterStartup() {
+		if (!enabled || users == 0) {
+			return;
+		}
+		coordinator = Executors.newSingleThreadExecutor(runnable -> daemonThread(runnable, "synthetic-data-coordinator"));
+		workers = Executors.newFixedThreadPool(threads,
+				runnable -> daemonThread(runnable, "synthetic-data-" + THREAD_IDS.incrementAndGet()));
+		// Demo users may still be seeding in the background and only seed into an empty database
+		dataInitializer.seeding()
+				.thenRunAsync(() -> {
+					Integer existing = jdbcTemplate.queryForObject(
+							"select count(*) from user_profiles where external_id like ?", Integer.class,
+							EXTERNAL_ID_PREFIX + "%");
+					if (existing != null && existing > 0) {
+						log.info("Skipping synthetic data generation; {} synthetic profiles already exist", existing);
+						return;
+					}
+					generate();
+				}, coordinator)
+				.whenComplete((ignored, ex) -> {
+					if (ex != null) {
+						log.error("Synthetic data generation failed", ex);
+					}
+					workers.shutdown();
+					coordinator.shutdown();
+				});
+	}
+
+	@PreDestroy
+	public void stop() {
+		for (ExecutorService running : new ExecutorService[] { coordinator, workers }) {
+			if (running != null) {
+				running.shutdownNow();
+			}
+		}
+	}
+
+	private void generate() {
+		long start = System.nanoTime();
+		List<String> passwordHashes = encodePasswordHashes();
+		log.info("Encoded {} password hashes in {} ms on {} threads", passwordHashes.size(),
+				Duration.ofNanos(System.nanoTime() - start).toMillis(), threads);
+
+		int chunks = (users + batchSize - 1) / batchSize;
+		AtomicLong rows = new AtomicLong();
+		AtomicInteger completedChunks = new AtomicInteger();
+		long insertStart = System.nanoTime();
+		int progressEvery = Math.max(1, chunks / 20);
+
+		List<CompletableFuture<Void>> pending = new ArrayList<>();
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			int chunkIndex = chunk;
+			pending.add(CompletableFuture.runAsync(() -> {
+				rows.addAndGet(insertChunk(chunkIndex, passwordHashes));
+				int done = completedChunks.incrementAndGet();
+				if (done % progressEvery == 0 || done == chunks) {
+					double seconds = Math.max(1e-9, (System.nanoTime() - insertStart) / 1e9);
+					log.info("Synthetic data: {}/{} chunks, {} rows, {} rows/s", done, chunks, rows.get(),
+							Math.round(rows.get() / seconds));
+				}
+			}, workers));
+			// Bound the backlog so chunk state is not materialized far ahead of the writers
+			if (pending.size() >= threads * 2) {
+				pending.remove(0).join();
+			}
+		}
+		pending.forEach(CompletableFuture::join);
+
+		// Rows written behind Hibernate's back: drop cached query results so listings see them
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+		double seconds = (System.nanoTime() - insertStart) / 1e9;
+		log.info("Generated {} synthetic customers ({} rows) in {} s: {} rows/s, {} customers/s", users, rows.get(),
+				Math.round(seconds), Math.round(rows.get() / seconds), Math.round(users / seconds));
+	}
+
+	private List<String> encodePasswordHashes() {
+		List<CompletableFuture<String>> hashes = new ArrayList<>();
+		for (int i = 0; i < Math.min(passwordHashPool, users); i++) {
+			hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), workers));
+		}
+		return hashes.stream().map(CompletableFuture::join).toList();
+	}
+
+	private long insertChunk(int chunkIndex, List<String> passwordHashes) {
+		// Seeded per chunk so the data set does not depend on thread scheduling
+		SplittableRandom random = new SplittableRandom(seed * 31 + chunkIndex);
+		int first = chunkIndex * batchSize;
+		int count = Math.min(batchSize, users - first);
+		LocalDate today = LocalDate.now();
+
+		List<Object[]> profiles = new ArrayList<>(count);
+		List<Object[]> loans = new ArrayList<>(count * 2);
+		List<Object[]> consents = new ArrayList<>(count);
+		long[] profileIds = allocateIds("user_profiles_seq", count);
+
+		for (int i = 0; i < count; i++) {
+			int ordinal = first + i;
+			String externalId = EXTERNAL_ID_PREFIX + "%07d".formatted(ordinal);
+			String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+			String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+			int creditScore = (int) Math.max(300, Math.min(850, Math.round(680 + 60 * gaussian(random))));
+			int income = (int) Math.max(1500, Math.min(250000, Math.round(6000 * Math.exp(0.5 * gaussian(random)))));
+			String segment = creditScore >= 700 ? "Prime" : creditScore >= 620 ? "Growth" : "Watch";
+
+			profiles.add(new Object[] { profileIds[i], externalId, firstName + " " + lastName,
+					"%s.%s.%d@example.com".formatted(firstName, lastName, ordinal).toLowerCase(), creditScore,
+					income, segment, passwordHashes.get(ordinal % passwordHashes.size()),
+					UserType.CUSTOMER.name() });
+
+			// Pareto (alpha 1.5) number of applications, capped
+			int loanCount = (int) Math.min(maxLoansPerUser, Math.floor(Math.pow(1 - random.nextDouble(), -1 / 1.5)));
+			for (int l = 0; l < loanCount; l++) {
+				int product = random.nextInt(PRODUCTS.length);
+				long amount = Math.round(PRODUCT_MEDIAN_AMOUNTS[product] * Math.exp(0.4 * gaussian(random)));
+				boolean approved = creditScore + 40 * gaussian(random) >= 640;
+				loans.add(new Object[] { null, profileIds[i], PRODUCTS[product], BigDecimal.valueOf(amount),
+						approved ? "Approved" : "Declined", Date.valueOf(today.minusDays(random.nextInt(1095))),
+						approved ? "Synthetic approval: score and income within policy."
+								: "Synthetic decline: risk drivers exceeded policy thresholds." });
+			}
+
+			if (random.nextDouble() < consentRate) {
+				int consentCount = 1 + (random.nextDouble() < 0.2 ? random.nextInt(4) : 0);
+				for (int c = 0; c < consentCount; c++) {
+					Instant recordedAt = Instant.now().minusSeconds(random.nextLong(Duration.ofDays(365).toSeconds()));
+					consents.add(new Object[] { null, externalId,
+							hashService.sha256("consent:%s:%d".formatted(externalId, c)),
+							OffsetDateTime.ofInstant(recordedAt, ZoneOffset.UTC) });
+				}
+			}
+		}
+		assignIds(loans, allocateIds("loan_applications_seq", loans.size()));
+		assignIds(consents, allocateIds("user_consents_seq", consents.size()));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.batchUpdate(INSERT_PROFILE, profiles);
+			jdbcTemplate.batchUpdate(INSERT_LOAN, loans);
+			jdbcTemplate.batchUpdate(INSERT_CONSENT, consents);
+		});
+		profileRows.increment(profiles.size());
+		loanRows.increment(loans.size());
+		consentRows.increment(consents.size());
+		return profiles.size() + loans.size() + consents.size();
+	}
+
+	/**
+	 * Draws ids in the blocks Hibernate's pooled optimizer uses: each {@code nextval} value {@code v} owns
+	 * {@code (v - 50, v]}. Values below one increment belong to the optimizer's first-call special case and are
+	 * skipped.
+	 */
+	private long[] allocateIds(String sequence, int count) {
+		long[] ids = new long[count];
+		int filled = 0;
+		while (filled < count) {
+			Long high = jdbcTemplate.queryForObject("select nextval('%s')".formatted(sequence), Long.class);
+			if (high == null || high < SEQUENCE_INCREMENT) {
+				continue;
+			}
+			for (long id = high - SEQUENCE_INCREMENT + 1; id <= high && filled < count; id++) {
+				ids[filled++] = id;
+			}
+		}
+		return ids;
+	}
+
+	private static void assignIds(List<Object[]> rows, long[] ids) {
+		for (int i = 0; i < rows.size(); i++) {
+			rows.get(i)[0] = ids[i];
+		}
+	}
+
+	private static Thread daemonThread(Runnable runnable, String name) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private static double gaussian(SplittableRandom random) {
+		// Box-Muller; SplittableRandom has no nextGaussian on Java 17
+		double u = 1 - random.nextDouble();
+		return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+	}
+
+	private static Counter rowCounter(MeterRegistry meterRegistry, String table) {
+		return Counter.builder("synthetic.data.rows")
+				.description("Rows written by the synthetic data generator")
+				.tag("table", table)
+				.register(meterRegistry);
+	}
+}
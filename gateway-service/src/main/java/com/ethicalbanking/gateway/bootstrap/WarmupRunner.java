@@ -0,0 +1,287 @@
+package com.ethicalbanking.gateway.bootstrap;
+
+import com.ethicalbanking.gateway.client.AiInsightsClient;
+import com.ethicalbanking.gateway.client.HuggingFaceClient;
+import com.ethicalbanking.gateway.domain.user.LoanApplication;
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.dto.DecisionInsightResponse;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
+import com.ethicalbanking.gateway.dto.LoginRequest;
+import com.ethicalbanking.gateway.dto.UserRosterEntry;
+import com.ethicalbanking.gateway.repository.UserProfileRepository;
+import com.ethicalbanking.gateway.service.DecisionService;
+import com.ethicalbanking.gateway.service.FairGuardService;
+import com.ethicalbanking.gateway.service.HashService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exercises the request hot paths once the context is up but before the application reports readiness.
+ * <p>
+ * Spring Boot only publishes {@code ReadinessState.ACCEPTING_TRAFFIC} after all {@link ApplicationRunner}s return,
+ * so {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} while this runs. All steps share the
+ * {@code app.warmup.timeout-ms} budget and failures are logged and skipped: a missing AI backend must not keep the
+ * instance out of rotation. Step durations are recorded as {@code startup.warmup}.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+	private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(3);
+	private static final String[] SEGMENTS = { "Prime", "Growth", "Watch" };
+
+	private final DecisionService decisionService;
+	private final UserProfileRepository userProfileRepository;
+	private final HashService hashService;
+	private final ObjectMapper objectMapper;
+	private final FairGuardService fairGuardService;
+	private final AiInsightsClient aiInsightsClient;
+	private final HuggingFaceClient huggingFaceClient;
+	private final MeterRegistry meterRegistry;
+
+	private final boolean enabled;
+	private final int iterations;
+	private final int connections;
+	private final Duration timeout;
+
+	public WarmupRunner(DecisionService decisionService,
+			UserProfileRepository userProfileRepository,
+			HashService hashService,
+			ObjectMapper objectMapper,
+			FairGuardService fairGuardService,
+			AiInsightsClient aiInsightsClient,
+			HuggingFaceClient huggingFaceClient,
+			MeterRegistry meterRegistry,
+			@Value("${app.warmup.enabled:true}") boolean enabled,
+			@Value("${app.warmup.iterations:500}") int iterations,
+			@Value("${app.warmup.connections:4}") int connections,
+			@Value("${app.warmup.timeout-ms:15000}") long timeoutMs) {
+		this.decisionService = decisionService;
+		this.userProfileRepository = userProfileRepository;
+		this.hashService = hashService;
+		this.objectMapper = objectMapper;
+		this.fairGuardService = fairGuardService;
+		this.aiInsightsClient = aiInsightsClient;
+		this.huggingFaceClient = huggingFaceClient;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.iterations = Math.max(1, iterations);
+		this.connections = Math.max(1, connections);
+		this.timeout = Duration.ofMillis(Math.max(1, timeoutMs));
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		long deadline = start + timeout.toNanos();
+		Map<String, String> outcomes = new LinkedHashMap<>();
+
+		// Outbound handshakes overlap with the CPU-bound steps below
+		Mono<String> aiBackend = probe(aiInsightsClient::probeConnection).cache();
+		Mono<String> llm = probe(huggingFaceClient::probeConnection).cache();
+		aiBackend.subscribe();
+		llm.subscribe();
+
+		step("decision", deadline, outcomes, this::warmDecisions);
+		step("hash", deadline, outcomes, this::warmHashing);
+		step("json", deadline, outcomes, this::warmJson);
+		step("fairguard", deadline, outcomes, this::warmFairGuard);
+		step("ai-backend", deadline, outcomes, remaining -> aiBackend.block(remaining));
+		step("llm", deadline, outcomes, remaining -> llm.block(remaining));
+
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		log.info("Warm-up finished in {} ms before accepting traffic: {}", elapsedMs, outcomes);
+	}
+
+	private void step(String name, long deadline, Map<String, String> outcomes,
+			Function<Duration, String> action) {
+		long remainingNanos = deadline - System.nanoTime();
+		if (remainingNanos <= 0) {
+			outcomes.put(name, "skipped");
+			return;
+		}
+		long stepStart = System.nanoTime();
+		String outcome;
+		try {
+			String result = action.apply(Duration.ofNanos(remainingNanos));
+			outcome = result != null ? result : "timeout";
+		}
+		catch (RuntimeException ex) {
+			log.warn("Warm-up step {} failed: {}", name, ex.getMessage());
+			outcome = "error";
+		}
+		long elapsed = System.nanoTime() - stepStart;
+		Timer.builder("startup.warmup")
+				.description("Duration of each warm-up step run before the readiness probe flips")
+				.tag("step", name)
+				.tag("outcome", outcome.startsWith("error") || outcome.equals("timeout") ? "error" : "success")
+				.register(meterRegistry)
+				.record(elapsed, TimeUnit.NANOSECONDS);
+		outcomes.put(name, "%s in %d ms".formatted(outcome, TimeUnit.NANOSECONDS.toMillis(elapsed)));
+	}
+
+	/**
+	 * Runs the full repository + scoring path for seeded users when they exist (seeding may be deferred), and the
+	 * in-memory scoring path for every segment either way.
+	 */
+	private String warmDecisions(Duration remaining) {
+		long deadline = System.nanoTime() + remaining.toNanos();
+		List<String> userIds = userProfileRepository.findRosterFirstPage(Limit.of(20)).stream()
+				.map(UserRosterEntry::externalId)
+				.toList();
+		List<UserProfile> profiles = new ArrayList<>();
+		for (String segment : SEGMENTS) {
+			profiles.add(fixtureProfile(segment));
+		}
+
+		int calls = 0;
+		for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+			if (!userIds.isEmpty()) {
+				decisionService.buildInsightForUser(userIds.get(i % userIds.size()));
+				calls++;
+			}
+			UserProfile profile = profiles.get(i % profiles.size());
+			decisionService.buildInsight(profile, fixtureDecision(profile));
+			calls++;
+		}
+		return "%d insights".formatted(calls);
+	}
+
+	private String warmHashing(Duration remaining) {
+		long deadline = System.nanoTime() + remaining.toNanos();
+		int calls = 0;
+		for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+			hashService.sha256("warmup-consent-" + i);
+			calls++;
+		}
+		return "%d hashes".formatted(calls);
+	}
+
+	private String warmJson(Duration remaining) {
+		long deadline = System.nanoTime() + remaining.toNanos();
+		UserProfile profile = fixtureProfile("Prime");
+		DecisionInsightResponse insight = decisionService.buildInsight(profile, fixtureDecision(profile));
+		FairGuardSummaryResponse summary = fairGuardService.isLocal() ? fairGuardService.fetchSummary() : null;
+		int calls = 0;
+		try {
+			for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+				objectMapper.writeValueAsBytes(insight);
+				if (summary != null) {
+					objectMapper.writeValueAsBytes(summary);
+				}
+				objectMapper.readValue("{\"userId\":\"user_001\",\"password\":\"warmup\"}", LoginRequest.class);
+				calls++;
+			}
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("JSON round trip failed: " + ex.getOriginalMessage(), ex);
+		}
+		return "%d round trips".formatted(calls);
+	}
+
+	/**
+	 * Local mode computes the summary in-process; remote mode fills the 15 s summary cache (and opens an AI backend
+	 * connection) so the first dashboard load does not pay for the round trip.
+	 */
+	private String warmFairGuard(Duration remaining) {
+		FairGuardSummaryResponse summary = fairGuardService.fetchSummary();
+		return summary != null ? "summary primed" : "empty summary";
+	}
+
+	/**
+	 * Opens {@code connections} pooled connections concurrently so several first requests find one ready. Each probe
+	 * fails on its own, so one refused connection does not cancel the others; the step only reports an error when
+	 * none of them got through.
+	 */
+	private Mono<String> probe(Function<Duration, Mono<HttpStatusCode>> probe) {
+		Duration probeTimeout = timeout.compareTo(PROBE_TIMEOUT) < 0 ? timeout : PROBE_TIMEOUT;
+		return Flux.range(0, connections)
+				.flatMap(i -> probe.apply(probeTimeout)
+						.map(status -> new ProbeResult(status, null))
+						.onErrorResume(ex -> Mono.just(new ProbeResult(null, ex))), connections)
+				.collectList()
+				.map(WarmupRunner::describeProbes);
+	}
+
+	private static String describeProbes(List<ProbeResult> results) {
+		List<ProbeResult> failed = results.stream().filter(result -> result.failure() != null).toList();
+		if (failed.size() == results.size()) {
+			return "error: %d/%d probes failed (%s)".formatted(failed.size(), results.size(),
+					failed.get(0).failure().getClass().getSimpleName());
+		}
+		HttpStatusCode status = results.stream()
+				.map(ProbeResult::status)
+				.filter(Objects::nonNull)
+				.findFirst()
+				.orElseThrow();
+		if (failed.isEmpty()) {
+			return "%d connections (HTTP %d)".formatted(results.size(), status.value());
+		}
+		log.warn("Warm-up: {}/{} connection probes failed: {}", failed.size(), results.size(),
+				failed.get(0).failure().getMessage());
+		return "%d connections (HTTP %d), %d probes failed".formatted(results.size() - failed.size(), status.value(),
+				failed.size());
+	}
+
+	private static UserProfile fixtureProfile(String segment) {
+		UserProfile profile = new UserProfile();
+		profile.setExternalId("warmup_" + segment.toLowerCase());
+		profile.setFullName("Warm-up " + segment);
+		profile.setEmail("warmup@example.com");
+		profile.setSegment(segment);
+		switch (segment) {
+			case "Prime" -> {
+				profile.setCreditScore(742);
+				profile.setNetMonthlyIncome(9500);
+			}
+			case "Watch" -> {
+				profile.setCreditScore(590);
+				profile.setNetMonthlyIncome(4700);
+			}
+			default -> {
+				profile.setCreditScore(655);
+				profile.setNetMonthlyIncome(6200);
+			}
+		}
+		return profile;
+	}
+
+	private static LoanApplication fixtureDecision(UserProfile profile) {
+		boolean approved = profile.getCreditScore() >= 650;
+		return new LoanApplication()
+				.setUser(profile)
+				.setProductType("GreenMortgage")
+				.setRequestedAmount(new BigDecimal("250000"))
+				.setDecision(approved ? "Approved" : "Declined")
+				.setDecisionDate(LocalDate.now())
+				.setRationale("Warm-up decision");
+	}
+
+	private record ProbeResult(HttpStatusCode status, Throwable failure) {
+	}
+}
@@ -1,57 +1,105 @@
 package com.ethicalbanking.gateway.client;
 
+import com.ethicalbanking.gateway.dto.ExplainResponse;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Component
 public class AiInsightsClient {
 
 	private static final Logger log = LoggerFactory.getLogger(AiInsightsClient.class);
+	private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+	private static final ParameterizedTypeReference<Map<String, Object>> HEALTH_TYPE =
+			new ParameterizedTypeReference<>() {
+			};
 
 	private final WebClient aiWebClient;
+	private final AiWireFormat wireFormat;
 
-	public AiInsightsClient(@Qualifier("aiWebClient") WebClient aiWebClient) {
+	public AiInsightsClient(@Qualifier("aiWebClient") WebClient aiWebClient, AiWireFormat wireFormat) {
 		this.aiWebClient = aiWebClient;
+		this.wireFormat = wireFormat;
 	}
 
-	@SuppressWarnings("unchecked")
-	public Map<String, Object> requestExplanation(Map<String, Object> payload) {
+	public ExplainResponse requestExplanation(Map<String, Object> payload) {
+		return explanation(payload, DEFAULT_TIMEOUT).block();
+	}
+
+	/**
+	 * Lazy variant: the exchange starts on subscription, and cancelling the subscription (including cancelling a
+	 * {@code toFuture()} of this Mono or of anything mapped from it) aborts the HTTP exchange. The timeout is
+	 * capped at the client's default.
+	 */
+	public Mono<ExplainResponse> explain(Map<String, Object> payload, Duration timeout) {
+		Duration effective = timeout.compareTo(DEFAULT_TIMEOUT) < 0 ? timeout : DEFAULT_TIMEOUT;
+		return explanation(payload, effective);
+	}
+
+	/**
+	 * Opens (or reuses) a pooled connection to the AI backend with {@code GET /health}. Any HTTP status counts as
+	 * success; only transport failures error.
+	 */
+	public Mono<HttpStatusCode> probeConnection(Duration timeout) {
+		return aiWebClient.get()
+				.uri("/health")
+				.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+				.timeout(timeout);
+	}
+
+	/**
+	 * Version of the model the AI backend is serving, as reported by {@code GET /health}; empty for backends that
+	 * do not report one.
+	 */
+	public Mono<Optional<String>> fetchModelVersion(Duration timeout) {
+		return aiWebClient.get()
+				.uri("/health")
+				.accept(MediaType.APPLICATION_JSON)
+				.retrieve()
+				.bodyToMono(HEALTH_TYPE)
+				.map(health -> Optional.ofNullable(health.get("model_version")).map(Object::toString))
+				.defaultIfEmpty(Optional.empty())
+				.timeout(timeout)
+				.onErrorMap(ex -> !(ex instanceof ExternalServiceException), AiInsightsClient::translate);
+	}
+
+	private Mono<ExplainResponse> explanation(Map<String, Object> payload, Duration timeout) {
 		Map<String, Object> safePayload = payload != null ? payload : Map.of();
-		try {
-			log.debug("Requesting explanation from AI backend with {} features", safePayload.size());
-			Map<String, Object> responseBody = aiWebClient.post()
-					.uri("/explain")
-					.contentType(MediaType.APPLICATION_JSON)
-					.bodyValue(safePayload)
-					.retrieve()
-					.bodyToMono(Map.class)
-					.timeout(Duration.ofSeconds(10))
-					.blockOptional()
-					.orElseThrow(() -> new ExternalServiceException("AI Insights",
-							"AI backend returned an empty response."));
-			log.debug("Received explanation response containing keys {}", responseBody.keySet());
-			return responseBody;
-		}
-		catch (WebClientResponseException ex) {
-			log.error("AI backend responded with {}: {}", ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
-			throw new ExternalServiceException("AI Insights",
-					"AI backend responded with status %s".formatted(ex.getStatusCode()),
+		log.debug("Requesting explanation from AI backend with {} features", safePayload.size());
+		return aiWebClient.post()
+				.uri("/explain")
+				.contentType(wireFormat.contentType())
+				.accept(wireFormat.accept())
+				.bodyValue(wireFormat.body(safePayload))
+				.retrieve()
+				.bodyToMono(ExplainResponse.class)
+				.timeout(timeout)
+				.switchIfEmpty(Mono.error(() -> new ExternalServiceException("AI Insights",
+						"AI backend returned an empty response.")))
+				.doOnNext(responseBody -> log.debug("Received {} explanation with {} SHAP values",
+						responseBody.decision(), responseBody.shapValues().size()))
+				.onErrorMap(ex -> !(ex instanceof ExternalServiceException), AiInsightsClient::translate);
+	}
+
+	private static ExternalServiceException translate(Throwable ex) {
+		if (ex instanceof WebClientResponseException responseException) {
+			log.error("AI backend responded with {}: {}", responseException.getStatusCode(),
+					responseException.getResponseBodyAsString(), ex);
+			return new ExternalServiceException("AI Insights",
+					"AI backend responded with status %s".formatted(responseException.getStatusCode()),
 					ex);
 		}
-		catch (ExternalServiceException ex) {
-			throw ex;
-		}
-		catch (Exception ex) {
-			log.error("AI backend call failed", ex);
-			throw new ExternalServiceException("AI Insights", "AI backend is unavailable", ex);
-		}
+		log.error("AI backend call failed", ex);
+		return new ExternalServiceException("AI Insights", "AI backend is unavailable", ex);
 	}
 }
-
@@ -0,0 +1,69 @@
+package com.ethicalbanking.gateway.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encoding used on the gateway to AI backend link. {@code ai-service.wire-format=json} (the default) keeps the
+ * text exchange every backend understands. {@code cbor} is opt-in for backends that accept CBOR request bodies:
+ * request bodies are then sent as CBOR and CBOR responses are preferred, with JSON still accepted in responses.
+ * See {@code WireFormatDecodeBenchmark} in gateway-benchmarks for the size and decode cost of each.
+ * <p>
+ * Spring's CBOR encoder only handles single values, so request bodies are serialized here and sent as bytes;
+ * responses go through the {@code Jackson2CborDecoder} registered on the {@code aiWebClient}.
+ */
+@Component
+public class AiWireFormat {
+
+	private static final MediaType JSON_FALLBACK = new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.5"));
+
+	private final MediaType contentType;
+	private final MediaType[] accept;
+	private final ObjectMapper cborMapper;
+
+	public AiWireFormat(@Value("${ai-service.wire-format:json}") String wireFormat) {
+		switch (wireFormat.trim().toLowerCase(Locale.ROOT)) {
+			case "cbor" -> {
+				this.contentType = MediaType.APPLICATION_CBOR;
+				this.accept = new MediaType[] {MediaType.APPLICATION_CBOR, JSON_FALLBACK};
+				this.cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+			}
+			case "json" -> {
+				this.contentType = MediaType.APPLICATION_JSON;
+				this.accept = new MediaType[] {MediaType.APPLICATION_JSON};
+				this.cborMapper = null;
+			}
+			default -> throw new IllegalArgumentException(
+					"Unsupported ai-service.wire-format '%s' (expected cbor or json)".formatted(wireFormat));
+		}
+	}
+
+	public MediaType contentType() {
+		return contentType;
+	}
+
+	public MediaType[] accept() {
+		return accept.clone();
+	}
+
+	/**
+	 * Request body in the configured encoding: CBOR bytes, or the value itself for the default JSON encoder.
+	 */
+	public Object body(Object value) {
+		if (cborMapper == null) {
+			return value;
+		}
+		try {
+			return cborMapper.writeValueAsBytes(value);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Request body could not be encoded as CBOR", ex);
+		}
+	}
+}
@@ -2,23 +2,31 @@ package com.ethicalbanking.gateway.client;
 
 import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
 import java.time.Duration;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.MediaType;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Component
 public class FairGuardClient {
 
 	private static final Logger log = LoggerFactory.getLogger(FairGuardClient.class);
 
+	private static final ParameterizedTypeReference<Map<String, Object>> STATUS_TYPE =
+			new ParameterizedTypeReference<>() {
+			};
+
 	private final WebClient aiWebClient;
+	private final AiWireFormat wireFormat;
 
-	public FairGuardClient(@Qualifier("aiWebClient") WebClient aiWebClient) {
+	public FairGuardClient(@Qualifier("aiWebClient") WebClient aiWebClient, AiWireFormat wireFormat) {
 		this.aiWebClient = aiWebClient;
+		this.wireFormat = wireFormat;
 	}
 
 	public FairGuardSummaryResponse fetchSummary() {
@@ -26,7 +34,7 @@ public class FairGuardClient {
 			log.debug("Requesting FairGuardAI governance summary from AI backend");
 			return aiWebClient.get()
 					.uri("/monitor/fairguard")
-					.accept(MediaType.APPLICATION_JSON)
+					.accept(wireFormat.accept())
 					.retrieve()
 					.bodyToMono(FairGuardSummaryResponse.class)
 					.timeout(Duration.ofSeconds(5))
@@ -55,8 +63,8 @@ public class FairGuardClient {
 			log.info("Triggering FairGuardAI simulation on AI backend");
 			return aiWebClient.post()
 					.uri("/monitor/fairguard/simulate")
-					.contentType(MediaType.APPLICATION_JSON)
-					.accept(MediaType.APPLICATION_JSON)
+					.contentType(wireFormat.contentType())
+					.accept(wireFormat.accept())
 					.retrieve()
 					.bodyToMono(FairGuardSummaryResponse.class)
 					.timeout(Duration.ofSeconds(10))
@@ -68,5 +76,49 @@ public class FairGuardClient {
 			throw new ExternalServiceException("AI FairGuard", "Simulation trigger failed", ex);
 		}
 	}
-}
 
+	/**
+	 * Reads the circuit-breaker state the AI backend last published; it never waits on queued events.
+	 */
+	public Map<String, Object> fetchStatus() {
+		try {
+			return aiWebClient.get()
+					.uri("/monitor/fairguard/status")
+					.accept(wireFormat.accept())
+					.retrieve()
+					.bodyToMono(STATUS_TYPE)
+					.timeout(Duration.ofSeconds(2))
+					.blockOptional()
+					.orElseThrow(() -> new ExternalServiceException("AI FairGuard",
+							"AI backend did not return a FairGuard status."));
+		}
+		catch (WebClientResponseException ex) {
+			log.error("FairGuard status endpoint responded with {}: {}", ex.getStatusCode(),
+					ex.getResponseBodyAsString(), ex);
+			throw new ExternalServiceException("AI FairGuard",
+					"AI backend responded with status %s".formatted(ex.getStatusCode()),
+					ex);
+		}
+		catch (ExternalServiceException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			log.error("FairGuard status request failed", ex);
+			throw new ExternalServiceException("AI FairGuard", "FairGuard status endpoint is unavailable", ex);
+		}
+	}
+
+	/**
+	 * Reports a decision scored outside the AI backend so FairGuard's window still sees it.
+	 */
+	public Mono<Map<String, Object>> recordEvent(Map<String, Object> event) {
+		return aiWebClient.post()
+				.uri("/monitor/fairguard/events")
+				.contentType(wireFormat.contentType())
+				.accept(wireFormat.accept())
+				.bodyValue(wireFormat.body(event))
+				.retrieve()
+				.bodyToMono(STATUS_TYPE)
+				.timeout(Duration.ofSeconds(5));
+	}
+}
@@ -1,19 +1,28 @@
 package com.ethicalbanking.gateway.client;
 
+import com.ethicalbanking.gateway.client.LlmRequestScheduler.Priority;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Component
 public class HuggingFaceClient {
@@ -21,32 +30,70 @@ public class HuggingFaceClient {
 	private static final String ERROR_FIELD = "error";
 	private static final String CHOICES_FIELD = "choices";
 	private static final String CONTENT_FIELD = "content";
+	private static final String USAGE_FIELD = "usage";
 
 	private static final Logger log = LoggerFactory.getLogger(HuggingFaceClient.class);
 
 	private final WebClient huggingFaceWebClient;
+	private final LlmRequestScheduler scheduler;
 	private final ObjectMapper objectMapper;
 	private final String modelId;
 	private final Duration requestTimeout;
+	private final int maxTokens;
+	private final double temperature;
 
 	public HuggingFaceClient(@Qualifier("huggingFaceWebClient") WebClient huggingFaceWebClient,
+			LlmRequestScheduler scheduler,
 			ObjectMapper objectMapper,
 			@Value("${huggingface.model:mistralai/Mistral-7B-Instruct-v0.2}") String modelId,
-			@Value("${huggingface.timeout-seconds:45}") long timeoutSeconds) {
+			@Value("${huggingface.timeout-seconds:45}") long timeoutSeconds,
+			@Value("${huggingface.max-tokens:320}") int maxTokens,
+			@Value("${huggingface.temperature:0.2}") double temperature) {
 		this.huggingFaceWebClient = huggingFaceWebClient;
+		this.scheduler = scheduler;
 		this.objectMapper = objectMapper;
 		this.modelId = modelId;
 		this.requestTimeout = Duration.ofSeconds(Math.max(5, timeoutSeconds));
+		this.maxTokens = maxTokens;
+		this.temperature = temperature;
 	}
 
 	public String requestExplanation(String systemPrompt, String userPrompt) {
+		return requestCompletion(systemPrompt, userPrompt, requestTimeout, Priority.INTERACTIVE).content();
+	}
+
+	/**
+	 * Opens (or reuses) a pooled TLS connection to the provider with {@code GET /v1/models}, bypassing the
+	 * scheduler because no tokens are spent. Any HTTP status, including 401, counts as success.
+	 */
+	public Mono<HttpStatusCode> probeConnection(Duration timeout) {
+		return huggingFaceWebClient.get()
+				.uri("/v1/models")
+				.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+				.timeout(timeout);
+	}
+
+	/**
+	 * Chat completion bounded by the caller's remaining budget when it is shorter than the configured timeout.
+	 * Output length is capped by {@code huggingface.max-tokens}; the call is admitted by the
+	 * {@link LlmRequestScheduler}, so queueing time counts against the same budget.
+	 */
+	public ChatCompletion requestCompletion(String systemPrompt, String userPrompt, Duration timeout,
+			Priority priority) {
+		Duration effectiveTimeout = timeout.compareTo(requestTimeout) < 0 ? timeout : requestTimeout;
 		Map<String, Object> payload = Map.of(
 				"model", modelId,
 				"messages", List.of(
 						Map.of("role", "system", CONTENT_FIELD, systemPrompt),
 						Map.of("role", "user", CONTENT_FIELD, userPrompt)),
+				"max_tokens", maxTokens,
+				"temperature", temperature,
 				"stream", Boolean.FALSE);
+		return scheduler.submit(priority, estimateTokens(systemPrompt, userPrompt), effectiveTimeout,
+				remaining -> send(payload, remaining));
+	}
 
+	private ChatCompletion send(Map<String, Object> payload, Duration timeout) {
 		try {
 			log.debug("Requesting Hugging Face explanation using model {}", modelId);
 			String rawResponse = huggingFaceWebClient.post()
@@ -55,14 +102,22 @@ public class HuggingFaceClient {
 					.bodyValue(payload)
 					.retrieve()
 					.bodyToMono(String.class)
-					.timeout(requestTimeout)
+					.timeout(timeout)
 					.block();
 
-			String generatedText = extractGeneratedText(rawResponse);
-			log.debug("Hugging Face response generated {} characters", generatedText.length());
-			return generatedText;
+			ChatCompletion completion = extractCompletion(rawResponse);
+			log.debug("Hugging Face response generated {} characters ({} prompt / {} completion tokens)",
+					completion.content().length(), completion.promptTokens(), completion.completionTokens());
+			return completion;
 		}
 		catch (WebClientResponseException ex) {
+			if (isRateLimit(ex)) {
+				Duration retryAfter = parseRetryAfter(ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+				log.warn("Hugging Face rate limited the request ({}), retry after {}", ex.getStatusCode(), retryAfter);
+				throw new RateLimitedException("Hugging Face",
+						"Hugging Face API rate limited the request with status %s".formatted(ex.getStatusCode()),
+						retryAfter, ex);
+			}
 			log.error("Hugging Face API error {}: {}", ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
 			throw new ExternalServiceException("Hugging Face",
 					"Hugging Face API responded with status %s".formatted(ex.getStatusCode()),
@@ -81,7 +136,43 @@ public class HuggingFaceClient {
 		}
 	}
 
-	private String extractGeneratedText(String rawResponse) throws JsonProcessingException {
+	/**
+	 * Tokens the call may consume: roughly four characters per prompt token plus the full completion cap.
+	 */
+	private int estimateTokens(String systemPrompt, String userPrompt) {
+		return (systemPrompt.length() + userPrompt.length() + 3) / 4 + maxTokens;
+	}
+
+	private static boolean isRateLimit(WebClientResponseException ex) {
+		return ex.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+				|| (ex.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+						&& ex.getHeaders().containsKey(HttpHeaders.RETRY_AFTER));
+	}
+
+	/** {@code Retry-After} as delay-seconds or an HTTP-date; {@code null} when absent or unreadable. */
+	private static Duration parseRetryAfter(String header) {
+		if (header == null || header.isBlank()) {
+			return null;
+		}
+		String value = header.trim();
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+		}
+		catch (NumberFormatException ignored) {
+			// not delay-seconds, try the HTTP-date form
+		}
+		try {
+			Duration delay = Duration.between(Instant.now(),
+					ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+			return delay.isNegative() ? Duration.ZERO : delay;
+		}
+		catch (DateTimeParseException ex) {
+			log.debug("Ignoring unreadable Retry-After header '{}'", value);
+			return null;
+		}
+	}
+
+	ChatCompletion extractCompletion(String rawResponse) throws JsonProcessingException {
 		if (rawResponse == null || rawResponse.isBlank()) {
 			throw new ExternalServiceException("Hugging Face", "Hugging Face returned an empty response.");
 		}
@@ -92,7 +183,10 @@ public class HuggingFaceClient {
 				&& rootNode.get(CHOICES_FIELD).size() > 0) {
 			JsonNode messageNode = rootNode.get(CHOICES_FIELD).get(0).path("message");
 			if (messageNode.hasNonNull(CONTENT_FIELD)) {
-				return messageNode.get(CONTENT_FIELD).asText().trim();
+				JsonNode usage = rootNode.path(USAGE_FIELD);
+				return new ChatCompletion(messageNode.get(CONTENT_FIELD).asText().trim(),
+						usage.path("prompt_tokens").asInt(-1),
+						usage.path("completion_tokens").asInt(-1));
 			}
 		}
 		if (rootNode.has(ERROR_FIELD)) {
@@ -102,6 +196,10 @@ public class HuggingFaceClient {
 
 		throw new ExternalServiceException("Hugging Face", "Unable to parse Hugging Face response.");
 	}
-}
-
 
+	/**
+	 * Generated text plus the token usage the provider reported; counts are {@code -1} when it reported none.
+	 */
+	public record ChatCompletion(String content, int promptTokens, int completionTokens) {
+	}
+}
@@ -0,0 +1,297 @@
+package com.ethicalbanking.gateway.client;
+
+import com.ethicalbanking.gateway.client.HuggingFaceClient.ChatCompletion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control in front of the LLM provider.
+ * <p>
+ * Calls queue by {@link Priority} (then arrival) and only the head of the queue may start, once a concurrency
+ * slot is free, the tokens-per-minute bucket covers its estimate and no {@code Retry-After} pause is active.
+ * Estimates are reconciled with the provider's reported usage when the call returns. A rate-limited call pauses
+ * every caller for the advertised (or exponential default) backoff and is retried in its original queue position
+ * while the caller's timeout still allows it.
+ */
+@Component
+public class LlmRequestScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(LlmRequestScheduler.class);
+	private static final String SERVICE_NAME = "Hugging Face";
+	private static final String PRIORITY_TAG = "priority";
+
+	public enum Priority {
+		INTERACTIVE, BACKGROUND
+	}
+
+	private final int maxConcurrency;
+	private final double tokenCapacity;
+	private final double tokensPerNano;
+	private final int maxRetries;
+	private final Duration defaultBackoff;
+	private final Duration maxBackoff;
+	private final LongSupplier nanoClock;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+	private final Map<Priority, Integer> queued = new EnumMap<>(Priority.class);
+	private long sequence;
+	private int inFlight;
+	private double availableTokens;
+	private long lastRefillNanos;
+	private long pausedUntilNanos;
+
+	private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+	private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+	private final Counter rateLimited;
+
+	@Autowired
+	public LlmRequestScheduler(MeterRegistry meterRegistry,
+			@Value("${huggingface.scheduler.max-concurrency:4}") int maxConcurrency,
+			@Value("${huggingface.scheduler.tokens-per-minute:60000}") long tokensPerMinute,
+			@Value("${huggingface.scheduler.max-retries:2}") int maxRetries,
+			@Value("${huggingface.scheduler.default-backoff-ms:1000}") long defaultBackoffMs,
+			@Value("${huggingface.scheduler.max-backoff-ms:30000}") long maxBackoffMs) {
+		this(meterRegistry, maxConcurrency, tokensPerMinute, maxRetries, defaultBackoffMs, maxBackoffMs,
+				System::nanoTime);
+	}
+
+	/**
+	 * Reads time from {@code nanoClock} instead of {@link System#nanoTime()}; tests that move it call
+	 * {@link #wakeWaiters()} so queued callers re-check their admission.
+	 */
+	LlmRequestScheduler(MeterRegistry meterRegistry, int maxConcurrency, long tokensPerMinute, int maxRetries,
+			long defaultBackoffMs, long maxBackoffMs, LongSupplier nanoClock) {
+		this.nanoClock = nanoClock;
+		this.lastRefillNanos = nanoClock.getAsLong();
+		this.pausedUntilNanos = lastRefillNanos;
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+		this.tokenCapacity = tokensPerMinute > 0 ? tokensPerMinute : Double.POSITIVE_INFINITY;
+		this.tokensPerNano = tokensPerMinute > 0 ? tokensPerMinute / (double) TimeUnit.MINUTES.toNanos(1) : 0;
+		this.availableTokens = tokenCapacity;
+		this.maxRetries = Math.max(0, maxRetries);
+		this.defaultBackoff = Duration.ofMillis(Math.max(1, defaultBackoffMs));
+		this.maxBackoff = Duration.ofMillis(Math.max(defaultBackoffMs, maxBackoffMs));
+
+		for (Priority priority : Priority.values()) {
+			queued.put(priority, 0);
+			Gauge.builder("huggingface.scheduler.queue.depth", this, scheduler -> scheduler.queueDepth(priority))
+					.description("LLM calls waiting for admission")
+					.tag(PRIORITY_TAG, priority.name().toLowerCase(Locale.ROOT))
+					.register(meterRegistry);
+			waitTimers.put(priority, Timer.builder("huggingface.scheduler.wait")
+					.description("Time LLM calls spent queued before admission")
+					.tag(PRIORITY_TAG, priority.name().toLowerCase(Locale.ROOT))
+					.register(meterRegistry));
+			rejections.put(priority, Counter.builder("huggingface.scheduler.timeouts")
+					.description("LLM calls abandoned because their timeout elapsed while queued")
+					.tag(PRIORITY_TAG, priority.name().toLowerCase(Locale.ROOT))
+					.register(meterRegistry));
+		}
+		Gauge.builder("huggingface.scheduler.in.flight", this, LlmRequestScheduler::inFlight)
+				.description("LLM calls currently running against the provider")
+				.register(meterRegistry);
+		this.rateLimited = Counter.builder("huggingface.scheduler.rate.limited")
+				.description("LLM calls the provider rejected with a rate-limit response")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Runs {@code call} once admitted, passing it the part of {@code timeout} left after queueing.
+	 *
+	 * @throws ExternalServiceException when the timeout elapses while queued or the call fails for good
+	 */
+	public ChatCompletion submit(Priority priority, int estimatedTokens, Duration timeout,
+			Function<Duration, ChatCompletion> call) {
+		long deadline = nanoClock.getAsLong() + timeout.toNanos();
+		double cost = Math.min(Math.max(1, estimatedTokens), tokenCapacity);
+		long position = nextSequence();
+
+		for (int attempt = 0;; attempt++) {
+			acquire(priority, position, cost, deadline);
+			ChatCompletion completion = null;
+			try {
+				completion = call.apply(Duration.ofNanos(Math.max(0, deadline - nanoClock.getAsLong())));
+				return completion;
+			}
+			catch (RateLimitedException ex) {
+				rateLimited.increment();
+				Duration pause = backoff(ex.getRetryAfter(), attempt);
+				pauseUntil(nanoClock.getAsLong() + pause.toNanos());
+				if (attempt >= maxRetries || nanoClock.getAsLong() + pause.toNanos() >= deadline) {
+					throw ex;
+				}
+				log.info("Hugging Face rate limited the call; retrying in {} ms (attempt {} of {})",
+						pause.toMillis(), attempt + 1, maxRetries);
+			}
+			finally {
+				release(cost, completion);
+			}
+		}
+	}
+
+	private void acquire(Priority priority, long position, double cost, long deadline) {
+		long enqueuedAt = nanoClock.getAsLong();
+		Waiter waiter = new Waiter(priority, position);
+		lock.lock();
+		try {
+			waiters.add(waiter);
+			queued.merge(priority, 1, Integer::sum);
+			try {
+				while (true) {
+					long now = nanoClock.getAsLong();
+					refill(now);
+					long waitNanos = admissionDelay(waiter, cost, now);
+					if (waitNanos == 0) {
+						availableTokens -= cost;
+						inFlight++;
+						break;
+					}
+					long remaining = deadline - now;
+					if (remaining <= 0) {
+						rejections.get(priority).increment();
+						throw new ExternalServiceException(SERVICE_NAME,
+								"Timed out waiting for an LLM request slot (%d queued ahead)".formatted(
+										waiters.size() - 1));
+					}
+					changed.awaitNanos(Math.min(waitNanos, remaining));
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new ExternalServiceException(SERVICE_NAME, "Interrupted waiting for an LLM request slot", ex);
+			}
+			finally {
+				waiters.remove(waiter);
+				queued.merge(priority, -1, Integer::sum);
+				changed.signalAll();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		waitTimers.get(priority).record(nanoClock.getAsLong() - enqueuedAt, TimeUnit.NANOSECONDS);
+	}
+
+	/** Zero when {@code waiter} may start now, otherwise how long to sleep before checking again. */
+	private long admissionDelay(Waiter waiter, double cost, long now) {
+		if (waiters.peek() != waiter || inFlight >= maxConcurrency) {
+			return Long.MAX_VALUE;
+		}
+		if (pausedUntilNanos - now > 0) {
+			return pausedUntilNanos - now;
+		}
+		if (availableTokens < cost) {
+			return (long) Math.ceil((cost - availableTokens) / tokensPerNano);
+		}
+		return 0;
+	}
+
+	private void release(double cost, ChatCompletion completion) {
+		lock.lock();
+		try {
+			inFlight--;
+			if (completion != null && completion.promptTokens() >= 0 && completion.completionTokens() >= 0) {
+				int actual = completion.promptTokens() + completion.completionTokens();
+				availableTokens = Math.min(tokenCapacity, availableTokens + cost - actual);
+			}
+			changed.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	void wakeWaiters() {
+		lock.lock();
+		try {
+			changed.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void pauseUntil(long nanos) {
+		lock.lock();
+		try {
+			if (nanos - pausedUntilNanos > 0) {
+				pausedUntilNanos = nanos;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void refill(long now) {
+		if (tokensPerNano > 0) {
+			availableTokens = Math.min(tokenCapacity, availableTokens + (now - lastRefillNanos) * tokensPerNano);
+		}
+		lastRefillNanos = now;
+	}
+
+	private Duration backoff(Duration retryAfter, int attempt) {
+		Duration pause = retryAfter != null && !retryAfter.isNegative()
+				? retryAfter
+				: defaultBackoff.multipliedBy(1L << Math.min(attempt, 16));
+		return pause.compareTo(maxBackoff) > 0 ? maxBackoff : pause;
+	}
+
+	private long nextSequence() {
+		lock.lock();
+		try {
+			return sequence++;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private double queueDepth(Priority priority) {
+		lock.lock();
+		try {
+			return queued.get(priority);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private double inFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private record Waiter(Priority priority, long position) implements Comparable<Waiter> {
+
+		@Override
+		public int compareTo(Waiter other) {
+			int byPriority = priority.compareTo(other.priority);
+			return byPriority != 0 ? byPriority : Long.compare(position, other.position);
+		}
+	}
+}
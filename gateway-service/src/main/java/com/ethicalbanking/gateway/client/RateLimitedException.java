@@ -0,0 +1,22 @@
+package com.ethicalbanking.gateway.client;
+
+import java.time.Duration;
+
+/**
+ * Upstream rejected a call because of its rate limits; {@link #getRetryAfter()} carries the provider's
+ * {@code Retry-After} hint when it sent one.
+ */
+public class RateLimitedException extends ExternalServiceException {
+
+	private final Duration retryAfter;
+
+	public RateLimitedException(String serviceName, String message, Duration retryAfter, Throwable cause) {
+		super(serviceName, message, cause);
+		this.retryAfter = retryAfter;
+	}
+
+	/** Requested pause before the next call, or {@code null} when the provider gave none. */
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
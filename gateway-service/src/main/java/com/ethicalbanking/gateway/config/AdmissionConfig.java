@@ -0,0 +1,77 @@
+package com.ethicalbanking.gateway.config;
+
+import com.ethicalbanking.gateway.admission.AdaptiveConcurrencyLimiter;
+import com.ethicalbanking.gateway.admission.ConcurrencyLaneInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-route concurrency lanes for the expensive endpoints, so a surge on one of them cannot take every Tomcat
+ * worker away from the cheap reads (decisions, profiles, rosters), which are deliberately left unlimited.
+ * <p>
+ * Each lane is tuned under {@code app.admission.<lane>.*}: {@code initial-limit}, {@code max-limit},
+ * {@code queue-size} and {@code max-wait-ms}. Keep the sum of max limits and queue sizes well below
+ * {@code server.tomcat.threads.max}, since queued requests still hold a worker thread.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+	private static final Logger log = LoggerFactory.getLogger(AdmissionConfig.class);
+
+	private static final List<Lane> LANES = List.of(
+			new Lane("ask", HttpMethod.POST, "/api/ask", 8, 32, 16, 500),
+			new Lane("login", HttpMethod.POST, "/api/user/login", 4, 16, 32, 1000),
+			new Lane("fairguard-simulation", HttpMethod.POST, "/api/fairguard/simulate", 1, 2, 2, 0));
+
+	private final Environment environment;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final int minLimit;
+	private final double tolerance;
+
+	public AdmissionConfig(Environment environment,
+			MeterRegistry meterRegistry,
+			@Value("${app.admission.enabled:true}") boolean enabled,
+			@Value("${app.admission.min-limit:1}") int minLimit,
+			@Value("${app.admission.tolerance:1.5}") double tolerance) {
+		this.environment = environment;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.minLimit = minLimit;
+		this.tolerance = tolerance;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		if (!enabled) {
+			log.info("Admission control disabled; expensive endpoints share the Tomcat pool unbounded");
+			return;
+		}
+		for (Lane lane : LANES) {
+			String prefix = "app.admission." + lane.name() + ".";
+			AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(lane.name(),
+					environment.getProperty(prefix + "initial-limit", Integer.class, lane.initialLimit()),
+					minLimit,
+					environment.getProperty(prefix + "max-limit", Integer.class, lane.maxLimit()),
+					environment.getProperty(prefix + "queue-size", Integer.class, lane.queueSize()),
+					Duration.ofMillis(environment.getProperty(prefix + "max-wait-ms", Long.class, lane.maxWaitMs())),
+					tolerance,
+					meterRegistry);
+			registry.addInterceptor(new ConcurrencyLaneInterceptor(limiter, lane.method()))
+					.addPathPatterns(lane.path());
+		}
+	}
+
+	private record Lane(String name, HttpMethod method, String path, int initialLimit, int maxLimit, int queueSize,
+			long maxWaitMs) {
+	}
+}
@@ -0,0 +1,65 @@
+package com.ethicalbanking.gateway.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Refuses to start the AOT-processed {@code faststart} jar under a different set of profiles than it was built
+ * with.
+ * <p>
+ * AOT processing freezes every bean condition, so a jar processed with {@code faststart} alone keeps the base
+ * {@code spring.flyway.enabled=false} even when run as {@code prod,faststart}: migrations would be skipped and
+ * {@code ddl-auto=validate} would fail or pass against a stale schema. Build with
+ * {@code -Dfaststart.profiles=prod,faststart} to run the AOT jar in production.
+ */
+public class AotProfileGuard implements EnvironmentPostProcessor, Ordered {
+
+	static final String BUILD_PROFILES_RESOURCE = "META-INF/aot-profiles.properties";
+
+	@Override
+	public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+		if (!AotDetector.useGeneratedArtifacts()) {
+			return;
+		}
+		ClassPathResource resource = new ClassPathResource(BUILD_PROFILES_RESOURCE, application.getClassLoader());
+		if (!resource.exists()) {
+			return;
+		}
+		Set<String> built = new TreeSet<>(StringUtils.commaDelimitedListToSet(
+				StringUtils.trimAllWhitespace(load(resource).getProperty("profiles", ""))));
+		Set<String> active = new TreeSet<>(Arrays.asList(environment.getActiveProfiles()));
+		if (!built.equals(active)) {
+			throw new IllegalStateException(("AOT-processed jar was built for profiles %s but is running with %s; "
+					+ "rebuild with ./mvnw -Pfaststart -Dfaststart.profiles=%s package, or start without "
+					+ "-Dspring.aot.enabled=true").formatted(built, active,
+							StringUtils.collectionToCommaDelimitedString(active)));
+		}
+	}
+
+	@Override
+	public int getOrder() {
+		// After ConfigDataEnvironmentPostProcessor has resolved spring.profiles.active
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+
+	private static Properties load(ClassPathResource resource) {
+		try {
+			return PropertiesLoaderUtils.loadProperties(resource);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not read " + BUILD_PROFILES_RESOURCE, ex);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.ethicalbanking.gateway.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AskAiExecutorConfig {
+
+	/**
+	 * Runs the blocking Ask AI stages (consent lookup) alongside scoring. When saturated the caller runs the
+	 * task itself, which degrades to the old sequential behaviour instead of rejecting requests.
+	 */
+	@Bean(name = "askAiExecutor")
+	public ThreadPoolTaskExecutor askAiExecutor(@Value("${ask-ai.executor.pool-size:16}") int poolSize,
+			@Value("${ask-ai.executor.queue-capacity:256}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("ask-ai-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(10);
+		return executor;
+	}
+
+	/**
+	 * Background LLM enrichment of Ask AI answers. Saturation rejects the task and the job keeps its template
+	 * answer; running LLM calls on request threads would defeat the point.
+	 */
+	@Bean(name = "explanationEnrichmentExecutor")
+	public ThreadPoolTaskExecutor explanationEnrichmentExecutor(
+			@Value("${ask-ai.enrichment.pool-size:8}") int poolSize,
+			@Value("${ask-ai.enrichment.queue-capacity:128}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("explain-llm-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+
+	/**
+	 * Workers for queued Ask AI batch jobs. The dispatcher never claims more jobs than there are idle workers,
+	 * so the queue only buffers the hand-off.
+	 */
+	@Bean(name = "askAiJobExecutor")
+	public ThreadPoolTaskExecutor askAiJobExecutor(@Value("${ask-ai.jobs.concurrency:4}") int concurrency) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrency);
+		executor.setMaxPoolSize(concurrency);
+		executor.setQueueCapacity(concurrency);
+		executor.setThreadNamePrefix("ask-ai-job-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+}
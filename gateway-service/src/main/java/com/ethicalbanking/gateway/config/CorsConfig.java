@@ -1,10 +1,13 @@
 package com.ethicalbanking.gateway.config;
 
+import com.ethicalbanking.gateway.api.UserController;
 import java.util.Arrays;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -13,6 +16,12 @@ import org.springframework.web.filter.CorsFilter;
 @Configuration
 public class CorsConfig {
 
+	/**
+	 * Ahead of {@link SecurityConfig#SESSION_FILTER_ORDER}, so requests the session filter rejects with 401 still carry the CORS
+	 * headers the browser needs to read them.
+	 */
+	public static final int CORS_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
 	private final List<String> allowedOrigins;
 
 	public CorsConfig(@Value("${app.cors.allowed-origins:http://localhost:5173}") String allowedOrigins) {
@@ -20,15 +29,19 @@ public class CorsConfig {
 	}
 
 	@Bean
-	public CorsFilter corsFilter() {
+	public FilterRegistrationBean<CorsFilter> corsFilter() {
 		CorsConfiguration configuration = new CorsConfiguration();
 		configuration.setAllowCredentials(true);
 		configuration.setAllowedOrigins(allowedOrigins);
 		configuration.setAllowedHeaders(List.of("*"));
 		configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+		configuration.setExposedHeaders(
+				List.of(UserController.SESSION_TOKEN_HEADER, UserController.SESSION_EXPIRES_HEADER));
 
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
 		source.registerCorsConfiguration("/api/**", configuration);
-		return new CorsFilter(source);
+		FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+		registration.setOrder(CORS_FILTER_ORDER);
+		return registration;
 	}
 }
@@ -0,0 +1,18 @@
+package com.ethicalbanking.gateway.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer sqlSamplingCustomizer(
+			@Value("${app.sql-log.sample-rate:1.0}") double sampleRate) {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+				new SamplingStatementInspector(sampleRate));
+	}
+}
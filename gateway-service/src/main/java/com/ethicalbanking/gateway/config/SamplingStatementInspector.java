@@ -0,0 +1,32 @@
+package com.ethicalbanking.gateway.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replaces {@code spring.jpa.show-sql}: logs a random sample of SQL statements through SLF4J instead of
+ * printing every statement to stdout.
+ */
+public class SamplingStatementInspector implements StatementInspector {
+
+	public static final String LOGGER_NAME = "com.ethicalbanking.gateway.sql";
+
+	private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+	private final double sampleRate;
+
+	public SamplingStatementInspector(double sampleRate) {
+		this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+	}
+
+	@Override
+	public String inspect(String sql) {
+		if (sampleRate > 0.0 && log.isDebugEnabled()
+				&& (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+			log.debug(sql);
+		}
+		return sql;
+	}
+}
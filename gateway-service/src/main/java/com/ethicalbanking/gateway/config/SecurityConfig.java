@@ -1,17 +1,45 @@
 package com.ethicalbanking.gateway.config;
 
+import com.ethicalbanking.gateway.service.SessionTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-public class SecurityConfig {
+public class SecurityConfig implements WebMvcConfigurer {
+
+	/** After the CORS filter and Spring's own request filters, before the dispatcher. */
+	public static final int SESSION_FILTER_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
 
 	@Bean
 	public PasswordEncoder passwordEncoder() {
 		return new BCryptPasswordEncoder();
 	}
-}
 
+	@Bean
+	public FilterRegistrationBean<SessionTokenFilter> sessionTokenFilter(SessionTokenService sessionTokenService,
+			ObjectMapper objectMapper,
+			@Value("${app.session.required:false}") boolean sessionRequired) {
+		FilterRegistrationBean<SessionTokenFilter> registration = new FilterRegistrationBean<>(
+				new SessionTokenFilter(sessionTokenService, objectMapper, sessionRequired));
+		registration.addUrlPatterns("/api/*");
+		registration.setOrder(SESSION_FILTER_ORDER);
+		return registration;
+	}
+
+	/** Ahead of the admission lanes, so a forbidden request never takes a concurrency slot. */
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new SessionOwnershipInterceptor())
+				.addPathPatterns("/api/**")
+				.order(Ordered.HIGHEST_PRECEDENCE);
+	}
+}
 
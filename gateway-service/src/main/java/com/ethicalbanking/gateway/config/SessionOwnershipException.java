@@ -0,0 +1,11 @@
+package com.ethicalbanking.gateway.config;
+
+/**
+ * A valid session tried to reach another user's resources; rendered as 403.
+ */
+public class SessionOwnershipException extends RuntimeException {
+
+	public SessionOwnershipException(String message) {
+		super(message);
+	}
+}
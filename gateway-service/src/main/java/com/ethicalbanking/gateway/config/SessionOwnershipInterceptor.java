@@ -0,0 +1,35 @@
+package com.ethicalbanking.gateway.config;
+
+import com.ethicalbanking.gateway.domain.user.UserType;
+import com.ethicalbanking.gateway.service.SessionTokenService.SessionPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Authorises {@code /{userId}} routes against the principal {@link SessionTokenFilter} verified: a customer's
+ * token only opens their own resources, an admin's opens any. Requests without a principal are left to
+ * {@code app.session.required}, which the filter has already applied. A {@link SessionOwnershipException} thrown
+ * from {@link #preHandle} is rendered by the {@code GlobalExceptionHandler}.
+ */
+public class SessionOwnershipInterceptor implements HandlerInterceptor {
+
+	static final String USER_ID_VARIABLE = "userId";
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(request.getAttribute(SessionTokenFilter.PRINCIPAL_ATTRIBUTE) instanceof SessionPrincipal principal)
+				|| principal.userType() == UserType.ADMIN) {
+			return true;
+		}
+		if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+				&& variables.get(USER_ID_VARIABLE) instanceof String userId
+				&& !userId.equals(principal.userId())) {
+			throw new SessionOwnershipException(
+					"Session of user %s cannot access resources of user %s.".formatted(principal.userId(), userId));
+		}
+		return true;
+	}
+}
@@ -0,0 +1,90 @@
+package com.ethicalbanking.gateway.config;
+
+import com.ethicalbanking.gateway.api.ApiError;
+import com.ethicalbanking.gateway.service.SessionTokenService;
+import com.ethicalbanking.gateway.service.SessionTokenService.SessionPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Verifies bearer session tokens with a signature check instead of re-running BCrypt on every call.
+ * <p>
+ * A present but invalid token is always rejected; a missing token is only rejected when sessions are required.
+ * The filter only authenticates: the verified principal is stored under {@link #PRINCIPAL_ATTRIBUTE} and
+ * {@link SessionOwnershipInterceptor} checks it against {@code /{userId}} routes.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+	public static final String PRINCIPAL_ATTRIBUTE = "com.ethicalbanking.gateway.config.SessionTokenFilter.principal";
+
+	private static final Logger log = LoggerFactory.getLogger(SessionTokenFilter.class);
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String LOGIN_PATH = "/api/user/login";
+
+	private final SessionTokenService sessionTokenService;
+	private final ObjectMapper objectMapper;
+	private final boolean sessionRequired;
+
+	public SessionTokenFilter(SessionTokenService sessionTokenService, ObjectMapper objectMapper,
+			boolean sessionRequired) {
+		this.sessionTokenService = sessionTokenService;
+		this.objectMapper = objectMapper;
+		this.sessionRequired = sessionRequired;
+	}
+
+	public static Optional<String> extractBearerToken(HttpServletRequest request) {
+		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+			return Optional.empty();
+		}
+		return Optional.of(header.substring(BEARER_PREFIX.length()).trim());
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return HttpMethod.OPTIONS.matches(request.getMethod()) || LOGIN_PATH.equals(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Optional<String> token = extractBearerToken(request);
+		if (token.isEmpty()) {
+			if (sessionRequired) {
+				reject(request, response, "A session token is required for this endpoint.");
+				return;
+			}
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		Optional<SessionPrincipal> principal = sessionTokenService.verify(token.get());
+		if (principal.isEmpty()) {
+			reject(request, response, "Session token is invalid, expired or revoked.");
+			return;
+		}
+
+		request.setAttribute(PRINCIPAL_ATTRIBUTE, principal.get());
+		filterChain.doFilter(request, response);
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response, String detail) throws IOException {
+		log.warn("Session rejected at {}: {}", request.getRequestURI(), detail);
+		response.setStatus(HttpStatus.UNAUTHORIZED.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(),
+				ApiError.of("Unauthorized", detail, request.getRequestURI()));
+	}
+}
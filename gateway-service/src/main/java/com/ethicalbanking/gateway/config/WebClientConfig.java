@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -14,18 +15,27 @@ public class WebClientConfig {
 
 	private static final Logger log = LoggerFactory.getLogger(WebClientConfig.class);
 
+	/**
+	 * Client for the Flask AI backend. Registers a CBOR decoder next to the default JSON one so responses can be
+	 * negotiated in the binary encoding (see {@code ai-service.wire-format}).
+	 * <p>
+	 * Both clients start from Spring Boot's builder so every exchange is timed as {@code http.client.requests},
+	 * tagged with the URI template, status and outcome.
+	 */
 	@Bean(name = "aiWebClient")
-	public WebClient aiWebClient(@Value("${ai-service.base-url:http://localhost:5000}") String baseUrl) {
-		return WebClient.builder()
+	public WebClient aiWebClient(WebClient.Builder webClientBuilder,
+			@Value("${ai-service.base-url:http://localhost:5000}") String baseUrl) {
+		return webClientBuilder.clone()
 				.baseUrl(baseUrl)
+				.codecs(codecs -> codecs.customCodecs().register(new Jackson2CborDecoder()))
 				.build();
 	}
 
 	@Bean(name = "huggingFaceWebClient")
-	public WebClient huggingFaceWebClient(
+	public WebClient huggingFaceWebClient(WebClient.Builder webClientBuilder,
 			@Value("${huggingface.base-url:https://router.huggingface.co}") String baseUrl,
 			@Value("${huggingface.api-key:}") String apiKey) {
-		WebClient.Builder builder = WebClient.builder()
+		WebClient.Builder builder = webClientBuilder.clone()
 				.baseUrl(baseUrl);
 
 		if (StringUtils.hasText(apiKey)) {
@@ -0,0 +1,170 @@
+package com.ethicalbanking.gateway.domain.askai;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A queued Ask AI question and, once processed, its serialized answer. Rows are claimed by workers with a
+ * conditional status update, so any number of gateway instances can drain the same table.
+ */
+@Entity
+@Table(name = "ask_ai_jobs",
+		indexes = {
+				@Index(name = "idx_ask_ai_jobs_status_created_at", columnList = "status, created_at"),
+				@Index(name = "idx_ask_ai_jobs_batch_id", columnList = "batch_id"),
+				@Index(name = "idx_ask_ai_jobs_expires_at", columnList = "expires_at")
+		})
+public class AskAiJob {
+
+	@Id
+	@Column(length = 36)
+	private String id = UUID.randomUUID().toString();
+
+	@Version
+	private Long version;
+
+	@Column(length = 36)
+	private String batchId;
+
+	@Column(nullable = false)
+	private String userExternalId;
+
+	@Column(nullable = false, length = 2048)
+	private String question;
+
+	@Column(columnDefinition = "text")
+	private String featureSnapshot;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private AskAiJobStatus status = AskAiJobStatus.QUEUED;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(columnDefinition = "text")
+	private String result;
+
+	@Column(length = 1024)
+	private String error;
+
+	@Column(nullable = false)
+	private Instant createdAt = Instant.now();
+
+	private Instant startedAt;
+
+	private Instant completedAt;
+
+	private Instant expiresAt;
+
+	/** Earliest time a requeued job may be claimed again; {@code null} means straight away. */
+	private Instant notBefore;
+
+	public String getId() {
+		return id;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public String getBatchId() {
+		return batchId;
+	}
+
+	public void setBatchId(String batchId) {
+		this.batchId = batchId;
+	}
+
+	public String getUserExternalId() {
+		return userExternalId;
+	}
+
+	public void setUserExternalId(String userExternalId) {
+		this.userExternalId = userExternalId;
+	}
+
+	public String getQuestion() {
+		return question;
+	}
+
+	public void setQuestion(String question) {
+		this.question = question;
+	}
+
+	public String getFeatureSnapshot() {
+		return featureSnapshot;
+	}
+
+	public void setFeatureSnapshot(String featureSnapshot) {
+		this.featureSnapshot = featureSnapshot;
+	}
+
+	public AskAiJobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(AskAiJobStatus status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public String getResult() {
+		return result;
+	}
+
+	public void setResult(String result) {
+		this.result = result;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(Instant completedAt) {
+		this.completedAt = completedAt;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Instant expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public Instant getNotBefore() {
+		return notBefore;
+	}
+
+	public void setNotBefore(Instant notBefore) {
+		this.notBefore = notBefore;
+	}
+}
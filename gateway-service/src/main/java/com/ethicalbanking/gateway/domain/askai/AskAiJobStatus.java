@@ -0,0 +1,5 @@
+package com.ethicalbanking.gateway.domain.askai;
+
+public enum AskAiJobStatus {
+	QUEUED, RUNNING, COMPLETED, FAILED
+}
@@ -5,15 +5,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 
 @Entity
-@Table(name = "user_consents")
+@Table(name = "user_consents",
+		indexes = @Index(name = "idx_user_consents_user_recorded_at", columnList = "user_external_id, recorded_at"))
 public class UserConsent {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_consents_seq")
+	@SequenceGenerator(name = "user_consents_seq", sequenceName = "user_consents_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false)
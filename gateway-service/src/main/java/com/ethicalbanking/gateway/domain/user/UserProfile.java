@@ -1,6 +1,7 @@
 package com.ethicalbanking.gateway.domain.user;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,16 +9,31 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
-@Table(name = "user_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserProfile.CACHE_REGION)
+@NaturalIdCache(region = UserProfile.NATURAL_ID_CACHE_REGION)
+@Table(name = "user_profiles",
+		indexes = @Index(name = "idx_user_profiles_full_name", columnList = "full_name, id"))
 public class UserProfile {
 
+	public static final String CACHE_REGION = "user-profiles";
+	public static final String NATURAL_ID_CACHE_REGION = "user-profile-natural-ids";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_profiles_seq")
+	@SequenceGenerator(name = "user_profiles_seq", sequenceName = "user_profiles_seq", allocationSize = 50)
 	private Long id;
 
+	@NaturalId
 	@Column(nullable = false, unique = true)
 	private String externalId;
 
@@ -0,0 +1,20 @@
+package com.ethicalbanking.gateway.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class AskAiJobBatchRequest {
+
+	@NotEmpty
+	@Valid
+	private List<AskAiRequest> questions;
+
+	public List<AskAiRequest> getQuestions() {
+		return questions;
+	}
+
+	public void setQuestions(List<AskAiRequest> questions) {
+		this.questions = questions;
+	}
+}
@@ -0,0 +1,17 @@
+package com.ethicalbanking.gateway.dto;
+
+import java.time.Instant;
+
+public record AskAiJobResponse(
+		String jobId,
+		String batchId,
+		String userId,
+		String status,
+		int attempts,
+		AskAiResponse result,
+		String error,
+		Instant createdAt,
+		Instant startedAt,
+		Instant completedAt,
+		Instant expiresAt) {
+}
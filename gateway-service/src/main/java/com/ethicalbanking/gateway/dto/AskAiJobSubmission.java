@@ -0,0 +1,11 @@
+package com.ethicalbanking.gateway.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record AskAiJobSubmission(
+		String batchId,
+		int accepted,
+		List<String> jobIds,
+		Instant submittedAt) {
+}
@@ -1,5 +1,7 @@
 package com.ethicalbanking.gateway.dto;
 
+import com.ethicalbanking.gateway.scoring.FeatureVector;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import java.util.Map;
 
@@ -13,6 +15,10 @@ public class AskAiRequest {
 
 	private Map<String, Object> featureSnapshot;
 
+	// Compiled from featureSnapshot against the model's feature schema when the request body is read.
+	@JsonIgnore
+	private FeatureVector featureVector;
+
 	public String getUserId() {
 		return userId;
 	}
@@ -36,5 +42,12 @@ public class AskAiRequest {
 	public void setFeatureSnapshot(Map<String, Object> featureSnapshot) {
 		this.featureSnapshot = featureSnapshot;
 	}
-}
 
+	public FeatureVector getFeatureVector() {
+		return featureVector;
+	}
+
+	public void setFeatureVector(FeatureVector featureVector) {
+		this.featureVector = featureVector;
+	}
+}
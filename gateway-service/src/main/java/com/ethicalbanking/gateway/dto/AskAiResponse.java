@@ -8,6 +8,8 @@ public class AskAiResponse {
 	private String explanation;
 	private Map<String, Object> shapValues;
 	private Map<String, Object> fairGuard;
+	private String explanationJobId;
+	private String explanationStatus;
 
 	public String getDecisionSummary() {
 		return decisionSummary;
@@ -40,5 +42,20 @@ public class AskAiResponse {
 	public void setFairGuard(Map<String, Object> fairGuard) {
 		this.fairGuard = fairGuard;
 	}
-}
 
+	public String getExplanationJobId() {
+		return explanationJobId;
+	}
+
+	public void setExplanationJobId(String explanationJobId) {
+		this.explanationJobId = explanationJobId;
+	}
+
+	public String getExplanationStatus() {
+		return explanationStatus;
+	}
+
+	public void setExplanationStatus(String explanationStatus) {
+		this.explanationStatus = explanationStatus;
+	}
+}
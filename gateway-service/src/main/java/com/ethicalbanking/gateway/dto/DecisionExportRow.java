@@ -0,0 +1,20 @@
+package com.ethicalbanking.gateway.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One customer joined with their latest loan decision; loan columns are {@code null} when no decision exists.
+ */
+public record DecisionExportRow(
+		String userId,
+		String fullName,
+		String segment,
+		Integer creditScore,
+		Integer netMonthlyIncome,
+		String productType,
+		BigDecimal requestedAmount,
+		String decision,
+		LocalDate decisionDate,
+		String rationale) {
+}
@@ -0,0 +1,28 @@
+package com.ethicalbanking.gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+/**
+ * Decision and SHAP explanation as returned by the AI backend's {@code /explain} (JSON or CBOR) or produced by
+ * native scoring. {@code fairguard} carries the guardrail status once the decision has been reported.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ExplainResponse(
+		String decision,
+		Double probability,
+		@JsonProperty("shap_values") Map<String, Double> shapValues,
+		@JsonProperty("base_value") Double baseValue,
+		@JsonProperty("model_version") String modelVersion,
+		Map<String, Object> fairguard) {
+
+	public ExplainResponse {
+		shapValues = shapValues != null ? shapValues : Map.of();
+		fairguard = fairguard != null ? fairguard : Map.of();
+	}
+
+	public ExplainResponse withFairguard(Map<String, Object> status) {
+		return new ExplainResponse(decision, probability, shapValues, baseValue, modelVersion, status);
+	}
+}
@@ -0,0 +1,11 @@
+package com.ethicalbanking.gateway.dto;
+
+import java.time.Instant;
+
+public record ExplanationJobResponse(
+		String jobId,
+		String status,
+		String explanation,
+		Instant createdAt,
+		Instant completedAt) {
+}
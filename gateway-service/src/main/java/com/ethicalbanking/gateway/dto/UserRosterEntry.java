@@ -0,0 +1,17 @@
+package com.ethicalbanking.gateway.dto;
+
+import com.ethicalbanking.gateway.domain.user.UserType;
+
+/**
+ * Read-only roster row projected straight from JPQL so paging never fills the persistence context.
+ */
+public record UserRosterEntry(
+		Long id,
+		String externalId,
+		String fullName,
+		String email,
+		Integer creditScore,
+		Integer netMonthlyIncome,
+		String segment,
+		UserType userType) {
+}
@@ -0,0 +1,10 @@
+package com.ethicalbanking.gateway.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record UserRosterPage(
+		List<Map<String, Object>> items,
+		String nextCursor,
+		int limit) {
+}
@@ -0,0 +1,365 @@
+package com.ethicalbanking.gateway.fairguard;
+
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.CircuitBreakerSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.DimensionSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.DriftSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.GroupSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.ShapWatch;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gateway-side port of the AI service's FairGuard monitor over a true sliding window.
+ * <p>
+ * Every counter the summary needs (per-group counts and approvals, the probability sums of the older and
+ * newer half of the window, negative SHAP mass per feature) is updated incrementally as an event enters and
+ * another leaves the ring, so recording is O(protected attributes + SHAP features) regardless of the window
+ * size. The guardrail status each decision gets back is derived from the same counters while the event is
+ * appended, without building a summary; full summaries are materialised lazily, at most once per change, and
+ * served from a cached snapshot until the next event arrives.
+ */
+public class FairGuardMonitor {
+
+	private static final String UNDECLARED = "UNDECLARED";
+	private static final String ALERT = "ALERT";
+	private static final String NORMAL = "NORMAL";
+	private static final int SHAP_WATCHLIST_SIZE = 5;
+	private static final int MIN_DRIFT_SAMPLES = 5;
+	private static final double EPSILON = 1e-12;
+
+	private final List<String> protectedAttributes;
+	private final double parityThreshold;
+	private final double driftThreshold;
+	private final int windowSize;
+	private final int minSamples;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Event[] ring;
+	private final List<Map<String, GroupCounter>> groupCounters;
+	private final Map<String, double[]> negativeShapMass = new HashMap<>();
+	private long recorded;
+	private int size;
+	private double olderHalfSum;
+	private double newerHalfSum;
+
+	private volatile long version;
+	private volatile Snapshot snapshot;
+	private volatile Map<String, Object> latestStatus;
+
+	public FairGuardMonitor(List<String> protectedAttributes, double parityThreshold, double driftThreshold,
+			int windowSize, int minSamples) {
+		if (windowSize < 2) {
+			throw new IllegalArgumentException("FairGuard window size must be at least 2");
+		}
+		this.protectedAttributes = List.copyOf(protectedAttributes);
+		this.parityThreshold = parityThreshold;
+		this.driftThreshold = driftThreshold;
+		this.windowSize = windowSize;
+		this.minSamples = minSamples;
+		this.ring = new Event[windowSize];
+		this.groupCounters = new ArrayList<>(this.protectedAttributes.size());
+		for (int i = 0; i < this.protectedAttributes.size(); i++) {
+			groupCounters.add(new LinkedHashMap<>());
+		}
+		this.latestStatus = computeStatus();
+	}
+
+	/**
+	 * Records a decision and returns the guardrail status in the shape the AI service's {@code /explain} uses.
+	 */
+	public Map<String, Object> recordEvent(Map<String, Object> payload, String decision, double probability,
+			Map<String, ? extends Number> shapValues) {
+		Map<String, Object> safePayload = payload != null ? payload : Map.of();
+		String[] groups = new String[protectedAttributes.size()];
+		for (int i = 0; i < groups.length; i++) {
+			groups[i] = groupKey(safePayload.get(protectedAttributes.get(i)));
+		}
+		Event event = new Event(groups, "approved".equalsIgnoreCase(decision), probability,
+				negativeShap(shapValues));
+
+		lock.lock();
+		try {
+			append(event);
+			version++;
+			Map<String, Object> status = computeStatus();
+			latestStatus = status;
+			return status;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Guardrail status as of the latest recorded event. */
+	public Map<String, Object> status() {
+		return latestStatus;
+	}
+
+	public FairGuardSummaryResponse summary() {
+		Snapshot current = snapshot;
+		long expected = version;
+		if (current != null && current.version() == expected) {
+			return current.summary();
+		}
+		lock.lock();
+		try {
+			current = snapshot;
+			if (current == null || current.version() != version) {
+				current = new Snapshot(version, buildSummary());
+				snapshot = current;
+			}
+			return current.summary();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Java port of the AI service's demo seed: a stable first half followed by a drifting, gender-biased half.
+	 */
+	public FairGuardSummaryResponse seedSimulationData() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int halfWindow = windowSize / 2;
+		for (int i = 0; i < halfWindow; i++) {
+			String decision = random.nextDouble() > 0.1 ? "Approved" : "Rejected";
+			recordEvent(simulatedPayload(random), decision, random.nextDouble(0.75, 0.95), null);
+		}
+		for (int i = 0; i < halfWindow; i++) {
+			Map<String, Object> payload = simulatedPayload(random);
+			boolean approved = "M".equals(payload.get("GENDER"))
+					? random.nextDouble() > 0.3
+					: random.nextDouble() <= 0.1;
+			recordEvent(payload, approved ? "Approved" : "Rejected", random.nextDouble(0.35, 0.55), null);
+		}
+		return summary();
+	}
+
+	private void append(Event event) {
+		int tail = (int) (recorded % windowSize);
+		Event evicted = size == windowSize ? ring[tail] : null;
+		int oldMidpoint = size / 2;
+
+		if (evicted != null) {
+			// The oldest event always belongs to the older half.
+			olderHalfSum -= evicted.probability();
+			adjustGroups(evicted, -1);
+			adjustShap(evicted, -1);
+		}
+		else {
+			size++;
+		}
+		ring[tail] = event;
+		recorded++;
+		newerHalfSum += event.probability();
+		adjustGroups(event, 1);
+		adjustShap(event, 1);
+
+		// Keep the older half at exactly size / 2 events by promoting the oldest event of the newer half.
+		int newMidpoint = size / 2;
+		int olderCount = evicted != null ? oldMidpoint - 1 : oldMidpoint;
+		while (olderCount < newMidpoint) {
+			Event promoted = eventAt(olderCount);
+			newerHalfSum -= promoted.probability();
+			olderHalfSum += promoted.probability();
+			olderCount++;
+		}
+	}
+
+	/** Returns the event at a window position, 0 being the oldest. */
+	private Event eventAt(int position) {
+		long oldestSequence = recorded - size;
+		return ring[(int) ((oldestSequence + position) % windowSize)];
+	}
+
+	private void adjustGroups(Event event, int delta) {
+		for (int i = 0; i < event.groups().length; i++) {
+			Map<String, GroupCounter> counters = groupCounters.get(i);
+			GroupCounter counter = counters.computeIfAbsent(event.groups()[i], key -> new GroupCounter());
+			counter.count += delta;
+			if (event.approved()) {
+				counter.approved += delta;
+			}
+			// Free-form attribute values would otherwise leave one empty counter behind per value ever seen
+			if (counter.count == 0) {
+				counters.remove(event.groups()[i]);
+			}
+		}
+	}
+
+	private void adjustShap(Event event, int delta) {
+		for (Map.Entry<String, Double> entry : event.negativeShap().entrySet()) {
+			double[] mass = negativeShapMass.computeIfAbsent(entry.getKey(), key -> new double[1]);
+			mass[0] += delta * entry.getValue();
+			if (mass[0] < EPSILON) {
+				negativeShapMass.remove(entry.getKey());
+			}
+		}
+	}
+
+	private FairGuardSummaryResponse buildSummary() {
+		List<String> alerts = new ArrayList<>();
+		List<DimensionSnapshot> dimensions = new ArrayList<>(protectedAttributes.size());
+
+		for (int i = 0; i < protectedAttributes.size(); i++) {
+			String attribute = protectedAttributes.get(i);
+			List<GroupSnapshot> groups = new ArrayList<>();
+			double minRate = Double.MAX_VALUE;
+			double maxRate = -Double.MAX_VALUE;
+			long total = 0;
+			for (Map.Entry<String, GroupCounter> entry : groupCounters.get(i).entrySet()) {
+				GroupCounter counter = entry.getValue();
+				double rate = (double) counter.approved / counter.count;
+				minRate = Math.min(minRate, rate);
+				maxRate = Math.max(maxRate, rate);
+				total += counter.count;
+				groups.add(new GroupSnapshot(entry.getKey(), counter.count, round(rate, 3)));
+			}
+
+			double parityGap = round(groups.size() >= 2 ? maxRate - minRate : 0.0, 3);
+			String status = isParityAlert(parityGap, total) ? ALERT : NORMAL;
+			if (ALERT.equals(status)) {
+				alerts.add(parityAlert(attribute, parityGap));
+			}
+			dimensions.add(new DimensionSnapshot(attribute, parityGap, parityThreshold, status, total, groups));
+		}
+
+		double driftScore = driftScore();
+		String driftStatus = driftScore > driftThreshold ? ALERT : NORMAL;
+		if (ALERT.equals(driftStatus)) {
+			alerts.add(driftAlert(driftScore));
+		}
+
+		List<ShapWatch> watchlist = negativeShapMass.entrySet().stream()
+				.sorted(Comparator.comparingDouble((Map.Entry<String, double[]> entry) -> entry.getValue()[0])
+						.reversed())
+				.limit(SHAP_WATCHLIST_SIZE)
+				.map(entry -> new ShapWatch(entry.getKey(), round(entry.getValue()[0], 4)))
+				.toList();
+
+		return new FairGuardSummaryResponse(
+				Instant.now(),
+				size,
+				new DriftSnapshot(driftScore, driftThreshold, driftStatus),
+				new CircuitBreakerSnapshot(!alerts.isEmpty(), alerts.isEmpty() ? null : alerts.get(0)),
+				List.copyOf(alerts),
+				List.copyOf(dimensions),
+				watchlist);
+	}
+
+	/**
+	 * The status {@link #buildSummary()} would report, computed straight from the counters; callers hold
+	 * {@code lock}.
+	 */
+	private Map<String, Object> computeStatus() {
+		List<String> alerts = new ArrayList<>();
+		for (int i = 0; i < protectedAttributes.size(); i++) {
+			double minRate = Double.MAX_VALUE;
+			double maxRate = -Double.MAX_VALUE;
+			long total = 0;
+			for (GroupCounter counter : groupCounters.get(i).values()) {
+				double rate = (double) counter.approved / counter.count;
+				minRate = Math.min(minRate, rate);
+				maxRate = Math.max(maxRate, rate);
+				total += counter.count;
+			}
+			double parityGap = round(groupCounters.get(i).size() >= 2 ? maxRate - minRate : 0.0, 3);
+			if (isParityAlert(parityGap, total)) {
+				alerts.add(parityAlert(protectedAttributes.get(i), parityGap));
+			}
+		}
+		double driftScore = driftScore();
+		if (driftScore > driftThreshold) {
+			alerts.add(driftAlert(driftScore));
+		}
+		return status(List.copyOf(alerts), driftScore, size);
+	}
+
+	private boolean isParityAlert(double parityGap, long total) {
+		return total >= minSamples && parityGap > parityThreshold;
+	}
+
+	private String parityAlert(String attribute, double parityGap) {
+		return "%s parity gap %.2f exceeds %.2f".formatted(attribute, parityGap, parityThreshold);
+	}
+
+	private String driftAlert(double driftScore) {
+		return "Drift score %.2f exceeds %.2f".formatted(driftScore, driftThreshold);
+	}
+
+	private double driftScore() {
+		if (size < MIN_DRIFT_SAMPLES) {
+			return 0.0;
+		}
+		int olderCount = size / 2;
+		double olderMean = olderHalfSum / olderCount;
+		double newerMean = newerHalfSum / (size - olderCount);
+		return round(Math.abs(newerMean - olderMean), 3);
+	}
+
+	private static Map<String, Object> status(List<String> alerts, double driftScore, int windowSize) {
+		Map<String, Object> status = new LinkedHashMap<>();
+		status.put("status", alerts.isEmpty() ? NORMAL : ALERT);
+		status.put("circuitBreakerActive", !alerts.isEmpty());
+		status.put("reason", alerts.isEmpty() ? null : alerts.get(0));
+		status.put("alerts", alerts);
+		status.put("driftScore", driftScore);
+		status.put("windowSize", windowSize);
+		return Collections.unmodifiableMap(status);
+	}
+
+	private static Map<String, Double> negativeShap(Map<String, ? extends Number> shapValues) {
+		if (shapValues == null || shapValues.isEmpty()) {
+			return Map.of();
+		}
+		Map<String, Double> negative = new HashMap<>();
+		shapValues.forEach((feature, weight) -> {
+			if (weight != null && weight.doubleValue() < 0) {
+				negative.put(feature, -weight.doubleValue());
+			}
+		});
+		return negative;
+	}
+
+	private static String groupKey(Object value) {
+		// Same falsy handling as the Python monitor's `value or "UNDECLARED"`.
+		if (value == null || Boolean.FALSE.equals(value)
+				|| (value instanceof Number number && number.doubleValue() == 0)
+				|| value.toString().isEmpty()) {
+			return UNDECLARED;
+		}
+		return value.toString();
+	}
+
+	private static Map<String, Object> simulatedPayload(ThreadLocalRandom random) {
+		return Map.of(
+				"GENDER", random.nextBoolean() ? "M" : "F",
+				"MARITALSTATUS", random.nextBoolean() ? "Married" : "Single",
+				"EDUCATION", random.nextBoolean() ? "Graduate" : "Undergrad");
+	}
+
+	private static double round(double value, int places) {
+		double factor = Math.pow(10, places);
+		return Math.round(value * factor) / factor;
+	}
+
+	private static final class GroupCounter {
+		private long count;
+		private long approved;
+	}
+
+	private record Event(String[] groups, boolean approved, double probability, Map<String, Double> negativeShap) {
+	}
+
+	private record Snapshot(long version, FairGuardSummaryResponse summary) {
+	}
+}
@@ -0,0 +1,49 @@
+package com.ethicalbanking.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of an Ask AI request. Async stages are begun on the request thread and committed by the thread
+ * that completes them, so the duration covers queueing as well as work.
+ */
+@Name("com.ethicalbanking.AskAiStage")
+@Label("Ask AI Stage")
+@Category({ "Ethical Banking", "Ask AI" })
+@Description("Consent, scoring, prompt, guardrail and explanation stages of an Ask AI request")
+@StackTrace(false)
+public class AskAiStageEvent extends Event {
+
+	@Label("Stage")
+	String stage;
+
+	@Label("User")
+	String userId;
+
+	@Label("Priority")
+	String priority;
+
+	@Label("Outcome")
+	String outcome;
+
+	public static AskAiStageEvent begin(String stage, String userId, String priority) {
+		AskAiStageEvent event = new AskAiStageEvent();
+		event.stage = stage;
+		event.userId = userId;
+		event.priority = priority;
+		event.begin();
+		return event;
+	}
+
+	public void finish(String outcome) {
+		end();
+		if (shouldCommit()) {
+			this.outcome = outcome;
+			commit();
+		}
+	}
+}
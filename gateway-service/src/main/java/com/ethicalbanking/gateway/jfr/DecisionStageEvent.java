@@ -0,0 +1,37 @@
+package com.ethicalbanking.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of building a decision insight: profile load, history load, scoring or counterfactual.
+ */
+@Name("com.ethicalbanking.DecisionStage")
+@Label("Decision Insight Stage")
+@Category({ "Ethical Banking", "Decision" })
+@Description("Repository loads, driver scoring and counterfactual text of a decision insight")
+@StackTrace(false)
+public class DecisionStageEvent extends Event {
+
+	@Label("Stage")
+	String stage;
+
+	@Label("User")
+	String userId;
+
+	public static DecisionStageEvent begin(String stage, String userId) {
+		DecisionStageEvent event = new DecisionStageEvent();
+		event.stage = stage;
+		event.userId = userId;
+		event.begin();
+		return event;
+	}
+
+	public void finish() {
+		commit();
+	}
+}
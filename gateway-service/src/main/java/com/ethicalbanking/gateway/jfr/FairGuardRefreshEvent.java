@@ -0,0 +1,41 @@
+package com.ethicalbanking.gateway.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call to the AI backend's FairGuard monitor made to refresh the gateway's view: summary, simulation or
+ * status.
+ */
+@Name("com.ethicalbanking.FairGuardRefresh")
+@Label("FairGuard Refresh")
+@Category({ "Ethical Banking", "FairGuard" })
+@Description("Remote FairGuard summary, simulation and status reads")
+@StackTrace(false)
+public class FairGuardRefreshEvent extends Event {
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Outcome")
+	String outcome;
+
+	public static FairGuardRefreshEvent begin(String operation) {
+		FairGuardRefreshEvent event = new FairGuardRefreshEvent();
+		event.operation = operation;
+		event.begin();
+		return event;
+	}
+
+	public void finish(String outcome) {
+		end();
+		if (shouldCommit()) {
+			this.outcome = outcome;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package com.ethicalbanking.gateway.jfr;
+
+import jakarta.annotation.PreDestroy;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a continuous, size- and age-bounded Flight Recorder recording with the gateway's custom events and
+ * serves a dump of it at {@code /actuator/jfr}, like {@code /actuator/heapdump} does for the heap.
+ * <p>
+ * The JDK settings profile (default: {@code default}, under 1% overhead) covers GC, locks, I/O and sampling;
+ * the gateway's stage events are enabled on top with {@code app.jfr.stage-threshold-ms}. The system property,
+ * environment variable and JVM argument events are left out so a dump does not carry credentials.
+ * <p>
+ * Dumps still hold user ids (stage events), thread names and stack traces, so the endpoint is not in the default
+ * web exposure: the {@code diagnostics} profile serves it on a separate loopback-only management port.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+	private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+	private static final String[] SENSITIVE_EVENTS = { "jdk.InitialSystemProperty", "jdk.InitialEnvironmentVariable",
+			"jdk.JVMInformation" };
+
+	private final Recording recording;
+	private final Semaphore dumps = new Semaphore(1);
+
+	public JfrRecordingEndpoint(@Value("${app.jfr.enabled:true}") boolean enabled,
+			@Value("${app.jfr.settings:default}") String settings,
+			@Value("${app.jfr.max-age-minutes:15}") long maxAgeMinutes,
+			@Value("${app.jfr.max-size-mb:64}") long maxSizeMb,
+			@Value("${app.jfr.stage-threshold-ms:0}") long stageThresholdMs) {
+		this.recording = enabled ? startRecording(settings, Duration.ofMinutes(Math.max(1, maxAgeMinutes)),
+				Math.max(1, maxSizeMb) * 1024 * 1024, Duration.ofMillis(Math.max(0, stageThresholdMs))) : null;
+	}
+
+	/**
+	 * Dumps the last {@code app.jfr.max-age-minutes} of recording; open it with JDK Mission Control or {@code jfr}.
+	 * One dump is written at a time; a request arriving while another is being written gets 429.
+	 */
+	@ReadOperation(produces = "application/octet-stream")
+	public WebEndpointResponse<Resource> dump() throws IOException {
+		if (recording == null) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+		}
+		if (!dumps.tryAcquire()) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+		}
+		try {
+			Path file = Files.createTempFile("gateway-", ".jfr");
+			try {
+				recording.dump(file);
+			}
+			catch (IOException | RuntimeException ex) {
+				Files.deleteIfExists(file);
+				throw ex;
+			}
+			log.info("Dumped flight recording ({} bytes)", Files.size(file));
+			return new WebEndpointResponse<>(new TemporaryFileSystemResource(file));
+		}
+		finally {
+			dumps.release();
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		if (recording != null) {
+			recording.close();
+		}
+	}
+
+	private static Recording startRecording(String settings, Duration maxAge, long maxSizeBytes,
+			Duration stageThreshold) {
+		if (!FlightRecorder.isAvailable()) {
+			log.warn("Flight Recorder is not available in this JVM; /actuator/jfr is disabled");
+			return null;
+		}
+		try {
+			Recording recording = new Recording(Configuration.getConfiguration(settings));
+			recording.setName("gateway-continuous");
+			recording.setToDisk(true);
+			recording.setMaxAge(maxAge);
+			recording.setMaxSize(maxSizeBytes);
+			recording.enable(AskAiStageEvent.class).withThreshold(stageThreshold);
+			recording.enable(DecisionStageEvent.class).withThreshold(stageThreshold);
+			recording.enable(FairGuardRefreshEvent.class).withThreshold(stageThreshold);
+			for (String event : SENSITIVE_EVENTS) {
+				recording.disable(event);
+			}
+			recording.start();
+			log.info("Continuous flight recording started ({} settings, {} max age)", settings, maxAge);
+			return recording;
+		}
+		catch (IOException | ParseException ex) {
+			log.warn("Unable to start flight recording with '{}' settings: {}", settings, ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes the dump once it has been streamed to the client. Not reported as a file so the container does not
+	 * bypass {@link #getInputStream()}.
+	 */
+	private static final class TemporaryFileSystemResource extends FileSystemResource {
+
+		private TemporaryFileSystemResource(Path path) {
+			super(path);
+		}
+
+		@Override
+		public boolean isFile() {
+			return false;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return new FilterInputStream(super.getInputStream()) {
+
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					}
+					finally {
+						Files.deleteIfExists(getFile().toPath());
+					}
+				}
+			};
+		}
+	}
+}
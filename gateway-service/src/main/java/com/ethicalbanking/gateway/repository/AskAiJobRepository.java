@@ -0,0 +1,73 @@
+package com.ethicalbanking.gateway.repository;
+
+import com.ethicalbanking.gateway.domain.askai.AskAiJob;
+import com.ethicalbanking.gateway.domain.askai.AskAiJobStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface AskAiJobRepository extends JpaRepository<AskAiJob, String> {
+
+	/**
+	 * Jobs in {@code status} whose retry backoff, if any, has elapsed by {@code now}.
+	 */
+	@Query("""
+			select j.id from AskAiJob j
+			where j.status = :status and (j.notBefore is null or j.notBefore <= :now)
+			order by j.createdAt, j.id""")
+	List<String> findReadyIds(@Param("status") AskAiJobStatus status, @Param("now") Instant now, Pageable pageable);
+
+	/**
+	 * Moves a queued job to {@code RUNNING}; returns 0 when another worker claimed it first.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("""
+			update AskAiJob j set j.status = :running, j.startedAt = :now, j.attempts = j.attempts + 1,
+				j.version = j.version + 1
+			where j.id = :id and j.status = :queued""")
+	int claim(@Param("id") String id, @Param("now") Instant now,
+			@Param("queued") AskAiJobStatus queued, @Param("running") AskAiJobStatus running);
+
+	/**
+	 * Reverts a {@link #claim} whose job never started (the executor rejected it), without spending an attempt.
+	 */
+	@Transactional
+	@Modifying
+	@Query("""
+			update AskAiJob j set j.status = :queued, j.attempts = j.attempts - 1, j.version = j.version + 1
+			where j.id = :id and j.status = :running""")
+	int unclaim(@Param("id") String id, @Param("queued") AskAiJobStatus queued,
+			@Param("running") AskAiJobStatus running);
+
+	/**
+	 * Hands jobs left running by a worker that died (or missed its deadline) back to the queue.
+	 */
+	@Transactional
+	@Modifying
+	@Query("""
+			update AskAiJob j set j.status = :queued, j.version = j.version + 1
+			where j.status = :running and j.startedAt < :cutoff and j.attempts < :maxAttempts""")
+	int requeueStale(@Param("cutoff") Instant cutoff, @Param("maxAttempts") int maxAttempts,
+			@Param("queued") AskAiJobStatus queued, @Param("running") AskAiJobStatus running);
+
+	@Transactional
+	@Modifying
+	@Query("""
+			update AskAiJob j set j.status = :failed, j.error = :error, j.completedAt = :now, j.expiresAt = :expiresAt,
+				j.version = j.version + 1
+			where j.status = :running and j.startedAt < :cutoff and j.attempts >= :maxAttempts""")
+	int failStale(@Param("cutoff") Instant cutoff, @Param("maxAttempts") int maxAttempts,
+			@Param("error") String error, @Param("now") Instant now, @Param("expiresAt") Instant expiresAt,
+			@Param("running") AskAiJobStatus running, @Param("failed") AskAiJobStatus failed);
+
+	@Transactional
+	@Modifying
+	@Query("delete from AskAiJob j where j.expiresAt < :now")
+	int deleteExpired(@Param("now") Instant now);
+}
@@ -1,11 +1,15 @@
 package com.ethicalbanking.gateway.repository;
 
 import com.ethicalbanking.gateway.domain.consent.UserConsent;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface UserConsentRepository extends JpaRepository<UserConsent, Long> {
 
+	// Statement-level backstop (seconds) for the Ask AI consent check, which also waits on its own deadline.
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_TIMEOUT, value = "2"))
 	Optional<UserConsent> findTopByUserExternalIdOrderByRecordedAtDesc(String userExternalId);
 }
-
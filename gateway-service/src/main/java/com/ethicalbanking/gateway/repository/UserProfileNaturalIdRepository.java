@@ -0,0 +1,12 @@
+package com.ethicalbanking.gateway.repository;
+
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import java.util.Optional;
+
+/**
+ * Looks profiles up by their natural id so Hibernate can answer from the natural-id and entity caches.
+ */
+public interface UserProfileNaturalIdRepository {
+
+	Optional<UserProfile> findByExternalId(String externalId);
+}
@@ -0,0 +1,23 @@
+package com.ethicalbanking.gateway.repository;
+
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+
+class UserProfileNaturalIdRepositoryImpl implements UserProfileNaturalIdRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Optional<UserProfile> findByExternalId(String externalId) {
+		if (externalId == null) {
+			return Optional.empty();
+		}
+		return entityManager.unwrap(Session.class)
+				.bySimpleNaturalId(UserProfile.class)
+				.loadOptional(externalId);
+	}
+}
@@ -1,14 +1,55 @@
 package com.ethicalbanking.gateway.repository;
 
 import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.domain.user.UserType;
+import com.ethicalbanking.gateway.dto.DecisionExportRow;
+import com.ethicalbanking.gateway.dto.UserRosterEntry;
+import jakarta.persistence.QueryHint;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
-
-	Optional<UserProfile> findByExternalId(String externalId);
+public interface UserProfileRepository extends JpaRepository<UserProfile, Long>, UserProfileNaturalIdRepository {
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<UserProfile> findAllByOrderByFullNameAsc();
-}
 
+	@Query("""
+			select new com.ethicalbanking.gateway.dto.UserRosterEntry(
+				u.id, u.externalId, u.fullName, u.email, u.creditScore, u.netMonthlyIncome, u.segment, u.userType)
+			from UserProfile u
+			order by u.fullName asc, u.id asc""")
+	List<UserRosterEntry> findRosterFirstPage(Limit limit);
+
+	@Query("""
+			select new com.ethicalbanking.gateway.dto.UserRosterEntry(
+				u.id, u.externalId, u.fullName, u.email, u.creditScore, u.netMonthlyIncome, u.segment, u.userType)
+			from UserProfile u
+			where u.fullName > :fullName or (u.fullName = :fullName and u.id > :id)
+			order by u.fullName asc, u.id asc""")
+	List<UserRosterEntry> findRosterPageAfter(@Param("fullName") String fullName, @Param("id") Long id,
+			Limit limit);
+
+	/**
+	 * Streams every profile of the given type with its most recent loan decision (ties broken by the highest id).
+	 * Must be consumed inside a transaction and closed by the caller.
+	 */
+	@Query("""
+			select new com.ethicalbanking.gateway.dto.DecisionExportRow(
+				u.externalId, u.fullName, u.segment, u.creditScore, u.netMonthlyIncome,
+				l.productType, l.requestedAmount, l.decision, l.decisionDate, l.rationale)
+			from UserProfile u
+			left join LoanApplication l on l.user = u and l.id = (
+				select max(latest.id) from LoanApplication latest
+				where latest.user = u and latest.decisionDate = (
+					select max(history.decisionDate) from LoanApplication history where history.user = u))
+			where u.userType = :userType
+			order by u.id asc""")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	Stream<DecisionExportRow> streamLatestDecisions(@Param("userType") UserType userType);
+}
@@ -0,0 +1,179 @@
+package com.ethicalbanking.gateway.scoring;
+
+import com.ethicalbanking.gateway.scoring.PortableModel.CategoricalFeature;
+import com.ethicalbanking.gateway.scoring.PortableModel.NumericFeature;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input contract of a portable model: its {@code feature_columns}, split into categorical features (with the
+ * categories the encoder learnt) and numeric ones, laid out in the order the pipeline encodes them.
+ * <p>
+ * {@link #compile} turns a feature snapshot into a {@link FeatureVector}. Missing features are always allowed
+ * (the model imputes them). In strict mode unknown features, unknown categories and wrongly typed values are
+ * rejected; lenient mode mirrors the Python pipeline, which ignores extra keys and encodes unknown categories
+ * as all zeros. Non-numeric values for numeric features are rejected in both modes.
+ */
+public final class FeatureSchema {
+
+	private final String modelVersion;
+	private final List<String> featureColumns;
+	private final String[] categoricalNames;
+	private final Object[][] categories;
+	private final Object[][] normalisedCategories;
+	private final String[] numericNames;
+	private final Map<String, Integer> slots;
+
+	private FeatureSchema(PortableModel model) {
+		this.modelVersion = model.modelVersion();
+		this.featureColumns = List.copyOf(model.featureColumns());
+
+		List<CategoricalFeature> categorical = model.categorical();
+		List<NumericFeature> numeric = model.numeric();
+		this.categoricalNames = new String[categorical.size()];
+		this.categories = new Object[categorical.size()][];
+		this.normalisedCategories = new Object[categorical.size()][];
+		this.numericNames = new String[numeric.size()];
+		this.slots = new HashMap<>((categorical.size() + numeric.size()) * 2);
+
+		for (int i = 0; i < categorical.size(); i++) {
+			categoricalNames[i] = categorical.get(i).name();
+			categories[i] = categorical.get(i).categories().toArray();
+			normalisedCategories[i] = Arrays.stream(categories[i])
+					.map(value -> value instanceof Number number ? (Object) number.doubleValue() : value)
+					.toArray();
+			slots.put(categoricalNames[i], i);
+		}
+		for (int i = 0; i < numeric.size(); i++) {
+			numericNames[i] = numeric.get(i).name();
+			// Numeric slots follow the categorical ones, offset so a single map serves both.
+			slots.put(numericNames[i], categoricalNames.length + i);
+		}
+	}
+
+	public static FeatureSchema from(PortableModel model) {
+		return new FeatureSchema(model);
+	}
+
+	public String modelVersion() {
+		return modelVersion;
+	}
+
+	public List<String> featureColumns() {
+		return featureColumns;
+	}
+
+	public int categoricalCount() {
+		return categoricalNames.length;
+	}
+
+	public int numericCount() {
+		return numericNames.length;
+	}
+
+	String categoricalName(int index) {
+		return categoricalNames[index];
+	}
+
+	int categoryCount(int index) {
+		return categories[index].length;
+	}
+
+	Object category(int index, int category) {
+		return categories[index][category];
+	}
+
+	String numericName(int index) {
+		return numericNames[index];
+	}
+
+	/**
+	 * Validates {@code snapshot} and compiles it into the fixed layout.
+	 *
+	 * @throws IllegalArgumentException listing every problem found
+	 */
+	public FeatureVector compile(Map<String, ?> snapshot, boolean strict) {
+		int[] categoryIndexes = new int[categoricalNames.length];
+		Arrays.fill(categoryIndexes, FeatureVector.MISSING);
+		double[] numericValues = new double[numericNames.length];
+		Arrays.fill(numericValues, Double.NaN);
+		List<String> errors = new ArrayList<>();
+
+		if (snapshot != null) {
+			for (Map.Entry<String, ?> entry : snapshot.entrySet()) {
+				Integer slot = slots.get(entry.getKey());
+				Object value = entry.getValue();
+				if (slot == null) {
+					if (strict) {
+						errors.add("unknown feature '%s'".formatted(entry.getKey()));
+					}
+				}
+				else if (slot < categoricalNames.length) {
+					int index = categoryIndex(slot, value);
+					if (index == FeatureVector.MISSING && value != null && strict) {
+						errors.add("%s must be one of %s but was '%s'".formatted(categoricalNames[slot],
+								Arrays.toString(categories[slot]), value));
+					}
+					categoryIndexes[slot] = index;
+				}
+				else {
+					int numericSlot = slot - categoricalNames.length;
+					double parsed = toDouble(value);
+					if (Double.isNaN(parsed) && value != null || Double.isInfinite(parsed)) {
+						errors.add("%s must be numeric but was '%s'".formatted(numericNames[numericSlot], value));
+					}
+					numericValues[numericSlot] = parsed;
+				}
+			}
+		}
+
+		if (!errors.isEmpty()) {
+			throw new IllegalArgumentException("Invalid feature snapshot: " + String.join("; ", errors));
+		}
+		return new FeatureVector(this, categoryIndexes, numericValues);
+	}
+
+	private int categoryIndex(int slot, Object value) {
+		if (value == null) {
+			return FeatureVector.MISSING;
+		}
+		Object[] candidates = normalisedCategories[slot];
+		for (int i = 0; i < candidates.length; i++) {
+			if (matches(candidates[i], value)) {
+				return i;
+			}
+		}
+		return FeatureVector.MISSING;
+	}
+
+	private static boolean matches(Object category, Object value) {
+		if (category instanceof Double number) {
+			if (value instanceof Boolean flag) {
+				return number == (flag ? 1.0 : 0.0);
+			}
+			return value instanceof Number candidate && candidate.doubleValue() == number;
+		}
+		return category.equals(value);
+	}
+
+	private static double toDouble(Object value) {
+		if (value == null) {
+			return Double.NaN;
+		}
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		if (value instanceof Boolean flag) {
+			return flag ? 1.0 : 0.0;
+		}
+		try {
+			return Double.parseDouble(value.toString().trim());
+		}
+		catch (NumberFormatException ex) {
+			return Double.NaN;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.ethicalbanking.gateway.scoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the portable model artifact exported by {@code modeling/train_model.py} once and exposes its feature
+ * schema, so request snapshots are validated against the trained model's {@code feature_columns}.
+ * <p>
+ * {@code ai-service.feature-schema.validation} selects {@code strict} (reject unknown features, unknown
+ * categories and mistyped values), {@code lenient} (the Python pipeline's rules) or {@code off}. Without an
+ * artifact, snapshots pass through uncompiled.
+ */
+@Component
+public class FeatureSchemaRegistry {
+
+	private static final Logger log = LoggerFactory.getLogger(FeatureSchemaRegistry.class);
+
+	private enum Validation {
+		STRICT, LENIENT, OFF
+	}
+
+	private final PortableModel model;
+	private final FeatureSchema schema;
+	private final Validation validation;
+
+	public FeatureSchemaRegistry(ResourceLoader resourceLoader,
+			ObjectMapper objectMapper,
+			@Value("${ai-service.native-scoring.artifact:classpath:model/model.portable.json}") String artifactLocation,
+			@Value("${ai-service.feature-schema.validation:strict}") String validation) {
+		this.model = load(resourceLoader.getResource(artifactLocation), objectMapper);
+		this.schema = model != null ? FeatureSchema.from(model) : null;
+		this.validation = Validation.valueOf(validation.trim().toUpperCase(Locale.ROOT));
+		if (schema != null) {
+			log.info("Feature schema for model {}: {} features, {} validation", schema.modelVersion(),
+					schema.featureColumns().size(), this.validation.name().toLowerCase(Locale.ROOT));
+		}
+	}
+
+	public Optional<PortableModel> model() {
+		return Optional.ofNullable(model);
+	}
+
+	public Optional<FeatureSchema> schema() {
+		return Optional.ofNullable(schema);
+	}
+
+	/**
+	 * Compiles {@code snapshot} against the current schema, or returns {@code null} when there is no schema or
+	 * validation is off.
+	 *
+	 * @throws IllegalArgumentException when the snapshot violates the schema
+	 */
+	public FeatureVector compile(Map<String, ?> snapshot) {
+		if (schema == null || validation == Validation.OFF) {
+			return null;
+		}
+		return schema.compile(snapshot, validation == Validation.STRICT);
+	}
+
+	private static PortableModel load(Resource artifact, ObjectMapper objectMapper) {
+		if (!artifact.exists()) {
+			log.warn("Portable model {} not found; feature snapshots will not be validated and explanations will "
+					+ "be requested from the AI backend.", artifact);
+			return null;
+		}
+		try (InputStream input = artifact.getInputStream()) {
+			return objectMapper.readValue(input, PortableModel.class);
+		}
+		catch (IOException ex) {
+			log.warn("Portable model {} could not be read; feature snapshots will not be validated and "
+					+ "explanations will be requested from the AI backend.", artifact, ex);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.ethicalbanking.gateway.scoring;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A feature snapshot compiled against a {@link FeatureSchema}: one category index per categorical feature
+ * ({@link #MISSING} when absent or unknown) and one double per numeric feature ({@code NaN} when absent).
+ */
+public final class FeatureVector {
+
+	public static final int MISSING = -1;
+
+	private final FeatureSchema schema;
+	private final int[] categoryIndexes;
+	private final double[] numericValues;
+
+	FeatureVector(FeatureSchema schema, int[] categoryIndexes, double[] numericValues) {
+		this.schema = schema;
+		this.categoryIndexes = categoryIndexes;
+		this.numericValues = numericValues;
+	}
+
+	public FeatureSchema schema() {
+		return schema;
+	}
+
+	int categoryIndex(int feature) {
+		return categoryIndexes[feature];
+	}
+
+	double numericValue(int feature) {
+		return numericValues[feature];
+	}
+
+	/**
+	 * Canonical snapshot in {@code feature_columns} order with the values the model learnt; absent features and
+	 * unknown categories are left out, which the Python pipeline treats exactly like the original input.
+	 */
+	public Map<String, Object> toPayload() {
+		Map<String, Object> payload = new LinkedHashMap<>(schema.featureColumns().size() * 2);
+		for (String column : schema.featureColumns()) {
+			payload.put(column, null);
+		}
+		for (int i = 0; i < categoryIndexes.length; i++) {
+			if (categoryIndexes[i] != MISSING) {
+				payload.put(schema.categoricalName(i), schema.category(i, categoryIndexes[i]));
+			}
+		}
+		for (int i = 0; i < numericValues.length; i++) {
+			if (!Double.isNaN(numericValues[i])) {
+				payload.put(schema.numericName(i), numericValues[i]);
+			}
+		}
+		payload.values().removeIf(value -> value == null);
+		return Collections.unmodifiableMap(payload);
+	}
+
+	/**
+	 * SHA-256 over the model version, the category indexes and the numeric values rounded to multiples of
+	 * {@code quantum}, so snapshots that only differ in key order, number formatting or noise below the quantum
+	 * share a fingerprint.
+	 */
+	public String fingerprint(double quantum) {
+		ByteBuffer canonical = ByteBuffer.allocate(Integer.BYTES * categoryIndexes.length
+				+ Long.BYTES * numericValues.length);
+		for (int index : categoryIndexes) {
+			canonical.putInt(index);
+		}
+		for (double value : numericValues) {
+			canonical.putLong(Double.isNaN(value) ? Long.MIN_VALUE : Math.round(value / quantum));
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(schema.modelVersion().getBytes(StandardCharsets.UTF_8));
+			digest.update(canonical.array());
+			return HexFormat.of().formatHex(digest.digest());
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+}
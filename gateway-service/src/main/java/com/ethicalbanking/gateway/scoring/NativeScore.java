@@ -0,0 +1,14 @@
+package com.ethicalbanking.gateway.scoring;
+
+import java.util.Map;
+
+/**
+ * Output of {@link NativeScoringEngine}; {@code shapValues} keeps the top contributions ordered by magnitude.
+ */
+public record NativeScore(
+		String decision,
+		double probability,
+		double baseValue,
+		Map<String, Double> shapValues,
+		String modelVersion) {
+}
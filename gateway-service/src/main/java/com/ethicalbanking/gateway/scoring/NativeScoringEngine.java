@@ -0,0 +1,141 @@
+package com.ethicalbanking.gateway.scoring;
+
+import com.ethicalbanking.gateway.scoring.PortableModel.NumericFeature;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the exported logistic pipeline in-process.
+ * <p>
+ * Mirrors the Python path step for step: most-frequent imputation never fires for categorical inputs that
+ * arrive as JSON (a missing value is {@code None}, which sklearn does not treat as missing), so missing and
+ * unknown categories both encode to all zeros; numeric inputs fall back to the training median, then get
+ * standardised. Interventional linear SHAP is {@code coef * (x - backgroundMean)}, and the decision follows
+ * {@code LogisticRegression.predict}, i.e. approved only when the margin is strictly positive.
+ */
+public final class NativeScoringEngine {
+
+	private static final String APPROVED = "Approved";
+	private static final String REJECTED = "Rejected";
+
+	private final String modelVersion;
+	private final FeatureSchema schema;
+	private final double[] medians;
+	private final double[] means;
+	private final double[] scales;
+	private final String[] displayNames;
+	private final double[] coefficients;
+	private final double[] backgroundMean;
+	private final double intercept;
+	private final double baseValue;
+
+	public NativeScoringEngine(PortableModel model) {
+		if (model.formatVersion() != PortableModel.SUPPORTED_FORMAT_VERSION) {
+			throw new IllegalArgumentException("Unsupported portable model format %d (expected %d)"
+					.formatted(model.formatVersion(), PortableModel.SUPPORTED_FORMAT_VERSION));
+		}
+		this.modelVersion = model.modelVersion();
+		this.schema = FeatureSchema.from(model);
+
+		int width = 0;
+		for (int i = 0; i < schema.categoricalCount(); i++) {
+			width += schema.categoryCount(i);
+		}
+
+		List<NumericFeature> numeric = model.numeric();
+		this.medians = new double[numeric.size()];
+		this.means = new double[numeric.size()];
+		this.scales = new double[numeric.size()];
+		for (int i = 0; i < numeric.size(); i++) {
+			NumericFeature feature = numeric.get(i);
+			medians[i] = feature.median();
+			means[i] = feature.mean();
+			scales[i] = feature.scale();
+		}
+		width += numeric.size();
+
+		this.displayNames = model.displayNames().toArray(String[]::new);
+		this.coefficients = model.coefficients().clone();
+		this.backgroundMean = model.backgroundMean().clone();
+		if (displayNames.length != width || coefficients.length != width || backgroundMean.length != width) {
+			throw new IllegalArgumentException(
+					"Portable model is inconsistent: %d encoded features but %d names, %d coefficients, %d means"
+							.formatted(width, displayNames.length, coefficients.length, backgroundMean.length));
+		}
+		this.intercept = model.intercept();
+		this.baseValue = model.baseValue();
+	}
+
+	public String modelVersion() {
+		return modelVersion;
+	}
+
+	/**
+	 * Scores a raw snapshot with the Python pipeline's leniency (extra keys ignored, unknown categories encoded
+	 * as zeros).
+	 */
+	public NativeScore score(Map<String, Object> payload, int topN) {
+		return score(schema.compile(payload, false), topN);
+	}
+
+	public NativeScore score(FeatureVector features, int topN) {
+		if (!modelVersion.equals(features.schema().modelVersion())) {
+			throw new IllegalArgumentException("Feature vector was compiled for model %s, not %s"
+					.formatted(features.schema().modelVersion(), modelVersion));
+		}
+		double[] contributions = new double[coefficients.length];
+		double margin = intercept;
+		int column = 0;
+
+		for (int i = 0; i < schema.categoricalCount(); i++) {
+			int hot = features.categoryIndex(i);
+			int categoryCount = schema.categoryCount(i);
+			for (int category = 0; category < categoryCount; category++) {
+				double encoded = category == hot ? 1.0 : 0.0;
+				margin += coefficients[column] * encoded;
+				contributions[column] = coefficients[column] * (encoded - backgroundMean[column]);
+				column++;
+			}
+		}
+
+		for (int i = 0; i < medians.length; i++) {
+			double raw = features.numericValue(i);
+			double scaled = ((Double.isNaN(raw) ? medians[i] : raw) - means[i]) / scales[i];
+			margin += coefficients[column] * scaled;
+			contributions[column] = coefficients[column] * (scaled - backgroundMean[column]);
+			column++;
+		}
+
+		double probability = 1.0 / (1.0 + Math.exp(-margin));
+		return new NativeScore(margin > 0 ? APPROVED : REJECTED, probability, baseValue,
+				topContributions(contributions, topN), modelVersion);
+	}
+
+	private Map<String, Double> topContributions(double[] contributions, int topN) {
+		int limit = topN > 0 ? Math.min(topN, contributions.length) : contributions.length;
+		int[] top = new int[limit];
+		int size = 0;
+		// Insertion into a small ordered window; strict comparison keeps the earlier feature on ties, like
+		// Python's stable sort with reverse=True.
+		for (int index = 0; index < contributions.length; index++) {
+			double magnitude = Math.abs(contributions[index]);
+			if (size == limit && magnitude <= Math.abs(contributions[top[size - 1]])) {
+				continue;
+			}
+			int position = size < limit ? size++ : limit - 1;
+			while (position > 0 && magnitude > Math.abs(contributions[top[position - 1]])) {
+				top[position] = top[position - 1];
+				position--;
+			}
+			top[position] = index;
+		}
+
+		Map<String, Double> result = new LinkedHashMap<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			result.put(displayNames[top[i]], contributions[top[i]]);
+		}
+		return Collections.unmodifiableMap(result);
+	}
+}
@@ -0,0 +1,32 @@
+package com.ethicalbanking.gateway.scoring;
+
+import java.util.List;
+
+/**
+ * JSON form of the AI service's logistic pipeline as written by {@code modeling/train_model.py}.
+ * <p>
+ * Output features are ordered as {@code ColumnTransformer.get_feature_names_out()}: every one-hot column of
+ * {@link #categorical()} in order, then every column of {@link #numeric()}.
+ */
+public record PortableModel(
+		int formatVersion,
+		String modelVersion,
+		List<String> featureColumns,
+		List<CategoricalFeature> categorical,
+		List<NumericFeature> numeric,
+		List<String> outputFeatures,
+		List<String> displayNames,
+		double[] coefficients,
+		double intercept,
+		double[] backgroundMean,
+		double baseValue) {
+
+	public static final int SUPPORTED_FORMAT_VERSION = 1;
+
+	/** Categories are strings or numbers exactly as the encoder learnt them. */
+	public record CategoricalFeature(String name, List<Object> categories) {
+	}
+
+	public record NumericFeature(String name, double median, double mean, double scale) {
+	}
+}
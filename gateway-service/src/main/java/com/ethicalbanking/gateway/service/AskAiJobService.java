@@ -0,0 +1,256 @@
+package com.ethicalbanking.gateway.service;
+
+import com.ethicalbanking.gateway.client.ExternalServiceException;
+import com.ethicalbanking.gateway.domain.askai.AskAiJob;
+import com.ethicalbanking.gateway.domain.askai.AskAiJobStatus;
+import com.ethicalbanking.gateway.dto.AskAiJobResponse;
+import com.ethicalbanking.gateway.dto.AskAiJobSubmission;
+import com.ethicalbanking.gateway.dto.AskAiRequest;
+import com.ethicalbanking.gateway.dto.AskAiResponse;
+import com.ethicalbanking.gateway.repository.AskAiJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Durable Ask AI job queue backed by the {@code ask_ai_jobs} table.
+ * <p>
+ * Submissions are inserted as {@code QUEUED} rows. A poller claims at most as many rows as there are free
+ * worker permits and runs them through {@link AskAiService#processQueuedQuestion}; transient failures
+ * (downstream errors, exhausted budgets) are requeued until {@code ask-ai.jobs.max-attempts}, each time held back
+ * for an exponentially growing delay from {@code ask-ai.jobs.retry-backoff-ms}, and rows left
+ * {@code RUNNING} by a worker that died are recovered after {@code ask-ai.jobs.stale-after-minutes}. Finished
+ * jobs are kept for {@code ask-ai.jobs.ttl-hours} and then purged.
+ */
+@Service
+public class AskAiJobService {
+
+	private static final Logger log = LoggerFactory.getLogger(AskAiJobService.class);
+	private static final TypeReference<Map<String, Object>> FEATURE_SNAPSHOT_TYPE = new TypeReference<>() {
+	};
+	private static final int MAX_ERROR_LENGTH = 1024;
+
+	private final AskAiJobRepository askAiJobRepository;
+	private final AskAiService askAiService;
+	private final ObjectMapper objectMapper;
+	private final Executor jobExecutor;
+	private final Semaphore workerPermits;
+	private final int maxBatchSize;
+	private final int maxAttempts;
+	private final Duration jobBudget;
+	private final Duration staleAfter;
+	private final Duration ttl;
+	private final Duration retryBackoff;
+	private final Duration maxRetryBackoff;
+
+	public AskAiJobService(AskAiJobRepository askAiJobRepository,
+			AskAiService askAiService,
+			ObjectMapper objectMapper,
+			@Qualifier("askAiJobExecutor") Executor jobExecutor,
+			@Value("${ask-ai.jobs.concurrency:4}") int concurrency,
+			@Value("${ask-ai.jobs.max-batch-size:5000}") int maxBatchSize,
+			@Value("${ask-ai.jobs.max-attempts:3}") int maxAttempts,
+			@Value("${ask-ai.jobs.budget-ms:90000}") long jobBudgetMs,
+			@Value("${ask-ai.jobs.stale-after-minutes:5}") long staleAfterMinutes,
+			@Value("${ask-ai.jobs.ttl-hours:24}") long ttlHours,
+			@Value("${ask-ai.jobs.retry-backoff-ms:5000}") long retryBackoffMs,
+			@Value("${ask-ai.jobs.max-retry-backoff-ms:300000}") long maxRetryBackoffMs) {
+		this.askAiJobRepository = askAiJobRepository;
+		this.askAiService = askAiService;
+		this.objectMapper = objectMapper;
+		this.jobExecutor = jobExecutor;
+		this.workerPermits = new Semaphore(Math.max(1, concurrency));
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.jobBudget = Duration.ofMillis(Math.max(1, jobBudgetMs));
+		this.staleAfter = Duration.ofMinutes(Math.max(1, staleAfterMinutes));
+		this.ttl = Duration.ofHours(Math.max(1, ttlHours));
+		this.retryBackoff = Duration.ofMillis(Math.max(0, retryBackoffMs));
+		this.maxRetryBackoff = Duration.ofMillis(Math.max(retryBackoffMs, maxRetryBackoffMs));
+	}
+
+	@Transactional
+	public AskAiJobSubmission submit(List<AskAiRequest> questions) {
+		if (questions.size() > maxBatchSize) {
+			throw new IllegalArgumentException(
+					"A batch may contain at most %d questions (got %d)".formatted(maxBatchSize, questions.size()));
+		}
+		String batchId = UUID.randomUUID().toString();
+		List<AskAiJob> jobs = new ArrayList<>(questions.size());
+		for (AskAiRequest question : questions) {
+			AskAiJob job = new AskAiJob();
+			job.setBatchId(batchId);
+			job.setUserExternalId(question.getUserId());
+			job.setQuestion(question.getQuestion());
+			job.setFeatureSnapshot(writeJson(question.getFeatureVector() != null
+					? question.getFeatureVector().toPayload()
+					: question.getFeatureSnapshot() != null ? question.getFeatureSnapshot() : Map.of()));
+			jobs.add(job);
+		}
+		askAiJobRepository.saveAll(jobs);
+		log.info("Queued Ask AI batch {} with {} questions", batchId, jobs.size());
+		return new AskAiJobSubmission(batchId, jobs.size(), jobs.stream().map(AskAiJob::getId).toList(),
+				Instant.now());
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<AskAiJobResponse> find(String jobId) {
+		return askAiJobRepository.findById(jobId).map(this::toResponse);
+	}
+
+	/**
+	 * Claims queued jobs up to the number of idle workers and hands them to the job executor.
+	 */
+	@Scheduled(fixedDelayString = "${ask-ai.jobs.poll-interval-ms:500}")
+	public void dispatch() {
+		int idle = workerPermits.availablePermits();
+		if (idle == 0) {
+			return;
+		}
+		List<String> candidates = askAiJobRepository.findReadyIds(AskAiJobStatus.QUEUED, Instant.now(),
+				PageRequest.of(0, idle));
+		for (String jobId : candidates) {
+			if (!workerPermits.tryAcquire()) {
+				return;
+			}
+			if (askAiJobRepository.claim(jobId, Instant.now(), AskAiJobStatus.QUEUED, AskAiJobStatus.RUNNING) == 0) {
+				workerPermits.release();
+				continue;
+			}
+			try {
+				jobExecutor.execute(() -> {
+					try {
+						run(jobId);
+					}
+					finally {
+						workerPermits.release();
+					}
+				});
+			}
+			catch (RejectedExecutionException ex) {
+				// Back to the queue straight away and without spending an attempt; the next poll retries it
+				workerPermits.release();
+				askAiJobRepository.unclaim(jobId, AskAiJobStatus.QUEUED, AskAiJobStatus.RUNNING);
+				log.warn("Ask AI job executor rejected job {}; returned it to the queue", jobId);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Requeues (or fails, once attempts are exhausted) jobs stuck in {@code RUNNING} and purges expired results.
+	 */
+	@Scheduled(fixedDelayString = "${ask-ai.jobs.maintenance-interval-ms:60000}")
+	public void maintain() {
+		Instant now = Instant.now();
+		Instant cutoff = now.minus(staleAfter.plus(jobBudget));
+		int requeued = askAiJobRepository.requeueStale(cutoff, maxAttempts, AskAiJobStatus.QUEUED,
+				AskAiJobStatus.RUNNING);
+		int failed = askAiJobRepository.failStale(cutoff, maxAttempts, "Job did not finish after %d attempts"
+				.formatted(maxAttempts), now, now.plus(ttl), AskAiJobStatus.RUNNING, AskAiJobStatus.FAILED);
+		int purged = askAiJobRepository.deleteExpired(now);
+		if (requeued + failed + purged > 0) {
+			log.info("Ask AI job maintenance: {} requeued, {} failed as stale, {} expired results purged",
+					requeued, failed, purged);
+		}
+	}
+
+	private void run(String jobId) {
+		AskAiJob job = askAiJobRepository.findById(jobId).orElse(null);
+		if (job == null) {
+			return;
+		}
+		AskAiRequest request = new AskAiRequest();
+		request.setUserId(job.getUserExternalId());
+		request.setQuestion(job.getQuestion());
+		try {
+			request.setFeatureSnapshot(objectMapper.readValue(job.getFeatureSnapshot(), FEATURE_SNAPSHOT_TYPE));
+			AskAiResponse response = askAiService.processQueuedQuestion(request, jobBudget);
+			job.setResult(writeJson(response));
+			finish(job, AskAiJobStatus.COMPLETED, null);
+		}
+		catch (ExternalServiceException | DeadlineExceededException ex) {
+			if (job.getAttempts() < maxAttempts) {
+				Duration backoff = retryBackoff(job.getAttempts());
+				log.warn("Ask AI job {} attempt {} failed transiently, retrying in {} ms: {}", jobId,
+						job.getAttempts(), backoff.toMillis(), ex.getMessage());
+				job.setStatus(AskAiJobStatus.QUEUED);
+				job.setNotBefore(Instant.now().plus(backoff));
+				job.setError(truncate(ex.getMessage()));
+				askAiJobRepository.save(job);
+			}
+			else {
+				finish(job, AskAiJobStatus.FAILED, ex.getMessage());
+			}
+		}
+		catch (JsonProcessingException | RuntimeException ex) {
+			log.warn("Ask AI job {} failed: {}", jobId, ex.getMessage());
+			finish(job, AskAiJobStatus.FAILED, ex.getMessage());
+		}
+	}
+
+	/** {@code retry-backoff-ms} after the first attempt, doubling per attempt up to {@code max-retry-backoff-ms}. */
+	Duration retryBackoff(int attempts) {
+		Duration backoff = retryBackoff.multipliedBy(1L << Math.min(Math.max(0, attempts - 1), 20));
+		return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+	}
+
+	private void finish(AskAiJob job, AskAiJobStatus status, String error) {
+		Instant now = Instant.now();
+		job.setStatus(status);
+		job.setError(truncate(error));
+		job.setCompletedAt(now);
+		job.setExpiresAt(now.plus(ttl));
+		askAiJobRepository.save(job);
+		log.debug("Ask AI job {} finished as {}", job.getId(), status);
+	}
+
+	private AskAiJobResponse toResponse(AskAiJob job) {
+		AskAiResponse result = null;
+		if (job.getResult() != null) {
+			try {
+				result = objectMapper.readValue(job.getResult(), AskAiResponse.class);
+			}
+			catch (JsonProcessingException ex) {
+				log.error("Stored result for Ask AI job {} is unreadable", job.getId(), ex);
+			}
+		}
+		return new AskAiJobResponse(job.getId(), job.getBatchId(), job.getUserExternalId(), job.getStatus().name(),
+				job.getAttempts(), result, job.getError(), job.getCreatedAt(), job.getStartedAt(),
+				job.getCompletedAt(), job.getExpiresAt());
+	}
+
+	private String writeJson(Object value) {
+		try {
+			return objectMapper.writeValueAsString(value);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Ask AI job payload could not be serialized", ex);
+		}
+	}
+
+	private static String truncate(String message) {
+		if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+			return message;
+		}
+		return message.substring(0, MAX_ERROR_LENGTH);
+	}
+}
@@ -1,51 +1,158 @@
 package com.ethicalbanking.gateway.service;
 
-import com.ethicalbanking.gateway.client.AiInsightsClient;
+import com.ethicalbanking.gateway.client.LlmRequestScheduler.Priority;
 import com.ethicalbanking.gateway.dto.AskAiRequest;
 import com.ethicalbanking.gateway.dto.AskAiResponse;
+import com.ethicalbanking.gateway.dto.ExplainResponse;
+import com.ethicalbanking.gateway.jfr.AskAiStageEvent;
+import com.ethicalbanking.gateway.scoring.FeatureSchemaRegistry;
+import com.ethicalbanking.gateway.scoring.FeatureVector;
+import com.ethicalbanking.gateway.dto.ExplanationJobResponse;
+import com.ethicalbanking.gateway.service.ExplanationService.ScoredExplanation;
+import com.ethicalbanking.gateway.service.HuggingFaceService.PreparedPrompt;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AskAiService {
 
 	private static final Logger log = LoggerFactory.getLogger(AskAiService.class);
+	private static final String STAGE_TIMER = "ask-ai.stage";
 
 	private final ConsentService consentService;
-	private final AiInsightsClient aiInsightsClient;
+	private final ExplanationService explanationService;
 	private final HuggingFaceService huggingFaceService;
+	private final FairGuardService fairGuardService;
+	private final ExplanationJobService explanationJobService;
+	private final FeatureSchemaRegistry featureSchemaRegistry;
+	private final Executor askAiExecutor;
+	private final MeterRegistry meterRegistry;
+	private final boolean asyncEnrichment;
+	private final Duration defaultBudget;
+	private final Duration maximumBudget;
 
 	public AskAiService(ConsentService consentService,
-			AiInsightsClient aiInsightsClient,
-			HuggingFaceService huggingFaceService) {
+			ExplanationService explanationService,
+			HuggingFaceService huggingFaceService,
+			FairGuardService fairGuardService,
+			ExplanationJobService explanationJobService,
+			FeatureSchemaRegistry featureSchemaRegistry,
+			@Qualifier("askAiExecutor") Executor askAiExecutor,
+			MeterRegistry meterRegistry,
+			@Value("${ask-ai.async-enrichment:true}") boolean asyncEnrichment,
+			@Value("${ask-ai.latency-budget-ms:8000}") long defaultBudgetMs,
+			@Value("${ask-ai.max-latency-budget-ms:30000}") long maximumBudgetMs) {
 		this.consentService = consentService;
-		this.aiInsightsClient = aiInsightsClient;
+		this.explanationService = explanationService;
 		this.huggingFaceService = huggingFaceService;
+		this.fairGuardService = fairGuardService;
+		this.explanationJobService = explanationJobService;
+		this.featureSchemaRegistry = featureSchemaRegistry;
+		this.askAiExecutor = askAiExecutor;
+		this.meterRegistry = meterRegistry;
+		this.asyncEnrichment = asyncEnrichment;
+		this.defaultBudget = Duration.ofMillis(defaultBudgetMs);
+		this.maximumBudget = Duration.ofMillis(Math.max(defaultBudgetMs, maximumBudgetMs));
 	}
 
-	@SuppressWarnings("unchecked")
 	public AskAiResponse processQuestion(AskAiRequest request) {
+		return processQuestion(request, null);
+	}
+
+	/**
+	 * Runs the consent check and scoring concurrently and prepares the LLM prompt as soon as SHAP values arrive.
+	 * Scoring is speculative: it is cancelled if consent fails, and the decision only reaches FairGuard after
+	 * consent has been confirmed.
+	 * <p>
+	 * All stages share one latency budget ({@code requestedBudget}, capped by configuration, or the configured
+	 * default): consent and scoring fail with {@link DeadlineExceededException} once it is spent.
+	 * <p>
+	 * With {@code ask-ai.async-enrichment} (the default) the answer carries a SHAP-based template explanation
+	 * and the handle of a background job producing the LLM explanation. Otherwise the LLM is called inline within
+	 * the remaining budget and degrades to the template when it cannot make it.
+	 * <p>
+	 * Each stage is timed as {@code ask-ai.stage}, tagged with the stage, the LLM priority and the outcome, and
+	 * emitted as an {@link AskAiStageEvent} for Flight Recorder.
+	 */
+	public AskAiResponse processQuestion(AskAiRequest request, Duration requestedBudget) {
+		return process(request, resolveBudget(requestedBudget), asyncEnrichment, Priority.INTERACTIVE);
+	}
+
+	/**
+	 * Same pipeline for a queued batch job: the LLM explanation is always produced inline, at background
+	 * priority, within {@code budget} (not capped by the interactive maximum).
+	 */
+	public AskAiResponse processQueuedQuestion(AskAiRequest request, Duration budget) {
+		return process(request, budget, false, Priority.BACKGROUND);
+	}
+
+	private AskAiResponse process(AskAiRequest request, Duration budget, boolean enrichInBackground,
+			Priority llmPriority) {
 		AskAiRequest safeRequest = Objects.requireNonNull(request, "Ask AI request must not be null");
-		if (!consentService.hasValidConsent(safeRequest.getUserId(), safeRequest.getQuestion())) {
+		RequestDeadline deadline = RequestDeadline.after(budget);
+		Map<String, Object> featureSnapshot = safeRequest.getFeatureSnapshot() != null ? safeRequest.getFeatureSnapshot()
+				: Map.of();
+		log.debug("Scoring Ask AI request for user {} with {} features", safeRequest.getUserId(),
+				featureSnapshot.size());
+
+		FeatureVector features = safeRequest.getFeatureVector() != null ? safeRequest.getFeatureVector()
+				: featureSchemaRegistry.compile(featureSnapshot);
+
+		String userId = safeRequest.getUserId();
+		Stage consentStage = startStage("consent", llmPriority, userId);
+		CompletableFuture<Boolean> consent = CompletableFuture.supplyAsync(
+				() -> consentService.hasValidConsent(userId, safeRequest.getQuestion()),
+				askAiExecutor);
+		consent.whenComplete((granted, ex) -> finishStage(consentStage,
+				ex == null && !Boolean.TRUE.equals(granted) ? "denied" : outcomeOf(ex)));
+		Stage scoringStage = startStage("scoring", llmPriority, userId);
+		CompletableFuture<ScoredExplanation> scored = explanationService.scoreAsync(featureSnapshot, features,
+				deadline.remaining());
+		scored.whenComplete((explanation, ex) -> finishStage(scoringStage, outcomeOf(ex)));
+		CompletableFuture<PreparedPrompt> prompt = scored.thenApply(explanation -> timed("prompt", llmPriority,
+				userId, () -> huggingFaceService.preparePrompt(decisionOf(explanation.response()),
+						new LinkedHashMap<>(explanation.response().shapValues()))));
+		consent.whenComplete((granted, ex) -> {
+			if (ex != null || !Boolean.TRUE.equals(granted)) {
+				scored.cancel(true);
+			}
+		});
+
+		if (!await(consent, deadline, "consent check")) {
 			log.warn("Consent check failed for user {}", safeRequest.getUserId());
 			throw new IllegalStateException(
 					"Consent verification failed for user %s".formatted(safeRequest.getUserId()));
 		}
 
-		Map<String, Object> featureSnapshot = safeRequest.getFeatureSnapshot() != null ? safeRequest.getFeatureSnapshot()
-				: Map.of();
-		log.debug("Forwarding Ask AI request for user {} with {} features", safeRequest.getUserId(),
-				featureSnapshot.size());
-
-		Map<String, Object> aiResponse = aiInsightsClient.requestExplanation(featureSnapshot);
+		ScoredExplanation scoredExplanation = await(scored, deadline, "scoring");
+		checkpoint(deadline, "guardrails");
+		ExplainResponse aiResponse = timed("guardrails", llmPriority, userId,
+				() -> explanationService.applyGuardrails(featureSnapshot, scoredExplanation));
 
 		AskAiResponse response = new AskAiResponse();
-		response.setShapValues((Map<String, Object>) aiResponse.getOrDefault("shap_values", Map.of()));
-		response.setDecisionSummary((String) aiResponse.getOrDefault("decision", "undetermined"));
-		Map<String, Object> fairGuardStatus = (Map<String, Object>) aiResponse.getOrDefault("fairguard", Map.of());
+		response.setShapValues(new LinkedHashMap<>(aiResponse.shapValues()));
+		response.setDecisionSummary(decisionOf(aiResponse));
+		// Both the backend and the gateway monitor report the last published guardrail state, never a fresh one.
+		Map<String, Object> fairGuardStatus = aiResponse.fairguard();
+		if (fairGuardStatus.isEmpty()) {
+			fairGuardStatus = fairGuardService.currentStatus();
+		}
 		if (Boolean.TRUE.equals(fairGuardStatus.get("circuitBreakerActive"))) {
 			String reason = (String) fairGuardStatus.getOrDefault("reason", "Bias guardrail triggered.");
 			log.warn("FairGuardAI circuit breaker active for user {}: {}", safeRequest.getUserId(), reason);
@@ -53,11 +160,104 @@ public class AskAiService {
 					"FairGuardAI intercepted this decision: %s".formatted(reason));
 		}
 		response.setFairGuard(fairGuardStatus);
-		response.setExplanation(
-				huggingFaceService.craftExplanation(response.getDecisionSummary(), response.getShapValues()));
-		log.info("Completed Ask AI request for user {} with decision {}", safeRequest.getUserId(),
-				response.getDecisionSummary());
+		PreparedPrompt preparedPrompt = await(prompt, deadline, "prompt preparation");
+		if (enrichInBackground) {
+			ExplanationJobResponse job = timed("explanation", llmPriority, userId,
+					() -> explanationJobService.submit(safeRequest.getUserId(), preparedPrompt));
+			response.setExplanation(job.explanation());
+			response.setExplanationJobId(job.jobId());
+			response.setExplanationStatus(job.status());
+		}
+		else {
+			checkpoint(deadline, "explanation");
+			response.setExplanation(timed("explanation", llmPriority, userId,
+					() -> huggingFaceService.complete(preparedPrompt, deadline.remaining(), llmPriority)));
+		}
+		log.info("Completed Ask AI request for user {} with decision {} ({} ms of {} ms budget left)",
+				safeRequest.getUserId(), response.getDecisionSummary(), deadline.remaining().toMillis(),
+				deadline.budget().toMillis());
 		return response;
 	}
-}
 
+	private <T> T timed(String name, Priority priority, String userId, Supplier<T> work) {
+		Stage stage = startStage(name, priority, userId);
+		String outcome = "error";
+		try {
+			T result = work.get();
+			outcome = "success";
+			return result;
+		}
+		finally {
+			finishStage(stage, outcome);
+		}
+	}
+
+	private Stage startStage(String name, Priority priority, String userId) {
+		String priorityTag = priority.name().toLowerCase();
+		return new Stage(name, priorityTag, System.nanoTime(), AskAiStageEvent.begin(name, userId, priorityTag));
+	}
+
+	private void finishStage(Stage stage, String outcome) {
+		meterRegistry.timer(STAGE_TIMER, "stage", stage.name(), "priority", stage.priority(), "outcome", outcome)
+				.record(System.nanoTime() - stage.startNanos(), TimeUnit.NANOSECONDS);
+		stage.event().finish(outcome);
+	}
+
+	private static String outcomeOf(Throwable failure) {
+		if (failure == null) {
+			return "success";
+		}
+		Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+				? failure.getCause() : failure;
+		return cause instanceof CancellationException ? "cancelled" : "error";
+	}
+
+	private static String decisionOf(ExplainResponse explanation) {
+		return Objects.requireNonNullElse(explanation.decision(), "undetermined");
+	}
+
+	private Duration resolveBudget(Duration requestedBudget) {
+		if (requestedBudget == null) {
+			return defaultBudget;
+		}
+		if (requestedBudget.isNegative() || requestedBudget.isZero()) {
+			throw new IllegalArgumentException("Latency budget must be positive");
+		}
+		return requestedBudget.compareTo(maximumBudget) > 0 ? maximumBudget : requestedBudget;
+	}
+
+	/** Fails fast rather than starting {@code stage} with nothing left of the budget. */
+	private static void checkpoint(RequestDeadline deadline, String stage) {
+		if (deadline.isExpired()) {
+			throw new DeadlineExceededException(stage,
+					"Ask AI %s could not start within the %d ms latency budget".formatted(stage,
+							deadline.budget().toMillis()));
+		}
+	}
+
+	private static <T> T await(CompletableFuture<T> future, RequestDeadline deadline, String stage) {
+		try {
+			return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			future.cancel(true);
+			throw new DeadlineExceededException(stage,
+					"Ask AI %s did not finish within the %d ms latency budget".formatted(stage,
+							deadline.budget().toMillis()));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			throw new IllegalStateException("Ask AI request was interrupted", ex);
+		}
+		catch (ExecutionException | CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("Ask AI stage failed", ex.getCause());
+		}
+	}
+
+	private record Stage(String name, String priority, long startNanos, AskAiStageEvent event) {
+	}
+}
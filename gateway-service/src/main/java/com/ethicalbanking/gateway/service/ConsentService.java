@@ -3,6 +3,9 @@ package com.ethicalbanking.gateway.service;
 import com.ethicalbanking.gateway.domain.consent.UserConsent;
 import com.ethicalbanking.gateway.dto.TrustVaultConsentRequest;
 import com.ethicalbanking.gateway.repository.UserConsentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,10 +19,18 @@ public class ConsentService {
 
 	private final UserConsentRepository consentRepository;
 	private final HashService hashService;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Timer> checkTimers;
 
-	public ConsentService(UserConsentRepository consentRepository, HashService hashService) {
+	public ConsentService(UserConsentRepository consentRepository, HashService hashService,
+			MeterRegistry meterRegistry) {
 		this.consentRepository = consentRepository;
 		this.hashService = hashService;
+		this.meterRegistry = meterRegistry;
+		this.checkTimers = Map.of(
+				"granted", checkTimer(meterRegistry, "granted"),
+				"denied", checkTimer(meterRegistry, "denied"),
+				"error", checkTimer(meterRegistry, "error"));
 	}
 
 	@Transactional
@@ -36,11 +47,26 @@ public class ConsentService {
 	}
 
 	public boolean hasValidConsent(String userId, String payload) {
-		boolean hasConsent = consentRepository.findTopByUserExternalIdOrderByRecordedAtDesc(userId)
-				.map(UserConsent::getConsentHash)
-				.map(stored -> stored.equals(hashService.sha256(payload)))
-				.orElse(false);
-		log.debug("Consent validation for user {} => {}", userId, hasConsent);
-		return hasConsent;
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String result = "error";
+		try {
+			boolean hasConsent = consentRepository.findTopByUserExternalIdOrderByRecordedAtDesc(userId)
+					.map(UserConsent::getConsentHash)
+					.map(stored -> stored.equals(hashService.sha256(payload)))
+					.orElse(false);
+			log.debug("Consent validation for user {} => {}", userId, hasConsent);
+			result = hasConsent ? "granted" : "denied";
+			return hasConsent;
+		}
+		finally {
+			sample.stop(checkTimers.get(result));
+		}
+	}
+
+	private static Timer checkTimer(MeterRegistry meterRegistry, String result) {
+		return Timer.builder("consent.check")
+				.description("TrustVault consent lookups and hash comparisons")
+				.tag("result", result)
+				.register(meterRegistry);
 	}
 }
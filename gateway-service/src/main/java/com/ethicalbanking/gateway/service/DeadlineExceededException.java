@@ -0,0 +1,15 @@
+package com.ethicalbanking.gateway.service;
+
+public class DeadlineExceededException extends RuntimeException {
+
+	private final String stage;
+
+	public DeadlineExceededException(String stage, String message) {
+		super(message);
+		this.stage = stage;
+	}
+
+	public String getStage() {
+		return stage;
+	}
+}
@@ -0,0 +1,150 @@
+package com.ethicalbanking.gateway.service;
+
+import com.ethicalbanking.gateway.domain.user.UserType;
+import com.ethicalbanking.gateway.dto.DecisionExportRow;
+import com.ethicalbanking.gateway.repository.UserProfileRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams the regulator export (customers plus their latest decision) straight from a database cursor to the
+ * response, so heap use is bounded by the fetch size and the write buffer rather than the customer count.
+ */
+@Service
+public class DecisionExportService {
+
+	public static final int BUFFER_SIZE = 8 * 1024;
+
+	private static final Logger log = LoggerFactory.getLogger(DecisionExportService.class);
+	private static final String[] CSV_HEADER = {
+			"userId", "fullName", "segment", "creditScore", "netMonthlyIncome",
+			"productType", "requestedAmount", "decision", "decisionDate", "rationale" };
+
+	private final UserProfileRepository userProfileRepository;
+	private final ObjectMapper objectMapper;
+
+	public DecisionExportService(UserProfileRepository userProfileRepository, ObjectMapper objectMapper) {
+		this.userProfileRepository = userProfileRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(readOnly = true)
+	public long exportLatestDecisions(ExportFormat format, OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+		long rows;
+		try (Stream<DecisionExportRow> stream = userProfileRepository.streamLatestDecisions(UserType.CUSTOMER)) {
+			rows = switch (format) {
+				case CSV -> writeCsv(stream.iterator(), writer);
+				case NDJSON -> writeNdjson(stream.iterator(), writer);
+			};
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		writer.flush();
+		log.info("Exported {} customer decisions as {}", rows, format);
+		return rows;
+	}
+
+	private long writeCsv(Iterator<DecisionExportRow> rows, Writer writer) throws IOException {
+		writeCsvLine(writer, (Object[]) CSV_HEADER);
+		long count = 0;
+		while (rows.hasNext()) {
+			DecisionExportRow row = rows.next();
+			writeCsvLine(writer, row.userId(), row.fullName(), row.segment(), row.creditScore(),
+					row.netMonthlyIncome(), row.productType(), row.requestedAmount(), row.decision(),
+					row.decisionDate(), row.rationale());
+			count++;
+		}
+		return count;
+	}
+
+	private long writeNdjson(Iterator<DecisionExportRow> rows, Writer writer) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+		generator.setRootValueSeparator(null);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		long count = 0;
+		try (generator) {
+			while (rows.hasNext()) {
+				generator.writeObject(rows.next());
+				generator.writeRaw('\n');
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void writeCsvLine(Writer writer, Object... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeCsvValue(writer, values[i]);
+		}
+		writer.write("\r\n");
+	}
+
+	private void writeCsvValue(Writer writer, Object value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		String text = value.toString();
+		boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+				|| text.indexOf('\r') >= 0;
+		if (!quote) {
+			writer.write(text);
+			return;
+		}
+		writer.write('"');
+		writer.write(text.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	public enum ExportFormat {
+
+		CSV("text/csv", "csv"),
+		NDJSON("application/x-ndjson", "ndjson");
+
+		private final String contentType;
+		private final String extension;
+
+		ExportFormat(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String contentType() {
+			return contentType;
+		}
+
+		public String extension() {
+			return extension;
+		}
+
+		public static ExportFormat from(String value) {
+			if (value == null || value.isBlank()) {
+				return CSV;
+			}
+			try {
+				return valueOf(value.trim().toUpperCase(Locale.ROOT));
+			}
+			catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException("Unsupported export format '%s'; use csv or ndjson".formatted(value));
+			}
+		}
+	}
+}
@@ -5,6 +5,7 @@ import com.ethicalbanking.gateway.domain.user.UserProfile;
 import com.ethicalbanking.gateway.dto.DecisionDriver;
 import com.ethicalbanking.gateway.dto.DecisionInsightResponse;
 import com.ethicalbanking.gateway.dto.DecisionInsightResponse.DecisionSummary;
+import com.ethicalbanking.gateway.jfr.DecisionStageEvent;
 import com.ethicalbanking.gateway.repository.LoanApplicationRepository;
 import com.ethicalbanking.gateway.repository.UserProfileRepository;
 import java.math.BigDecimal;
@@ -33,21 +34,34 @@ public class DecisionService {
 		this.loanApplicationRepository = loanApplicationRepository;
 	}
 
+	/**
+	 * Each stage (profile load, history load, scoring, counterfactual) is emitted as a {@link DecisionStageEvent}
+	 * for Flight Recorder.
+	 */
 	public Optional<DecisionInsightResponse> buildInsightForUser(String userId) {
+		DecisionStageEvent profileLoad = DecisionStageEvent.begin("profile-load", userId);
 		Optional<UserProfile> userProfile = userProfileRepository.findByExternalId(userId);
+		profileLoad.finish();
 		if (userProfile.isEmpty()) {
 			log.warn("Unable to build decision insight for non-existent user {}", userId);
 			return Optional.empty();
 		}
 
+		DecisionStageEvent historyLoad = DecisionStageEvent.begin("history-load", userId);
 		List<LoanApplication> history = loanApplicationRepository.findByUser_ExternalIdOrderByDecisionDateDesc(userId);
+		historyLoad.finish();
 		if (history.isEmpty()) {
 			log.warn("User {} does not have any loan applications recorded", userId);
 			return Optional.empty();
 		}
 
-		LoanApplication latestDecision = history.get(0);
+		return Optional.of(buildInsight(userProfile.get(), history.get(0)));
+	}
 
+	/**
+	 * Scores and formats the insight for an already loaded profile and its latest decision; no repository access.
+	 */
+	public DecisionInsightResponse buildInsight(UserProfile profile, LoanApplication latestDecision) {
 		DecisionSummary summary = new DecisionSummary(
 				latestDecision.getProductType(),
 				latestDecision.getRequestedAmount(),
@@ -55,17 +69,20 @@ public class DecisionService {
 				latestDecision.getDecisionDate(),
 				latestDecision.getRationale());
 
-		UserProfile profile = userProfile.get();
+		DecisionStageEvent scoring = DecisionStageEvent.begin("scoring", profile.getExternalId());
 		List<DecisionDriver> drivers = buildDrivers(profile, latestDecision);
+		scoring.finish();
+		DecisionStageEvent counterfactualStage = DecisionStageEvent.begin("counterfactual", profile.getExternalId());
 		String counterfactual = buildCounterfactual(profile, summary, drivers);
+		counterfactualStage.finish();
 
-		return Optional.of(new DecisionInsightResponse(
+		return new DecisionInsightResponse(
 				profile.getExternalId(),
 				profile.getFullName(),
 				profile.getSegment(),
 				summary,
 				drivers,
-				counterfactual));
+				counterfactual);
 	}
 
 	private List<DecisionDriver> buildDrivers(UserProfile profile, LoanApplication loan) {
@@ -0,0 +1,112 @@
+package com.ethicalbanking.gateway.service;
+
+import com.ethicalbanking.gateway.dto.ExplainResponse;
+import com.ethicalbanking.gateway.scoring.FeatureVector;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memoizes AI backend explanations (decision, probability, SHAP values, base value) by the fingerprint of the
+ * compiled feature vector, which includes the version of the local feature schema.
+ * <p>
+ * The cached values come from the backend, whose model can be retrained independently of the gateway's portable
+ * artifact, so every entry must carry the backend's {@code model_version}. The most recent version the backend
+ * reported, on any response or health check, is the only one served: a new version drops the whole cache, and a
+ * hit from another version is discarded. Responses without a version are not cached.
+ * <p>
+ * Bounded by {@code ai-service.explain-cache.max-size} with Caffeine's frequency-aware eviction and expired
+ * after {@code ttl-minutes}. FairGuard status is never stored: a hit is reported to FairGuard like a fresh
+ * decision, so the circuit breaker always sees the current window.
+ */
+@Component
+public class ExplainResultCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ExplainResultCache.class);
+
+	private final boolean enabled;
+	private final double quantum;
+	private final Cache<String, ExplainResponse> cache;
+	private volatile String backendModelVersion;
+
+	public ExplainResultCache(MeterRegistry meterRegistry,
+			@Value("${ai-service.explain-cache.enabled:true}") boolean enabled,
+			@Value("${ai-service.explain-cache.max-size:10000}") long maxSize,
+			@Value("${ai-service.explain-cache.ttl-minutes:60}") long ttlMinutes,
+			@Value("${ai-service.explain-cache.quantum:0.0001}") double quantum) {
+		if (!(quantum > 0)) {
+			throw new IllegalArgumentException("ai-service.explain-cache.quantum must be positive");
+		}
+		this.enabled = enabled;
+		this.quantum = quantum;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(Math.max(1, maxSize))
+				.expireAfterWrite(Duration.ofMinutes(Math.max(1, ttlMinutes)))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "ask-ai.explain-results");
+	}
+
+	/** Cache key for {@code features}, or empty when caching is disabled or the snapshot was not compiled. */
+	public Optional<String> keyFor(FeatureVector features) {
+		if (!enabled || features == null) {
+			return Optional.empty();
+		}
+		return Optional.of(features.fingerprint(quantum));
+	}
+
+	public boolean isEmpty() {
+		return cache.estimatedSize() == 0;
+	}
+
+	public Optional<ExplainResponse> get(String key) {
+		ExplainResponse cached = cache.getIfPresent(key);
+		if (cached != null && !cached.modelVersion().equals(backendModelVersion)) {
+			cache.invalidate(key);
+			return Optional.empty();
+		}
+		return Optional.ofNullable(cached);
+	}
+
+	public void put(String key, ExplainResponse response) {
+		if (response.decision() == null || response.probability() == null || response.modelVersion() == null) {
+			return;
+		}
+		observeModelVersion(response.modelVersion());
+		Map<String, Double> shapValues = Collections.unmodifiableMap(new LinkedHashMap<>(response.shapValues()));
+		cache.put(key, new ExplainResponse(response.decision(), response.probability(), shapValues,
+				response.baseValue(), response.modelVersion(), null));
+	}
+
+	/**
+	 * Records the model version the backend currently serves, dropping every cached explanation when it changed.
+	 */
+	public void observeModelVersion(String modelVersion) {
+		if (modelVersion == null || modelVersion.equals(backendModelVersion)) {
+			return;
+		}
+		String previous;
+		synchronized (this) {
+			previous = backendModelVersion;
+			if (Objects.equals(previous, modelVersion)) {
+				return;
+			}
+			backendModelVersion = modelVersion;
+			cache.invalidateAll();
+		}
+		if (previous != null) {
+			log.info("AI backend model changed from {} to {}; cleared cached explanations", previous, modelVersion);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package com.ethicalbanking.gateway.service;
+
+import com.ethicalbanking.gateway.client.LlmRequestScheduler.Priority;
+import com.ethicalbanking.gateway.dto.ExplanationJobResponse;
+import com.ethicalbanking.gateway.service.HuggingFaceService.PreparedPrompt;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Generates LLM explanations in the background for Ask AI answers that were already returned with a template
+ * explanation, and hands the result to pollers and SSE subscribers.
+ * <p>
+ * Jobs live in memory until {@code ask-ai.explanation-jobs.ttl-minutes} after creation, and at most
+ * {@code ask-ai.explanation-jobs.max-size} are kept; Caffeine expires and evicts them as part of normal cache
+ * maintenance rather than on the submit path.
+ * <p>
+ * A job is only visible to the user it was submitted for: when the caller is authenticated, reads for another
+ * user's job look exactly like reads for an unknown id.
+ */
+@Service
+public class ExplanationJobService {
+
+	public static final String EVENT_NAME = "explanation";
+
+	private static final Logger log = LoggerFactory.getLogger(ExplanationJobService.class);
+
+	private final HuggingFaceService huggingFaceService;
+	private final Executor enrichmentExecutor;
+	private final Duration llmTimeout;
+	private final Cache<String, ExplanationJob> jobs;
+
+	public ExplanationJobService(HuggingFaceService huggingFaceService,
+			@Qualifier("explanationEnrichmentExecutor") Executor enrichmentExecutor,
+			@Value("${huggingface.timeout-seconds:45}") long llmTimeoutSeconds,
+			@Value("${ask-ai.explanation-jobs.ttl-minutes:15}") long ttlMinutes,
+			@Value("${ask-ai.explanation-jobs.max-size:10000}") long maxSize) {
+		this.huggingFaceService = huggingFaceService;
+		this.enrichmentExecutor = enrichmentExecutor;
+		this.llmTimeout = Duration.ofSeconds(Math.max(1, llmTimeoutSeconds));
+		this.jobs = Caffeine.newBuilder()
+				.maximumSize(Math.max(1, maxSize))
+				.expireAfterWrite(Duration.ofMinutes(Math.max(1, ttlMinutes)))
+				.build();
+	}
+
+	/**
+	 * Registers a job seeded with the interim template explanation and starts the LLM call for it.
+	 */
+	public ExplanationJobResponse submit(String userId, PreparedPrompt prompt) {
+		ExplanationJob job = new ExplanationJob(UUID.randomUUID().toString(), userId,
+				huggingFaceService.interimExplanation(prompt));
+		jobs.put(job.id, job);
+		try {
+			enrichmentExecutor.execute(() -> enrich(job, prompt));
+		}
+		catch (RejectedExecutionException ex) {
+			log.warn("Explanation enrichment queue is full; keeping the template answer for job {}", job.id);
+			job.finish(JobStatus.FAILED, fallbackOrInterim(job, prompt));
+		}
+		return job.view();
+	}
+
+	/**
+	 * The job, if it exists and belongs to {@code callerUserId}; a {@code null} caller (no session) is not checked.
+	 */
+	public Optional<ExplanationJobResponse> find(String jobId, String callerUserId) {
+		return owned(jobId, callerUserId).map(ExplanationJob::view);
+	}
+
+	/**
+	 * Streams the job's final state as a single {@value #EVENT_NAME} event, immediately if it is already done.
+	 * Ownership is checked as in {@link #find(String, String)}.
+	 */
+	public Optional<SseEmitter> subscribe(String jobId, String callerUserId) {
+		return owned(jobId, callerUserId).map(job -> {
+			SseEmitter emitter = new SseEmitter(llmTimeout.plusSeconds(5).toMillis());
+			job.subscribe(emitter);
+			return emitter;
+		});
+	}
+
+	private Optional<ExplanationJob> owned(String jobId, String callerUserId) {
+		ExplanationJob job = jobs.getIfPresent(jobId);
+		if (job != null && callerUserId != null && !callerUserId.equals(job.userId)) {
+			log.warn("User {} asked for explanation job {} of another user", callerUserId, jobId);
+			return Optional.empty();
+		}
+		return Optional.ofNullable(job);
+	}
+
+	private void enrich(ExplanationJob job, PreparedPrompt prompt) {
+		JobStatus finalStatus;
+		String finalExplanation;
+		try {
+			Optional<String> generated = huggingFaceService.generate(prompt, llmTimeout, Priority.INTERACTIVE);
+			finalStatus = generated.isPresent() ? JobStatus.COMPLETED : JobStatus.FAILED;
+			finalExplanation = generated.orElseGet(() -> huggingFaceService.fallbackExplanation(prompt));
+		}
+		catch (RuntimeException ex) {
+			// Subscribers are waiting on finish(); a job left PENDING would only end when their emitters time out
+			log.error("Explanation job {} failed; keeping the template answer", job.id, ex);
+			finalStatus = JobStatus.FAILED;
+			finalExplanation = fallbackOrInterim(job, prompt);
+		}
+		job.finish(finalStatus, finalExplanation);
+		log.debug("Explanation job {} for user {} finished as {}", job.id, job.userId, finalStatus);
+	}
+
+	private String fallbackOrInterim(ExplanationJob job, PreparedPrompt prompt) {
+		try {
+			return huggingFaceService.fallbackExplanation(prompt);
+		}
+		catch (RuntimeException ex) {
+			log.warn("Fallback explanation for job {} failed too", job.id, ex);
+			return job.view().explanation();
+		}
+	}
+
+	public enum JobStatus {
+		PENDING, COMPLETED, FAILED
+	}
+
+	private static final class ExplanationJob {
+
+		private final String id;
+		private final String userId;
+		private final Instant createdAt = Instant.now();
+		private final List<SseEmitter> subscribers = new ArrayList<>();
+		private JobStatus status = JobStatus.PENDING;
+		private String explanation;
+		private Instant completedAt;
+
+		private ExplanationJob(String id, String userId, String explanation) {
+			this.id = id;
+			this.userId = userId;
+			this.explanation = explanation;
+		}
+
+		private synchronized ExplanationJobResponse view() {
+			return new ExplanationJobResponse(id, status.name(), explanation, createdAt, completedAt);
+		}
+
+		private void subscribe(SseEmitter emitter) {
+			synchronized (this) {
+				if (status == JobStatus.PENDING) {
+					subscribers.add(emitter);
+					emitter.onCompletion(() -> unsubscribe(emitter));
+					emitter.onTimeout(() -> unsubscribe(emitter));
+					return;
+				}
+			}
+			publish(List.of(emitter), view());
+		}
+
+		private synchronized void unsubscribe(SseEmitter emitter) {
+			subscribers.remove(emitter);
+		}
+
+		private void finish(JobStatus finalStatus, String finalExplanation) {
+			List<SseEmitter> waiting;
+			synchronized (this) {
+				status = finalStatus;
+				explanation = finalExplanation;
+				completedAt = Instant.now();
+				waiting = List.copyOf(subscribers);
+				subscribers.clear();
+			}
+			publish(waiting, view());
+		}
+
+		private static void publish(List<SseEmitter> emitters, ExplanationJobResponse view) {
+			for (SseEmitter emitter : emitters) {
+				try {
+					emitter.send(SseEmitter.event().name(EVENT_NAME).data(view, MediaType.APPLICATION_JSON));
+					emitter.complete();
+				}
+				catch (IOException | IllegalStateException ex) {
+					emitter.completeWithError(ex);
+				}
+			}
+		}
+	}
+}
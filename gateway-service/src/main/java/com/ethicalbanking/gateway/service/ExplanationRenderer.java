@@ -0,0 +1,99 @@
+package com.ethicalbanking.gateway.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Renders Ask AI explanations to HTML in the gateway, so the LLM only has to return a few short JSON fields.
+ * <p>
+ * Every explanation shares the same layout: a summary paragraph, a table of SHAP drivers with an inline bar
+ * chart, optional next steps and a footnote. Only the text comes from the model; markup never does.
+ */
+@Component
+public class ExplanationRenderer {
+
+	private static final String POSITIVE_COLOUR = "#059669";
+	private static final String NEGATIVE_COLOUR = "#dc2626";
+
+	public String render(String decision, Map<String, Object> shapValues, LlmExplanation llm, String note) {
+		StringBuilder html = new StringBuilder(1024);
+		String summary = llm != null && hasText(llm.summary())
+				? llm.summary()
+				: defaultSummary(decision, shapValues);
+		html.append("<p>").append(escape(summary)).append("</p>");
+
+		if (!shapValues.isEmpty()) {
+			double maxMagnitude = shapValues.values().stream()
+					.mapToDouble(value -> Math.abs(toDouble(value)))
+					.max()
+					.orElse(0.0);
+			html.append("<table><thead><tr><th>Factor</th><th>Effect</th><th>Impact</th></tr></thead><tbody>");
+			shapValues.forEach((feature, value) -> appendFactorRow(html, feature, toDouble(value), maxMagnitude,
+					llm != null ? llm.reasonFor(feature) : null));
+			html.append("</tbody></table>");
+		}
+
+		if (llm != null && !llm.nextSteps().isEmpty()) {
+			html.append("<p><strong>What you can do next</strong></p><ul>");
+			llm.nextSteps().forEach(step -> html.append("<li>").append(escape(step)).append("</li>"));
+			html.append("</ul>");
+		}
+		if (hasText(note)) {
+			html.append("<p><em>").append(escape(note)).append("</em></p>");
+		}
+		return html.toString();
+	}
+
+	/** Last resort when the model ignored the JSON contract: show its text verbatim, escaped. */
+	public String renderPlainText(String decision, Map<String, Object> shapValues, String text) {
+		return render(decision, shapValues, new LlmExplanation(text, Map.of(), List.of()), null);
+	}
+
+	private void appendFactorRow(StringBuilder html, String feature, double weight, double maxMagnitude,
+			String reason) {
+		int width = maxMagnitude > 0 ? (int) Math.round(100 * Math.abs(weight) / maxMagnitude) : 0;
+		html.append("<tr><td>").append(escape(feature));
+		if (hasText(reason)) {
+			html.append("<br><small>").append(escape(reason)).append("</small>");
+		}
+		html.append("</td><td>")
+				.append(weight >= 0 ? "Supported approval" : "Weighed against approval")
+				.append("</td><td><div style=\"display:flex;align-items:center;gap:6px\">")
+				.append("<div style=\"height:8px;border-radius:4px;width:").append(Math.max(width, 2))
+				.append("px;max-width:100px;background:").append(weight >= 0 ? POSITIVE_COLOUR : NEGATIVE_COLOUR)
+				.append("\"></div><span>").append(String.format(Locale.ROOT, "%+.3f", weight))
+				.append("</span></div></td></tr>");
+	}
+
+	private String defaultSummary(String decision, Map<String, Object> shapValues) {
+		String base = "The model's decision was %s.".formatted(decision);
+		return shapValues.isEmpty()
+				? base + " No feature contributions were available for this decision."
+				: base + " These factors influenced it the most:";
+	}
+
+	private static double toDouble(Object value) {
+		return value instanceof Number number ? number.doubleValue() : 0.0;
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isBlank();
+	}
+
+	private static String escape(String value) {
+		return HtmlUtils.htmlEscape(value);
+	}
+
+	/**
+	 * Structured answer the compact prompt asks the LLM for.
+	 */
+	public record LlmExplanation(String summary, Map<String, String> reasons, List<String> nextSteps) {
+
+		public String reasonFor(String feature) {
+			return reasons.get(feature);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.ethicalbanking.gateway.service;
+
+import com.ethicalbanking.gateway.client.AiInsightsClient;
+import com.ethicalbanking.gateway.client.ExternalServiceException;
+import com.ethicalbanking.gateway.dto.ExplainResponse;
+import com.ethicalbanking.gateway.scoring.FeatureSchemaRegistry;
+import com.ethicalbanking.gateway.scoring.FeatureVector;
+import com.ethicalbanking.gateway.scoring.NativeScore;
+import com.ethicalbanking.gateway.scoring.NativeScoringEngine;
+import com.ethicalbanking.gateway.scoring.PortableModel;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Produces decision + SHAP explanations, scoring the linear model in-process when the portable artifact is
+ * available and falling back to the AI backend's {@code /explain} otherwise.
+ * <p>
+ * Scoring and guardrail recording are separate steps so callers can score speculatively and only report the
+ * decision to FairGuard once the request is known to proceed.
+ */
+@Service
+public class ExplanationService {
+
+	private static final Logger log = LoggerFactory.getLogger(ExplanationService.class);
+	private static final int TOP_CONTRIBUTIONS = 6;
+	private static final Duration MODEL_VERSION_TIMEOUT = Duration.ofSeconds(2);
+
+	private final AiInsightsClient aiInsightsClient;
+	private final FairGuardService fairGuardService;
+	private final NativeScoringEngine scoringEngine;
+	private final ExplainResultCache resultCache;
+
+	public ExplanationService(AiInsightsClient aiInsightsClient,
+			FairGuardService fairGuardService,
+			ExplainResultCache resultCache,
+			FeatureSchemaRegistry featureSchemaRegistry,
+			@Value("${ai-service.native-scoring.enabled:true}") boolean nativeScoringEnabled) {
+		this.aiInsightsClient = aiInsightsClient;
+		this.fairGuardService = fairGuardService;
+		this.resultCache = resultCache;
+		this.scoringEngine = nativeScoringEnabled
+				? featureSchemaRegistry.model().map(ExplanationService::createEngine).orElse(null)
+				: null;
+	}
+
+	public boolean isNativeScoringActive() {
+		return scoringEngine != null;
+	}
+
+	/**
+	 * Scores without touching FairGuard. The remote call is bounded by {@code timeout} and its future can be
+	 * cancelled, which aborts the HTTP exchange.
+	 * <p>
+	 * {@code features} is the snapshot compiled at request decode time, or {@code null} when no schema applies;
+	 * when present the native engine reads it directly, the backend receives its canonical payload and backend
+	 * results are memoized by its fingerprint.
+	 */
+	public CompletableFuture<ScoredExplanation> scoreAsync(Map<String, Object> featureSnapshot,
+			FeatureVector features, Duration timeout) {
+		Map<String, Object> safeSnapshot = featureSnapshot != null ? featureSnapshot : Map.of();
+		if (scoringEngine == null) {
+			return scoreRemotely(safeSnapshot, features, timeout);
+		}
+
+		NativeScore score;
+		try {
+			score = features != null ? scoringEngine.score(features, TOP_CONTRIBUTIONS)
+					: scoringEngine.score(safeSnapshot, TOP_CONTRIBUTIONS);
+		}
+		catch (IllegalArgumentException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+		catch (RuntimeException ex) {
+			log.warn("Native scoring failed; falling back to the AI backend", ex);
+			return scoreRemotely(safeSnapshot, features, timeout);
+		}
+
+		ExplainResponse response = new ExplainResponse(score.decision(), score.probability(), score.shapValues(),
+				score.baseValue(), score.modelVersion(), null);
+		return CompletableFuture.completedFuture(new ScoredExplanation(response, Source.NATIVE));
+	}
+
+	/**
+	 * Reports the decision to the FairGuard monitor that has not seen it yet and attaches its status under
+	 * {@code fairguard}.
+	 */
+	public ExplainResponse applyGuardrails(Map<String, Object> featureSnapshot, ScoredExplanation scored) {
+		ExplainResponse response = scored.response();
+		// The backend's /explain already fed its own monitor; only the gateway monitor still needs the event.
+		if (scored.source() == Source.REMOTE && !fairGuardService.isLocal()) {
+			return response;
+		}
+		if (response.decision() == null || response.probability() == null) {
+			return response;
+		}
+		return response.withFairguard(fairGuardService.recordDecision(featureSnapshot, response.decision(),
+				response.probability(), response.shapValues()));
+	}
+
+	/**
+	 * Asks the AI backend which model it serves so a retrain invalidates cached explanations even while every
+	 * request is a cache hit and no fresh response would reveal the new version.
+	 */
+	@Scheduled(fixedDelayString = "${ai-service.explain-cache.version-check-interval-ms:30000}")
+	public void refreshBackendModelVersion() {
+		if (resultCache.isEmpty()) {
+			return;
+		}
+		try {
+			aiInsightsClient.fetchModelVersion(MODEL_VERSION_TIMEOUT).blockOptional()
+					.flatMap(version -> version)
+					.ifPresent(resultCache::observeModelVersion);
+		}
+		catch (ExternalServiceException ex) {
+			log.debug("Could not check the AI backend's model version: {}", ex.getMessage());
+		}
+	}
+
+	private CompletableFuture<ScoredExplanation> scoreRemotely(Map<String, Object> featureSnapshot,
+			FeatureVector features, Duration timeout) {
+		Optional<String> cacheKey = resultCache.keyFor(features);
+		Optional<ExplainResponse> cached = cacheKey.flatMap(resultCache::get);
+		if (cached.isPresent()) {
+			log.debug("Serving explanation for model {} from the result cache", cached.get().modelVersion());
+			return CompletableFuture.completedFuture(new ScoredExplanation(cached.get(), Source.CACHE));
+		}
+		// Map inside the Mono so the returned future is the subscription itself and cancelling it disposes the exchange
+		return aiInsightsClient.explain(features != null ? features.toPayload() : featureSnapshot, timeout)
+				.map(response -> {
+					cacheKey.ifPresent(key -> resultCache.put(key, response));
+					return new ScoredExplanation(response, Source.REMOTE);
+				})
+				.toFuture();
+	}
+
+	private static NativeScoringEngine createEngine(PortableModel model) {
+		try {
+			NativeScoringEngine engine = new NativeScoringEngine(model);
+			log.info("Native scoring enabled with model version {}", engine.modelVersion());
+			return engine;
+		}
+		catch (IllegalArgumentException ex) {
+			log.warn("Portable model {} is not usable; explanations will be requested from the AI backend.",
+					model.modelVersion(), ex);
+			return null;
+		}
+	}
+
+	/** Where a score came from; only {@code REMOTE} decisions have already been seen by the backend's FairGuard. */
+	public enum Source {
+		NATIVE, REMOTE, CACHE
+	}
+
+	public record ScoredExplanation(ExplainResponse response, Source source) {
+	}
+}
@@ -1,14 +1,34 @@
 package com.ethicalbanking.gateway.service;
 
+import com.ethicalbanking.gateway.client.ExternalServiceException;
 import com.ethicalbanking.gateway.client.FairGuardClient;
 import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
+import com.ethicalbanking.gateway.fairguard.FairGuardMonitor;
+import com.ethicalbanking.gateway.jfr.FairGuardRefreshEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+/**
+ * FairGuard entry point for the gateway.
+ * <p>
+ * In {@code local} mode (the default) decisions feed the in-process {@link FairGuardMonitor} and summaries are
+ * read from it directly; {@code remote} mode keeps delegating to the AI backend's monitor.
+ */
 @Service
 public class FairGuardService {
 
@@ -16,18 +36,65 @@ public class FairGuardService {
 	private static final Duration CACHE_TTL = Duration.ofSeconds(15);
 
 	private final FairGuardClient client;
+	private final FairGuardMonitor monitor;
 	private final ReentrantLock lock = new ReentrantLock();
 
+	private final AtomicReference<Map<String, Object>> latestDecisionStatus = new AtomicReference<>(Map.of());
+	private final Semaphore eventPermits;
+	private final Duration eventTimeout;
+
 	private FairGuardSummaryResponse cachedSummary;
 	private Instant cacheExpiry = Instant.EPOCH;
 
-	public FairGuardService(FairGuardClient client) {
+	private final Counter cacheHits;
+	private final Counter cacheMisses;
+	private final Timer refreshSuccess;
+	private final Timer refreshFailure;
+	private final Counter eventsDropped;
+
+	public FairGuardService(FairGuardClient client,
+			MeterRegistry meterRegistry,
+			@Value("${fairguard.mode:local}") String mode,
+			@Value("${fairguard.protected-attributes:GENDER,MARITALSTATUS,EDUCATION}") List<String> protectedAttributes,
+			@Value("${fairguard.parity-threshold:0.15}") double parityThreshold,
+			@Value("${fairguard.drift-threshold:0.2}") double driftThreshold,
+			@Value("${fairguard.window-size:200}") int windowSize,
+			@Value("${fairguard.min-samples:5}") int minSamples,
+			@Value("${fairguard.remote-events.max-in-flight:32}") int maxEventsInFlight,
+			@Value("${fairguard.remote-events.timeout-ms:2000}") long eventTimeoutMs) {
 		this.client = client;
+		this.monitor = switch (mode.trim().toLowerCase(Locale.ROOT)) {
+			case "local" -> new FairGuardMonitor(protectedAttributes, parityThreshold, driftThreshold, windowSize,
+					minSamples);
+			case "remote" -> null;
+			default -> throw new IllegalArgumentException(
+					"Unsupported fairguard.mode '%s' (expected local or remote)".formatted(mode));
+		};
+		log.info("FairGuard running in {} mode", monitor != null ? "local" : "remote");
+
+		this.cacheHits = cacheCounter(meterRegistry, "hit");
+		this.cacheMisses = cacheCounter(meterRegistry, "miss");
+		this.refreshSuccess = refreshTimer(meterRegistry, "success");
+		this.refreshFailure = refreshTimer(meterRegistry, "error");
+		this.eventPermits = new Semaphore(Math.max(1, maxEventsInFlight));
+		this.eventTimeout = Duration.ofMillis(eventTimeoutMs);
+		this.eventsDropped = Counter.builder("fairguard.events.dropped")
+				.description("Natively scored decisions not forwarded because too many were already in flight")
+				.register(meterRegistry);
+	}
+
+	public boolean isLocal() {
+		return monitor != null;
 	}
 
 	public FairGuardSummaryResponse fetchSummary() {
+		if (monitor != null) {
+			return monitor.summary();
+		}
+
 		Instant now = Instant.now();
 		if (cachedSummary != null && cacheExpiry.isAfter(now)) {
+			cacheHits.increment();
 			return cachedSummary;
 		}
 
@@ -35,10 +102,23 @@ public class FairGuardService {
 		try {
 			now = Instant.now();
 			if (cachedSummary != null && cacheExpiry.isAfter(now)) {
+				cacheHits.increment();
 				return cachedSummary;
 			}
 
-			cachedSummary = client.fetchSummary();
+			cacheMisses.increment();
+			long refreshStart = System.nanoTime();
+			FairGuardRefreshEvent event = FairGuardRefreshEvent.begin("summary");
+			try {
+				cachedSummary = client.fetchSummary();
+			}
+			catch (RuntimeException ex) {
+				refreshFailure.record(System.nanoTime() - refreshStart, TimeUnit.NANOSECONDS);
+				event.finish("error");
+				throw ex;
+			}
+			refreshSuccess.record(System.nanoTime() - refreshStart, TimeUnit.NANOSECONDS);
+			event.finish("success");
 			cacheExpiry = now.plus(CACHE_TTL);
 			log.debug("FairGuard summary refreshed at {}", cachedSummary.generatedAt());
 			return cachedSummary;
@@ -49,17 +129,98 @@ public class FairGuardService {
 	}
 
 	public FairGuardSummaryResponse triggerSimulation() {
+		if (monitor != null) {
+			return monitor.seedSimulationData();
+		}
+
 		lock.lock();
+		FairGuardRefreshEvent event = FairGuardRefreshEvent.begin("simulation");
+		String outcome = "error";
 		try {
 			// Trigger simulation and update cache immediately
 			cachedSummary = client.triggerSimulation();
+			outcome = "success";
 			cacheExpiry = Instant.now().plus(CACHE_TTL);
 			return cachedSummary;
 		} finally {
+			event.finish(outcome);
 			lock.unlock();
 		}
 	}
 
+	/**
+	 * Records a decision the AI backend's monitor has not seen and returns the resulting guardrail status.
+	 * <p>
+	 * In remote mode the event is forwarded without waiting and the circuit-breaker state the backend last
+	 * published is returned instead; the backend applies events in batches off its request path anyway, so the
+	 * guardrails are always evaluated over the window as it stood a moment ago. At most
+	 * {@code fairguard.remote-events.max-in-flight} events are outstanding at once, each bounded by
+	 * {@code fairguard.remote-events.timeout-ms}; past that, events are dropped and counted rather than letting a
+	 * slow backend pile up requests.
+	 */
+	public Map<String, Object> recordDecision(Map<String, Object> payload, String decision, double probability,
+			Map<String, ? extends Number> shapValues) {
+		if (monitor != null) {
+			return monitor.recordEvent(payload, decision, probability, shapValues);
+		}
+
+		Map<String, Object> event = Map.of(
+				"payload", payload,
+				"decision", decision,
+				"probability", probability,
+				"shap_values", shapValues);
+		if (!eventPermits.tryAcquire()) {
+			eventsDropped.increment();
+			log.debug("FairGuard event dropped; too many are already in flight");
+			return currentStatus();
+		}
+		Mono.defer(() -> client.recordEvent(event))
+				.timeout(eventTimeout)
+				.doFinally(signal -> eventPermits.release())
+				.subscribe(latestDecisionStatus::set,
+						ex -> log.warn("FairGuard did not acknowledge a natively scored decision: {}", ex.getMessage()));
+		return currentStatus();
+	}
+
+	/**
+	 * Last published circuit-breaker state, from the local monitor or the AI backend.
+	 */
+	public Map<String, Object> currentStatus() {
+		if (monitor != null) {
+			return monitor.status();
+		}
+		Map<String, Object> latest = latestDecisionStatus.get();
+		if (!latest.isEmpty()) {
+			return latest;
+		}
+		FairGuardRefreshEvent event = FairGuardRefreshEvent.begin("status");
+		try {
+			Map<String, Object> fetched = client.fetchStatus();
+			latestDecisionStatus.compareAndSet(latest, fetched);
+			event.finish("success");
+			return fetched;
+		}
+		catch (ExternalServiceException ex) {
+			event.finish("error");
+			log.warn("FairGuard status unavailable; assuming no active guardrail: {}", ex.getMessage());
+			return Map.of();
+		}
+	}
+
+	private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("fairguard.summary.cache")
+				.description("Remote FairGuard summary reads served from or missing the gateway cache")
+				.tag("result", result)
+				.register(meterRegistry);
+	}
+
+	private static Timer refreshTimer(MeterRegistry meterRegistry, String outcome) {
+		return Timer.builder("fairguard.summary.refresh")
+				.description("Time to refresh the cached FairGuard summary from the AI backend")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
 	public void evictCache() {
 		lock.lock();
 		try {
@@ -70,4 +231,3 @@ public class FairGuardService {
 		}
 	}
 }
-
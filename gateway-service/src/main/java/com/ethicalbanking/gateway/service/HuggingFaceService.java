@@ -2,9 +2,23 @@ package com.ethicalbanking.gateway.service;
 
 import com.ethicalbanking.gateway.client.ExternalServiceException;
 import com.ethicalbanking.gateway.client.HuggingFaceClient;
+import com.ethicalbanking.gateway.client.HuggingFaceClient.ChatCompletion;
+import com.ethicalbanking.gateway.client.LlmRequestScheduler.Priority;
+import com.ethicalbanking.gateway.service.ExplanationRenderer.LlmExplanation;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,38 +28,162 @@ import org.springframework.stereotype.Service;
 public class HuggingFaceService {
 
 	private static final Logger log = LoggerFactory.getLogger(HuggingFaceService.class);
+	private static final String TOKEN_TYPE_TAG = "type";
 
 	private final HuggingFaceClient huggingFaceClient;
 	private final ObjectMapper objectMapper;
+	private final ExplanationRenderer renderer;
 	private final String systemPrompt;
+	private final Duration minimumBudget;
+	private final int promptTopK;
+	private final Counter promptTokens;
+	private final Counter completionTokens;
+	private final DistributionSummary promptTokensPerRequest;
+	private final DistributionSummary completionTokensPerRequest;
 
 	public HuggingFaceService(HuggingFaceClient huggingFaceClient,
 			ObjectMapper objectMapper,
-			@Value("${huggingface.system-prompt:You are an ethical banking assistant.}") String systemPrompt) {
+			ExplanationRenderer renderer,
+			MeterRegistry meterRegistry,
+			@Value("${huggingface.system-prompt:You are an ethical banking assistant.}") String systemPrompt,
+			@Value("${huggingface.min-budget-ms:2000}") long minimumBudgetMs,
+			@Value("${huggingface.prompt.top-k:6}") int promptTopK) {
 		this.huggingFaceClient = huggingFaceClient;
 		this.objectMapper = objectMapper;
+		this.renderer = renderer;
 		this.systemPrompt = systemPrompt;
+		this.minimumBudget = Duration.ofMillis(Math.max(0, minimumBudgetMs));
+		this.promptTopK = Math.max(1, promptTopK);
+		this.promptTokens = Counter.builder("huggingface.tokens")
+				.description("Tokens exchanged with the Hugging Face router")
+				.tag(TOKEN_TYPE_TAG, "prompt")
+				.register(meterRegistry);
+		this.completionTokens = Counter.builder("huggingface.tokens")
+				.description("Tokens exchanged with the Hugging Face router")
+				.tag(TOKEN_TYPE_TAG, "completion")
+				.register(meterRegistry);
+		this.promptTokensPerRequest = DistributionSummary.builder("huggingface.request.tokens")
+				.description("Tokens per Hugging Face chat completion")
+				.tag(TOKEN_TYPE_TAG, "prompt")
+				.register(meterRegistry);
+		this.completionTokensPerRequest = DistributionSummary.builder("huggingface.request.tokens")
+				.description("Tokens per Hugging Face chat completion")
+				.tag(TOKEN_TYPE_TAG, "completion")
+				.register(meterRegistry);
 	}
 
-	public String craftExplanation(String decision, Map<String, Object> shapValues) {
-		try {
-			String shapJson = objectMapper.writeValueAsString(shapValues != null ? shapValues : Map.of());
-			String userPrompt = """
-					Decision summary: %s
-					Explain the model decision in accessible language using the following SHAP data:
-					%s""".formatted(decision, shapJson);
-			log.debug("Requesting explanation for decision '{}'", decision);
-			return huggingFaceClient.requestExplanation(systemPrompt, userPrompt);
+	/**
+	 * Builds the compact chat prompt: the decision plus the top-k SHAP drivers, one {@code name=+0.00} line
+	 * each. Cheap and side-effect free, so it can run as soon as SHAP values are known.
+	 */
+	public PreparedPrompt preparePrompt(String decision, Map<String, Object> shapValues) {
+		Map<String, Object> safeShap = shapValues != null ? shapValues : Map.of();
+		StringBuilder userPrompt = new StringBuilder(256)
+				.append("decision: ").append(decision)
+				.append("\ndrivers (SHAP log-odds, + favours approval):");
+		safeShap.entrySet().stream()
+				.filter(entry -> entry.getValue() instanceof Number)
+				.sorted(Comparator.comparingDouble(
+						(Map.Entry<String, Object> entry) -> -Math.abs(((Number) entry.getValue()).doubleValue())))
+				.limit(promptTopK)
+				.forEach(entry -> userPrompt.append('\n').append(entry.getKey()).append('=')
+						.append(String.format(Locale.ROOT, "%+.2f", ((Number) entry.getValue()).doubleValue())));
+		return new PreparedPrompt(decision, safeShap, systemPrompt, userPrompt.toString());
+	}
+
+	/**
+	 * Asks the LLM within {@code budget}; when the budget cannot cover a call, or the call fails or times out,
+	 * answers with a deterministic narrative built from the SHAP values instead.
+	 */
+	public String complete(PreparedPrompt prompt, Duration budget) {
+		return complete(prompt, budget, Priority.INTERACTIVE);
+	}
+
+	public String complete(PreparedPrompt prompt, Duration budget, Priority priority) {
+		return generate(prompt, budget, priority).orElseGet(() -> fallbackExplanation(prompt));
+	}
+
+	/**
+	 * LLM explanation rendered to HTML, or empty when the budget cannot cover a call or the call fails, times
+	 * out or cannot be admitted by the scheduler in time.
+	 */
+	public Optional<String> generate(PreparedPrompt prompt, Duration budget, Priority priority) {
+		if (budget.compareTo(minimumBudget) < 0) {
+			log.info("Skipping Hugging Face for decision '{}': {} ms left of the latency budget", prompt.decision(),
+					budget.toMillis());
+			return Optional.empty();
 		}
-		catch (JsonProcessingException e) {
-			log.error("Failed to serialize SHAP payload", e);
-			return "Unable to serialize SHAP payload for Hugging Face.";
+		ChatCompletion completion;
+		try {
+			log.debug("Requesting explanation for decision '{}'", prompt.decision());
+			completion = huggingFaceClient.requestCompletion(prompt.systemPrompt(), prompt.userPrompt(), budget,
+					priority);
 		}
 		catch (ExternalServiceException e) {
 			log.warn("Falling back due to Hugging Face issue: {}", e.getMessage());
-			return "Hugging Face service unavailable at the moment.";
+			return Optional.empty();
 		}
+		recordUsage(completion);
+
+		return Optional.of(parseStructured(completion.content())
+				.map(structured -> renderer.render(prompt.decision(), prompt.shapValues(), structured, null))
+				.orElseGet(() -> renderer.renderPlainText(prompt.decision(), prompt.shapValues(),
+						completion.content())));
 	}
-}
 
+	/** Template explanation used when the LLM answer is not coming. */
+	public String fallbackExplanation(PreparedPrompt prompt) {
+		return renderer.render(prompt.decision(), prompt.shapValues(), null,
+				"Summary generated from the model's SHAP values because the language model was not available in time.");
+	}
+
+	/** Template explanation returned straight away while the LLM answer is generated in the background. */
+	public String interimExplanation(PreparedPrompt prompt) {
+		return renderer.render(prompt.decision(), prompt.shapValues(), null,
+				"A more detailed explanation is being prepared.");
+	}
 
+	private void recordUsage(ChatCompletion completion) {
+		if (completion.promptTokens() >= 0) {
+			promptTokens.increment(completion.promptTokens());
+			promptTokensPerRequest.record(completion.promptTokens());
+		}
+		if (completion.completionTokens() >= 0) {
+			completionTokens.increment(completion.completionTokens());
+			completionTokensPerRequest.record(completion.completionTokens());
+		}
+	}
+
+	/**
+	 * Reads {@code {"summary": "...", "factors": [{"feature": "...", "reason": "..."}], "next_steps": [...]}},
+	 * tolerating code fences or chatter around the object.
+	 */
+	private Optional<LlmExplanation> parseStructured(String content) {
+		int start = content.indexOf('{');
+		int end = content.lastIndexOf('}');
+		if (start < 0 || end <= start) {
+			log.warn("Hugging Face answer did not contain a JSON object; rendering it as plain text");
+			return Optional.empty();
+		}
+		try {
+			JsonNode root = objectMapper.readTree(content.substring(start, end + 1));
+			Map<String, String> reasons = new LinkedHashMap<>();
+			for (JsonNode factor : root.path("factors")) {
+				if (factor.hasNonNull("feature") && factor.hasNonNull("reason")) {
+					reasons.put(factor.get("feature").asText(), factor.get("reason").asText());
+				}
+			}
+			List<String> nextSteps = new ArrayList<>();
+			root.path("next_steps").forEach(step -> nextSteps.add(step.asText()));
+			return Optional.of(new LlmExplanation(root.path("summary").asText(null), reasons, nextSteps));
+		}
+		catch (JsonProcessingException e) {
+			log.warn("Hugging Face answer was not valid JSON; rendering it as plain text: {}", e.getOriginalMessage());
+			return Optional.empty();
+		}
+	}
+
+	public record PreparedPrompt(String decision, Map<String, Object> shapValues, String systemPrompt,
+			String userPrompt) {
+	}
+}
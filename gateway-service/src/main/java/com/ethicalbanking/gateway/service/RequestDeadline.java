@@ -0,0 +1,41 @@
+package com.ethicalbanking.gateway.service;
+
+import java.time.Duration;
+
+/**
+ * Monotonic end-to-end latency budget for one request; every stage asks for what is left instead of applying
+ * its own fixed timeout.
+ */
+public final class RequestDeadline {
+
+	private final long deadlineNanos;
+	private final Duration budget;
+
+	private RequestDeadline(Duration budget) {
+		this.budget = budget;
+		this.deadlineNanos = System.nanoTime() + budget.toNanos();
+	}
+
+	public static RequestDeadline after(Duration budget) {
+		return new RequestDeadline(budget.isNegative() ? Duration.ZERO : budget);
+	}
+
+	public Duration budget() {
+		return budget;
+	}
+
+	public Duration remaining() {
+		long nanos = deadlineNanos - System.nanoTime();
+		return nanos > 0 ? Duration.ofNanos(nanos) : Duration.ZERO;
+	}
+
+	public boolean isExpired() {
+		return deadlineNanos - System.nanoTime() <= 0;
+	}
+
+	/** Remaining budget, but never more than {@code limit}. */
+	public Duration cap(Duration limit) {
+		Duration remaining = remaining();
+		return remaining.compareTo(limit) < 0 ? remaining : limit;
+	}
+}
@@ -0,0 +1,146 @@
+package com.ethicalbanking.gateway.service;
+
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.domain.user.UserType;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Issues and verifies stateless, HMAC-signed session tokens so BCrypt only runs once per login.
+ * <p>
+ * Tokens are {@code base64url(payload).base64url(signature)} where the payload is
+ * {@code userId|userType|expiresAtEpochSeconds|tokenId}. Revoked token ids are kept in memory until
+ * their natural expiry.
+ */
+@Service
+public class SessionTokenService {
+
+	private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final char FIELD_SEPARATOR = '|';
+	private static final int REVOCATION_PRUNE_THRESHOLD = 1024;
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecretKeySpec signingKey;
+	private final Duration ttl;
+	private final ThreadLocal<Mac> macs;
+	private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+	public SessionTokenService(@Value("${app.session.secret:}") String secret,
+			@Value("${app.session.ttl-minutes:30}") long ttlMinutes) {
+		this.signingKey = new SecretKeySpec(resolveSecret(secret), HMAC_ALGORITHM);
+		this.ttl = Duration.ofMinutes(Math.max(1, ttlMinutes));
+		this.macs = ThreadLocal.withInitial(this::newMac);
+	}
+
+	public IssuedSessionToken issue(UserProfile profile) {
+		Instant expiresAt = Instant.now().plus(ttl);
+		String payload = String.join(String.valueOf(FIELD_SEPARATOR),
+				profile.getExternalId(),
+				profile.getUserType().name(),
+				Long.toString(expiresAt.getEpochSecond()),
+				UUID.randomUUID().toString());
+		byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+		String token = ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+		log.debug("Issued session token for user {} expiring at {}", profile.getExternalId(), expiresAt);
+		return new IssuedSessionToken(token, expiresAt);
+	}
+
+	public Optional<SessionPrincipal> verify(String token) {
+		if (!StringUtils.hasText(token)) {
+			return Optional.empty();
+		}
+		int separator = token.indexOf('.');
+		if (separator <= 0 || separator == token.length() - 1) {
+			return Optional.empty();
+		}
+
+		try {
+			byte[] payloadBytes = DECODER.decode(token.substring(0, separator));
+			byte[] signature = DECODER.decode(token.substring(separator + 1));
+			if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+				return Optional.empty();
+			}
+
+			String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+			if (fields.length != 4) {
+				return Optional.empty();
+			}
+			Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[2]));
+			if (!expiresAt.isAfter(Instant.now()) || revokedTokens.containsKey(fields[3])) {
+				return Optional.empty();
+			}
+			return Optional.of(new SessionPrincipal(fields[0], UserType.valueOf(fields[1]), fields[3], expiresAt));
+		}
+		catch (IllegalArgumentException ex) {
+			log.debug("Rejected malformed session token: {}", ex.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	public boolean revoke(String token) {
+		Optional<SessionPrincipal> principal = verify(token);
+		principal.ifPresent(active -> {
+			revokedTokens.put(active.tokenId(), active.expiresAt());
+			if (revokedTokens.size() > REVOCATION_PRUNE_THRESHOLD) {
+				Instant now = Instant.now();
+				revokedTokens.values().removeIf(expiry -> !expiry.isAfter(now));
+			}
+			log.info("Revoked session token for user {}", active.userId());
+		});
+		return principal.isPresent();
+	}
+
+	private byte[] sign(byte[] payload) {
+		Mac mac = macs.get();
+		mac.reset();
+		return mac.doFinal(payload);
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(signingKey);
+			return mac;
+		}
+		catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+			log.error("HMAC-SHA256 unavailable for session tokens", ex);
+			throw new IllegalStateException("HMAC-SHA256 not available", ex);
+		}
+	}
+
+	private static byte[] resolveSecret(String secret) {
+		if (StringUtils.hasText(secret)) {
+			return secret.getBytes(StandardCharsets.UTF_8);
+		}
+		log.warn("Session token secret not configured; using an ephemeral key so tokens will not survive restarts.");
+		byte[] generated = new byte[32];
+		new SecureRandom().nextBytes(generated);
+		return generated;
+	}
+
+	public record IssuedSessionToken(String token, Instant expiresAt) {
+	}
+
+	public record SessionPrincipal(String userId, UserType userType, String tokenId, Instant expiresAt) {
+	}
+}
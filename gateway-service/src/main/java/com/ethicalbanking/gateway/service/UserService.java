@@ -1,20 +1,38 @@
 package com.ethicalbanking.gateway.service;
 
 import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.dto.UserRosterEntry;
+import com.ethicalbanking.gateway.dto.UserRosterPage;
 import com.ethicalbanking.gateway.repository.UserProfileRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 @Transactional(readOnly = true)
 public class UserService {
 
 	private static final Logger log = LoggerFactory.getLogger(UserService.class);
+	private static final int DEFAULT_ROSTER_LIMIT = 50;
+	private static final int MAX_ROSTER_LIMIT = 500;
+	private static final int STREAM_BATCH_SIZE = 500;
+	private static final char CURSOR_SEPARATOR = '\u0000';
+	private static final Map<String, Function<UserRosterEntry, Object>> ROSTER_FIELDS = rosterFields();
 
 	private final UserProfileRepository userProfileRepository;
 	private final PasswordEncoder passwordEncoder;
@@ -41,5 +59,130 @@ public class UserService {
 		log.info("Retrieved {} user profiles", profiles.size());
 		return profiles;
 	}
-}
 
+	/**
+	 * One keyset page of the roster. {@code fields} trims only the serialized items: both roster queries always
+	 * select the same eight scalar columns (a constructor projection, no entity hydration or password hash), so
+	 * each keeps one cached plan rather than one per field combination for a few bytes per row.
+	 */
+	public UserRosterPage findRosterPage(String cursor, Integer limit, String fields) {
+		int pageSize = resolveLimit(limit);
+		Map<String, Function<UserRosterEntry, Object>> projection = resolveProjection(fields);
+		List<UserRosterEntry> entries = fetchRosterPage(decodeCursor(cursor), pageSize);
+
+		List<Map<String, Object>> items = new ArrayList<>(entries.size());
+		for (UserRosterEntry entry : entries) {
+			items.add(project(entry, projection));
+		}
+		String nextCursor = entries.size() == pageSize ? encodeCursor(entries.get(entries.size() - 1)) : null;
+		log.info("Retrieved roster page of {} profiles (more: {})", items.size(), nextCursor != null);
+		return new UserRosterPage(items, nextCursor, pageSize);
+	}
+
+	public void validateRosterFields(String fields) {
+		resolveProjection(fields);
+	}
+
+	/**
+	 * Walks the whole roster in keyset order, one short read per batch, handing each projected row to the sink.
+	 * As in {@link #findRosterPage}, {@code fields} trims the rows after they are read.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public long streamRoster(String fields, Consumer<Map<String, Object>> sink) {
+		Map<String, Function<UserRosterEntry, Object>> projection = resolveProjection(fields);
+		RosterCursor cursor = null;
+		long streamed = 0;
+		List<UserRosterEntry> batch;
+		do {
+			batch = fetchRosterPage(cursor, STREAM_BATCH_SIZE);
+			for (UserRosterEntry entry : batch) {
+				sink.accept(project(entry, projection));
+			}
+			streamed += batch.size();
+			if (!batch.isEmpty()) {
+				UserRosterEntry last = batch.get(batch.size() - 1);
+				cursor = new RosterCursor(last.fullName(), last.id());
+			}
+		}
+		while (batch.size() == STREAM_BATCH_SIZE);
+		log.info("Streamed {} user profiles", streamed);
+		return streamed;
+	}
+
+	private List<UserRosterEntry> fetchRosterPage(RosterCursor cursor, int pageSize) {
+		if (cursor == null) {
+			return userProfileRepository.findRosterFirstPage(Limit.of(pageSize));
+		}
+		return userProfileRepository.findRosterPageAfter(cursor.fullName(), cursor.id(), Limit.of(pageSize));
+	}
+
+	private int resolveLimit(Integer limit) {
+		if (limit == null) {
+			return DEFAULT_ROSTER_LIMIT;
+		}
+		if (limit < 1 || limit > MAX_ROSTER_LIMIT) {
+			throw new IllegalArgumentException("limit must be between 1 and %d".formatted(MAX_ROSTER_LIMIT));
+		}
+		return limit;
+	}
+
+	private Map<String, Function<UserRosterEntry, Object>> resolveProjection(String fields) {
+		if (!StringUtils.hasText(fields)) {
+			return ROSTER_FIELDS;
+		}
+		Map<String, Function<UserRosterEntry, Object>> projection = new LinkedHashMap<>();
+		for (String field : StringUtils.commaDelimitedListToStringArray(fields)) {
+			String name = field.trim();
+			Function<UserRosterEntry, Object> accessor = ROSTER_FIELDS.get(name);
+			if (accessor == null) {
+				throw new IllegalArgumentException(
+						"Unknown roster field '%s'; expected one of %s".formatted(name, ROSTER_FIELDS.keySet()));
+			}
+			projection.put(name, accessor);
+		}
+		return projection;
+	}
+
+	private Map<String, Object> project(UserRosterEntry entry, Map<String, Function<UserRosterEntry, Object>> projection) {
+		Map<String, Object> row = new LinkedHashMap<>(projection.size() * 2);
+		projection.forEach((name, accessor) -> row.put(name, accessor.apply(entry)));
+		return row;
+	}
+
+	private String encodeCursor(UserRosterEntry entry) {
+		String raw = entry.fullName() + CURSOR_SEPARATOR + entry.id();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private RosterCursor decodeCursor(String cursor) {
+		if (!StringUtils.hasText(cursor)) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+			if (separator < 0) {
+				throw new IllegalArgumentException("Malformed roster cursor");
+			}
+			return new RosterCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid roster cursor", ex);
+		}
+	}
+
+	private static Map<String, Function<UserRosterEntry, Object>> rosterFields() {
+		Map<String, Function<UserRosterEntry, Object>> fields = new LinkedHashMap<>();
+		fields.put("externalId", UserRosterEntry::externalId);
+		fields.put("fullName", UserRosterEntry::fullName);
+		fields.put("email", UserRosterEntry::email);
+		fields.put("creditScore", UserRosterEntry::creditScore);
+		fields.put("netMonthlyIncome", UserRosterEntry::netMonthlyIncome);
+		fields.put("segment", UserRosterEntry::segment);
+		fields.put("userType", UserRosterEntry::userType);
+		return Collections.unmodifiableMap(fields);
+	}
+
+	private record RosterCursor(String fullName, Long id) {
+	}
+}
@@ -0,0 +1,45 @@
+-- Baseline schema for the gateway; mirrors the JPA mappings in com.ethicalbanking.gateway.domain.
+
+create sequence user_profiles_seq start with 1 increment by 50;
+create sequence loan_applications_seq start with 1 increment by 50;
+create sequence user_consents_seq start with 1 increment by 50;
+
+create table user_profiles (
+    id bigint not null,
+    external_id varchar(255) not null,
+    full_name varchar(255) not null,
+    email varchar(255) not null,
+    credit_score integer not null,
+    net_monthly_income integer not null,
+    segment varchar(255) not null,
+    password_hash varchar(255) not null,
+    user_type varchar(255) not null check (user_type in ('ADMIN', 'CUSTOMER')),
+    constraint pk_user_profiles primary key (id),
+    constraint uk_user_profiles_external_id unique (external_id)
+);
+
+create index idx_user_profiles_full_name on user_profiles (full_name, id);
+
+create table loan_applications (
+    id bigint not null,
+    user_id bigint not null,
+    product_type varchar(255) not null,
+    requested_amount numeric(16, 2) not null,
+    decision varchar(255) not null,
+    decision_date date not null,
+    rationale varchar(512) not null,
+    constraint pk_loan_applications primary key (id),
+    constraint fk_loan_applications_user foreign key (user_id) references user_profiles (id)
+);
+
+create index idx_loan_applications_user_decision_date on loan_applications (user_id, decision_date);
+
+create table user_consents (
+    id bigint not null,
+    user_external_id varchar(255) not null,
+    consent_hash varchar(512) not null,
+    recorded_at timestamp(6) with time zone not null,
+    constraint pk_user_consents primary key (id)
+);
+
+create index idx_user_consents_user_recorded_at on user_consents (user_external_id, recorded_at);
@@ -0,0 +1,23 @@
+-- Durable queue for batch Ask AI questions; see com.ethicalbanking.gateway.domain.askai.AskAiJob.
+
+create table ask_ai_jobs (
+    id varchar(36) not null,
+    version bigint,
+    batch_id varchar(36),
+    user_external_id varchar(255) not null,
+    question varchar(2048) not null,
+    feature_snapshot text,
+    status varchar(255) not null check (status in ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    attempts integer not null,
+    result text,
+    error varchar(1024),
+    created_at timestamp(6) with time zone not null,
+    started_at timestamp(6) with time zone,
+    completed_at timestamp(6) with time zone,
+    expires_at timestamp(6) with time zone,
+    constraint pk_ask_ai_jobs primary key (id)
+);
+
+create index idx_ask_ai_jobs_status_created_at on ask_ai_jobs (status, created_at);
+create index idx_ask_ai_jobs_batch_id on ask_ai_jobs (batch_id);
+create index idx_ask_ai_jobs_expires_at on ask_ai_jobs (expires_at);
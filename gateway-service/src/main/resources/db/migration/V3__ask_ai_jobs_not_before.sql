@@ -0,0 +1,3 @@
+-- Retry backoff for transiently failed Ask AI jobs; null means the job may be claimed straight away.
+
+alter table ask_ai_jobs add column not_before timestamp(6) with time zone;
@@ -3,7 +3,7 @@ package com.ethicalbanking.gateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.warmup.enabled=false")
 class GatewayServiceApplicationTests {
 
 	@Test
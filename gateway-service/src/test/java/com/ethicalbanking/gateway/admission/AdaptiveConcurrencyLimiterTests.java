@@ -0,0 +1,185 @@
+package com.ethicalbanking.gateway.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ethicalbanking.gateway.admission.AdaptiveConcurrencyLimiter.Permit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Queueing, rejection, hand-off and limit adaptation of a single lane. Latencies are fed in through synthetic
+ * {@link Permit}s admitted in the past rather than by sleeping.
+ */
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final String LANE = "test";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorService waiters = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() {
+		waiters.shutdownNow();
+	}
+
+	@Test
+	void rejectsStraightAwayWhenTheQueueIsFull() {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 0, Duration.ofSeconds(5));
+		limiter.acquire();
+
+		long start = System.nanoTime();
+		LoadSheddingException rejected = assertThrows(LoadSheddingException.class, limiter::acquire);
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "queue-full must not wait");
+		assertEquals(LANE, rejected.getLane());
+		assertTrue(rejected.getMessage().contains("queue is full"), rejected.getMessage());
+		assertEquals(1.0, rejections("queue-full"));
+		assertEquals(1.0, gauge("admission.in.flight"));
+	}
+
+	@Test
+	void rejectsQueuedRequestOnceTheWaitElapses() {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 1, Duration.ofMillis(50));
+		limiter.acquire();
+
+		long start = System.nanoTime();
+		LoadSheddingException rejected = assertThrows(LoadSheddingException.class, limiter::acquire);
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(rejected.getMessage().contains("within 50 ms"), rejected.getMessage());
+		assertEquals(1.0, rejections("wait-timeout"));
+		assertEquals(0.0, gauge("admission.queue.depth"));
+		assertEquals(1.0, gauge("admission.in.flight"));
+	}
+
+	@Test
+	void releasedSlotsAreHandedToWaitersInArrivalOrder() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 2, Duration.ofSeconds(10));
+		Permit first = limiter.acquire();
+		Future<Permit> second = waiters.submit(limiter::acquire);
+		awaitQueueDepth(1);
+		Future<Permit> third = waiters.submit(limiter::acquire);
+		awaitQueueDepth(2);
+
+		limiter.release(first);
+		Permit secondPermit = second.get(5, TimeUnit.SECONDS);
+		assertThrows(TimeoutException.class, () -> third.get(100, TimeUnit.MILLISECONDS));
+
+		limiter.release(secondPermit);
+		third.get(5, TimeUnit.SECONDS);
+		assertEquals(0.0, gauge("admission.queue.depth"));
+		assertEquals(1.0, gauge("admission.in.flight"));
+	}
+
+	@Test
+	void interruptedWaiterLeavesTheQueueAndTheSlotGoesToTheNext() throws Exception {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1, 2, Duration.ofSeconds(10));
+		Permit first = limiter.acquire();
+		CompletableFuture<Thread> interruptedThread = new CompletableFuture<>();
+		Future<Permit> interrupted = waiters.submit(() -> {
+			interruptedThread.complete(Thread.currentThread());
+			return limiter.acquire();
+		});
+		awaitQueueDepth(1);
+		Future<Permit> next = waiters.submit(limiter::acquire);
+		awaitQueueDepth(2);
+
+		interruptedThread.get().interrupt();
+		Exception failure = assertThrows(Exception.class, () -> interrupted.get(5, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof LoadSheddingException, String.valueOf(failure.getCause()));
+		awaitQueueDepth(1);
+
+		limiter.release(first);
+		next.get(5, TimeUnit.SECONDS);
+		assertEquals(0.0, gauge("admission.queue.depth"));
+	}
+
+	@Test
+	void limitGrowsWhileLatencyIsStableAndShrinksWhenItRises() {
+		AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 20, 0, Duration.ZERO);
+		for (int i = 0; i < 100; i++) {
+			runAtLimit(limiter, Duration.ofMillis(10));
+		}
+		assertEquals(20.0, gauge("admission.limit"));
+
+		for (int i = 0; i < 20; i++) {
+			runAtLimit(limiter, Duration.ofMillis(200));
+		}
+		assertTrue(gauge("admission.limit") <= 6, "limit should back off, was " + gauge("admission.limit"));
+		assertTrue(gauge("admission.limit") >= 1);
+	}
+
+	@Test
+	void idleLaneDoesNotGrowItsLimit() {
+		AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 20, 0, Duration.ZERO);
+		for (int i = 0; i < 200; i++) {
+			limiter.release(admittedAgo(limiter, Duration.ofMillis(10)));
+		}
+		assertEquals(8.0, gauge("admission.limit"));
+	}
+
+	@Test
+	void retryAfterCoversTheQueueAheadAtTheObservedLatency() {
+		AdaptiveConcurrencyLimiter unobserved = limiter(1, 1, 1, 0, Duration.ZERO);
+		unobserved.acquire();
+		assertEquals(Duration.ofSeconds(1), assertThrows(LoadSheddingException.class, unobserved::acquire)
+				.getRetryAfter());
+
+		// One slot and a 2.9 s request: a rejected caller is one request away from a slot, a queued one two
+		AdaptiveConcurrencyLimiter slow = new AdaptiveConcurrencyLimiter("slow", 1, 1, 1, 1, Duration.ZERO, 1.5,
+				meterRegistry);
+		slow.release(admittedAgo(slow, Duration.ofMillis(2900)));
+		slow.acquire();
+		LoadSheddingException timedOut = assertThrows(LoadSheddingException.class, slow::acquire);
+		assertEquals(Duration.ofSeconds(6), timedOut.getRetryAfter());
+		assertTrue(timedOut.getMessage().contains("retry in 6 s"), timedOut.getMessage());
+	}
+
+	private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit, int queueSize,
+			Duration maxWait) {
+		return new AdaptiveConcurrencyLimiter(LANE, initialLimit, minLimit, maxLimit, queueSize, maxWait, 1.5,
+				meterRegistry);
+	}
+
+	/** Fills every slot, then completes them all with the given latency. */
+	private void runAtLimit(AdaptiveConcurrencyLimiter limiter, Duration latency) {
+		int slots = (int) gauge("admission.limit");
+		for (int i = 0; i < slots; i++) {
+			limiter.acquire();
+		}
+		for (int i = 0; i < slots; i++) {
+			limiter.release(new Permit(System.nanoTime() - latency.toNanos()));
+		}
+	}
+
+	/** Acquires a slot and backdates it, as if the request had been running for {@code latency}. */
+	private static Permit admittedAgo(AdaptiveConcurrencyLimiter limiter, Duration latency) {
+		limiter.acquire();
+		return new Permit(System.nanoTime() - latency.toNanos());
+	}
+
+	private void awaitQueueDepth(int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (gauge("admission.queue.depth") != depth) {
+			assertFalse(System.nanoTime() > deadline, "queue depth never reached " + depth);
+			Thread.sleep(5);
+		}
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).tag("lane", LANE).gauge().value();
+	}
+
+	private double rejections(String reason) {
+		return meterRegistry.get("admission.rejected").tag("lane", LANE).tag("reason", reason).counter().count();
+	}
+}
@@ -0,0 +1,35 @@
+package com.ethicalbanking.gateway.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * {@code Accept-Encoding} negotiation for the streamed export.
+ */
+class ExportControllerTests {
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', nullValues = "null", value = {
+			"null | false",
+			"'' | false",
+			"gzip | true",
+			"GZIP | true",
+			"gzip, deflate, br | true",
+			"x-gzip | true",
+			"gzip;q=0 | false",
+			"gzip; q=0.0, deflate | false",
+			"br, gzip;q=0.5 | true",
+			"deflate, br | false",
+			"* | true",
+			"*;q=0 | false",
+			"gzip;q=0, * | false",
+			"*;q=0, gzip | true",
+			"identity;q=1, *;q=0 | false",
+			"gzip;q=oops | false",
+			"gzipped | false" })
+	void gzipFollowsTheQualityValues(String acceptEncoding, boolean expected) {
+		assertEquals(expected, ExportController.acceptsGzip(acceptEncoding), acceptEncoding);
+	}
+}
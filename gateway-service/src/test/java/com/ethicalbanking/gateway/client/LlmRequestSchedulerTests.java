@@ -0,0 +1,310 @@
+package com.ethicalbanking.gateway.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ethicalbanking.gateway.client.HuggingFaceClient.ChatCompletion;
+import com.ethicalbanking.gateway.client.LlmRequestScheduler.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Priority ordering, token bucket, {@code Retry-After} pauses and the retry budget. Time is a fake clock moved by
+ * the test, so refills and pauses are exact; a caller that must not progress is given a short real grace period.
+ */
+class LlmRequestSchedulerTests {
+
+	private static final Duration TIMEOUT = Duration.ofMinutes(5);
+	private static final long NO_PROGRESS_MS = 100;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong now = new AtomicLong();
+	private final ExecutorService callers = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void interactiveCallsOvertakeQueuedBackgroundCalls() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(1, 0, 0);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> started = new CopyOnWriteArrayList<>();
+		Future<ChatCompletion> running = submit(scheduler, Priority.BACKGROUND, 1, timeout -> {
+			started.add("running");
+			await(release);
+			return completion();
+		});
+		awaitInFlight(1);
+		Future<ChatCompletion> background = submit(scheduler, Priority.BACKGROUND, 1,
+				recording(started, "background"));
+		awaitQueueDepth(Priority.BACKGROUND, 1);
+		Future<ChatCompletion> interactive = submit(scheduler, Priority.INTERACTIVE, 1,
+				recording(started, "interactive"));
+		awaitQueueDepth(Priority.INTERACTIVE, 1);
+
+		release.countDown();
+		running.get(5, TimeUnit.SECONDS);
+		interactive.get(5, TimeUnit.SECONDS);
+		background.get(5, TimeUnit.SECONDS);
+		assertEquals(List.of("running", "interactive", "background"), started);
+	}
+
+	@Test
+	void callWaitsUntilTheBucketHasRefilledItsEstimate() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(4, 600, 0);
+		scheduler.submit(Priority.INTERACTIVE, 600, TIMEOUT, timeout -> completion());
+
+		Future<ChatCompletion> waiting = submit(scheduler, Priority.INTERACTIVE, 300, timeout -> completion());
+		awaitQueueDepth(Priority.INTERACTIVE, 1);
+		advance(scheduler, Duration.ofSeconds(29));
+		assertStillQueued(waiting);
+
+		advance(scheduler, Duration.ofSeconds(1));
+		waiting.get(5, TimeUnit.SECONDS);
+		assertEquals(0.0, queueDepth(Priority.INTERACTIVE));
+	}
+
+	@Test
+	void idleBucketNeverHoldsMoreThanOneMinuteOfTokens() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(4, 600, 0);
+		advance(scheduler, Duration.ofMinutes(10));
+		scheduler.submit(Priority.INTERACTIVE, 600, TIMEOUT, timeout -> completion());
+
+		Future<ChatCompletion> waiting = submit(scheduler, Priority.INTERACTIVE, 1, timeout -> completion());
+		awaitQueueDepth(Priority.INTERACTIVE, 1);
+		assertStillQueued(waiting);
+		advance(scheduler, Duration.ofMillis(100));
+		waiting.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void reportedUsageReturnsTheUnspentEstimate() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(4, 600, 0);
+		scheduler.submit(Priority.INTERACTIVE, 600, TIMEOUT, timeout -> new ChatCompletion("ok", 60, 40));
+
+		// 500 of the 600 estimated tokens were never used, so a 500-token call starts without any refill
+		scheduler.submit(Priority.INTERACTIVE, 500, TIMEOUT, timeout -> completion());
+		Future<ChatCompletion> waiting = submit(scheduler, Priority.INTERACTIVE, 1, timeout -> completion());
+		awaitQueueDepth(Priority.INTERACTIVE, 1);
+		assertStillQueued(waiting);
+	}
+
+	@Test
+	void retryWaitsForTheAdvertisedRetryAfter() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(4, 0, 2);
+		AtomicInteger attempts = new AtomicInteger();
+		Future<ChatCompletion> call = submit(scheduler, Priority.INTERACTIVE, 1, timeout -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw rateLimited(Duration.ofSeconds(3));
+			}
+			return completion();
+		});
+		awaitQueueDepth(Priority.INTERACTIVE, 1);
+		assertEquals(1, attempts.get());
+
+		// The pause holds every caller, not just the one that was rate limited
+		Future<ChatCompletion> other = submit(scheduler, Priority.INTERACTIVE, 1, timeout -> completion());
+		awaitQueueDepth(Priority.INTERACTIVE, 2);
+		advance(scheduler, Duration.ofMillis(2999));
+		assertStillQueued(call);
+		assertFalse(other.isDone());
+
+		advance(scheduler, Duration.ofMillis(1));
+		call.get(5, TimeUnit.SECONDS);
+		other.get(5, TimeUnit.SECONDS);
+		assertEquals(2, attempts.get());
+		assertEquals(1.0, meterRegistry.get("huggingface.scheduler.rate.limited").counter().count());
+	}
+
+	@Test
+	void retryBacksOffExponentiallyWithoutRetryAfter() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(4, 0, 2);
+		AtomicInteger attempts = new AtomicInteger();
+		Future<ChatCompletion> call = submit(scheduler, Priority.INTERACTIVE, 1, timeout -> {
+			if (attempts.incrementAndGet() <= 2) {
+				throw rateLimited(null);
+			}
+			return completion();
+		});
+		awaitAttempts(attempts, 1);
+		advance(scheduler, Duration.ofSeconds(1));
+		awaitAttempts(attempts, 2);
+
+		advance(scheduler, Duration.ofSeconds(1));
+		assertStillQueued(call);
+		advance(scheduler, Duration.ofSeconds(1));
+		call.get(5, TimeUnit.SECONDS);
+		assertEquals(3, attempts.get());
+	}
+
+	@Test
+	void lastFailureSurfacesOnceTheRetryBudgetIsSpent() {
+		LlmRequestScheduler scheduler = scheduler(4, 0, 2);
+		AtomicInteger attempts = new AtomicInteger();
+		RateLimitedException failure = rateLimited(Duration.ZERO);
+
+		RateLimitedException thrown = assertThrows(RateLimitedException.class,
+				() -> scheduler.submit(Priority.INTERACTIVE, 1, TIMEOUT, timeout -> {
+					attempts.incrementAndGet();
+					throw failure;
+				}));
+		assertSame(failure, thrown);
+		assertEquals(3, attempts.get());
+		assertEquals(0.0, meterRegistry.get("huggingface.scheduler.in.flight").gauge().value());
+	}
+
+	@Test
+	void retryAfterBeyondTheCallersTimeoutFailsStraightAway() {
+		LlmRequestScheduler scheduler = scheduler(4, 0, 2);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThrows(RateLimitedException.class,
+				() -> scheduler.submit(Priority.INTERACTIVE, 1, Duration.ofSeconds(10), timeout -> {
+					attempts.incrementAndGet();
+					throw rateLimited(Duration.ofSeconds(20));
+				}));
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	void clientHonoursRetryAfterOnTooManyRequestsAndServiceUnavailable() throws Exception {
+		LlmRequestScheduler scheduler = scheduler(4, 0, 2);
+		Queue<ClientResponse> responses = new ArrayDeque<>(List.of(
+				ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "2").build(),
+				ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "4").build(),
+				ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body("""
+								{"choices":[{"message":{"content":"Approved."}}],
+								 "usage":{"prompt_tokens":10,"completion_tokens":5}}""")
+						.build()));
+		AtomicInteger requests = new AtomicInteger();
+		WebClient webClient = WebClient.builder()
+				.exchangeFunction(request -> {
+					requests.incrementAndGet();
+					return Mono.just(responses.remove());
+				})
+				.build();
+		HuggingFaceClient client = new HuggingFaceClient(webClient, scheduler, new ObjectMapper(), "test-model", 60,
+				16, 0.2);
+
+		Future<ChatCompletion> call = callers.submit(() -> client.requestCompletion("system", "user",
+				Duration.ofSeconds(60), Priority.INTERACTIVE));
+		awaitAttempts(requests, 1);
+		advance(scheduler, Duration.ofMillis(1999));
+		assertStillQueued(call);
+		advance(scheduler, Duration.ofMillis(1));
+		awaitAttempts(requests, 2);
+
+		advance(scheduler, Duration.ofMillis(3999));
+		assertStillQueued(call);
+		advance(scheduler, Duration.ofMillis(1));
+		assertEquals("Approved.", call.get(5, TimeUnit.SECONDS).content());
+		assertEquals(3, requests.get());
+	}
+
+	private LlmRequestScheduler scheduler(int maxConcurrency, long tokensPerMinute, int maxRetries) {
+		return new LlmRequestScheduler(meterRegistry, maxConcurrency, tokensPerMinute, maxRetries, 1000, 30000,
+				now::get);
+	}
+
+	private Future<ChatCompletion> submit(LlmRequestScheduler scheduler, Priority priority, int estimatedTokens,
+			Function<Duration, ChatCompletion> call) {
+		return callers.submit(() -> scheduler.submit(priority, estimatedTokens, TIMEOUT, call));
+	}
+
+	/** Moves the fake clock and wakes the queued callers so they re-check their admission. */
+	private void advance(LlmRequestScheduler scheduler, Duration duration) {
+		now.addAndGet(duration.toNanos());
+		scheduler.wakeWaiters();
+	}
+
+	private static void assertStillQueued(Future<ChatCompletion> call) {
+		assertThrows(TimeoutException.class, () -> call.get(NO_PROGRESS_MS, TimeUnit.MILLISECONDS));
+	}
+
+	private void awaitQueueDepth(Priority priority, int depth) throws InterruptedException {
+		awaitGauge(() -> queueDepth(priority) == depth, priority + " queue depth never reached " + depth);
+	}
+
+	private void awaitInFlight(int calls) throws InterruptedException {
+		awaitGauge(() -> meterRegistry.get("huggingface.scheduler.in.flight").gauge().value() == calls,
+				"in-flight calls never reached " + calls);
+	}
+
+	/** Waits for {@code attempts} and for the retry to be queued behind the pause it caused. */
+	private void awaitAttempts(AtomicInteger attempts, int expected) throws InterruptedException {
+		awaitGauge(() -> attempts.get() == expected && queueDepth(Priority.INTERACTIVE) == 1,
+				"attempt " + expected + " never queued its retry");
+	}
+
+	private static void awaitGauge(BooleanSupplier condition, String message)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertFalse(System.nanoTime() > deadline, message);
+			Thread.sleep(5);
+		}
+	}
+
+	private double queueDepth(Priority priority) {
+		return meterRegistry.get("huggingface.scheduler.queue.depth")
+				.tag("priority", priority.name().toLowerCase(Locale.ROOT))
+				.gauge()
+				.value();
+	}
+
+	private static Function<Duration, ChatCompletion> recording(List<String> started, String name) {
+		return timeout -> {
+			started.add(name);
+			return completion();
+		};
+	}
+
+	private static ChatCompletion completion() {
+		return new ChatCompletion("ok", -1, -1);
+	}
+
+	private static RateLimitedException rateLimited(Duration retryAfter) {
+		return new RateLimitedException("Hugging Face", "rate limited", retryAfter, null);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS), "test never released the call");
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+}
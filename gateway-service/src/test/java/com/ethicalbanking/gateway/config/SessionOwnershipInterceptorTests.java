@@ -0,0 +1,64 @@
+package com.ethicalbanking.gateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ethicalbanking.gateway.domain.user.UserType;
+import com.ethicalbanking.gateway.service.SessionTokenService.SessionPrincipal;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Which principals may reach a {@code /{userId}} route.
+ */
+class SessionOwnershipInterceptorTests {
+
+	private final SessionOwnershipInterceptor interceptor = new SessionOwnershipInterceptor();
+
+	@Test
+	void customerReachesTheirOwnResources() {
+		assertTrue(preHandle(principal("user_001", UserType.CUSTOMER), Map.of("userId", "user_001")));
+	}
+
+	@Test
+	void customerIsForbiddenFromAnotherUsersResources() {
+		SessionOwnershipException forbidden = assertThrows(SessionOwnershipException.class,
+				() -> preHandle(principal("user_001", UserType.CUSTOMER), Map.of("userId", "user_002")));
+		assertTrue(forbidden.getMessage().contains("user_002"), forbidden.getMessage());
+	}
+
+	@Test
+	void adminReachesAnyUsersResources() {
+		assertTrue(preHandle(principal("admin_001", UserType.ADMIN), Map.of("userId", "user_002")));
+	}
+
+	@Test
+	void routesWithoutAUserIdAreNotChecked() {
+		assertTrue(preHandle(principal("user_001", UserType.CUSTOMER), Map.of("jobId", "job-1")));
+		assertTrue(preHandle(principal("user_001", UserType.CUSTOMER), null));
+	}
+
+	@Test
+	void anonymousRequestsAreLeftToTheSessionFilter() {
+		assertTrue(preHandle(null, Map.of("userId", "user_002")));
+	}
+
+	private boolean preHandle(SessionPrincipal principal, Map<String, String> uriVariables) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/decision/user_002");
+		if (principal != null) {
+			request.setAttribute(SessionTokenFilter.PRINCIPAL_ATTRIBUTE, principal);
+		}
+		if (uriVariables != null) {
+			request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, uriVariables);
+		}
+		return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+	}
+
+	private static SessionPrincipal principal(String userId, UserType userType) {
+		return new SessionPrincipal(userId, userType, "token-1", Instant.now().plusSeconds(600));
+	}
+}
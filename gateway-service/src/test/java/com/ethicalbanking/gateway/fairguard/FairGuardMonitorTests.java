@@ -0,0 +1,153 @@
+package com.ethicalbanking.gateway.fairguard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.DimensionSnapshot;
+import com.ethicalbanking.gateway.dto.FairGuardSummaryResponse.GroupSnapshot;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks the incrementally maintained window counters against a brute-force recomputation of the same window.
+ */
+class FairGuardMonitorTests {
+
+	private static final String[] GENDERS = { "F", "M", "X" };
+
+	@ParameterizedTest
+	@ValueSource(ints = { 2, 3, 7, 8, 101, 500 })
+	void driftAndGroupsMatchRecomputationAtEveryStep(int windowSize) {
+		FairGuardMonitor monitor = new FairGuardMonitor(List.of("GENDER"), 0.15, 0.2, windowSize, 5);
+		Deque<Recorded> window = new ArrayDeque<>();
+		Random random = new Random(windowSize);
+
+		for (int i = 0; i < windowSize * 40; i++) {
+			Recorded event = new Recorded(GENDERS[random.nextInt(GENDERS.length)], random.nextDouble() < 0.6,
+					random.nextDouble());
+			Map<String, Object> status = monitor.recordEvent(Map.of("GENDER", event.gender()),
+					event.approved() ? "Approved" : "Rejected", event.probability(), null);
+			window.addLast(event);
+			if (window.size() > windowSize) {
+				window.removeFirst();
+			}
+
+			FairGuardSummaryResponse summary = monitor.summary();
+			String step = "window %d after %d events".formatted(windowSize, i + 1);
+			assertEquals(window.size(), summary.windowSize(), step);
+			assertEquals(expectedDrift(window), summary.drift().score(), step);
+			assertEquals(expectedGroups(window), groupsByValue(summary.dimensions().get(0)), step);
+			assertStatusMatches(summary, status, step);
+			assertEquals(status, monitor.status(), step);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 5, 6 })
+	void groupLeavesTheSummaryOnceItsLastEventIsEvicted(int windowSize) {
+		FairGuardMonitor monitor = new FairGuardMonitor(List.of("GENDER"), 0.15, 0.2, windowSize, 1);
+		monitor.recordEvent(Map.of("GENDER", "X"), "Approved", 0.9, null);
+		for (int i = 0; i < windowSize - 1; i++) {
+			monitor.recordEvent(Map.of("GENDER", "F"), "Rejected", 0.4, null);
+		}
+		assertEquals(Map.of("X", "1/1", "F", "%d/0".formatted(windowSize - 1)),
+				groupsByValue(monitor.summary().dimensions().get(0)));
+
+		monitor.recordEvent(Map.of("GENDER", "M"), "Approved", 0.5, null);
+
+		DimensionSnapshot gender = monitor.summary().dimensions().get(0);
+		assertEquals(Map.of("F", "%d/0".formatted(windowSize - 1), "M", "1/1"), groupsByValue(gender));
+		assertEquals(windowSize, gender.sampleSize());
+		assertEquals(1.0, gender.parityGap());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 6, 7 })
+	void driftComparesTheOlderAndNewerHalves(int windowSize) {
+		FairGuardMonitor monitor = new FairGuardMonitor(List.of("GENDER"), 0.15, 0.2, windowSize, 5);
+		for (int i = 0; i < windowSize; i++) {
+			monitor.recordEvent(Map.of("GENDER", "F"), "Approved", 0.8, null);
+		}
+		assertEquals(0.0, monitor.summary().drift().score());
+
+		// Replace the whole window; the older half is always the first size / 2 events
+		List<Double> probabilities = new ArrayList<>();
+		for (int i = 0; i < windowSize; i++) {
+			double probability = i < windowSize / 2 ? 0.8 : 0.3;
+			probabilities.add(probability);
+			monitor.recordEvent(Map.of("GENDER", "F"), "Approved", probability, null);
+		}
+		double older = probabilities.subList(0, windowSize / 2).stream().mapToDouble(Double::doubleValue).average()
+				.orElseThrow();
+		double newer = probabilities.subList(windowSize / 2, windowSize).stream().mapToDouble(Double::doubleValue)
+				.average().orElseThrow();
+		assertEquals(round(Math.abs(newer - older)), monitor.summary().drift().score());
+		assertEquals("ALERT", monitor.summary().drift().status());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 10, 200 })
+	void statusCarriesTheSummaryAlerts(int windowSize) {
+		FairGuardMonitor monitor = new FairGuardMonitor(List.of("GENDER", "EDUCATION"), 0.15, 0.2, windowSize, 5);
+		assertStatusMatches(monitor.summary(), monitor.status(), "empty window");
+
+		FairGuardSummaryResponse summary = monitor.seedSimulationData();
+		assertTrue(summary.circuitBreaker().active());
+		assertStatusMatches(summary, monitor.status(), "after simulation");
+	}
+
+	/** The per-event status must report exactly what a freshly built summary would. */
+	private static void assertStatusMatches(FairGuardSummaryResponse summary, Map<String, Object> status,
+			String step) {
+		assertEquals(summary.circuitBreaker().active() ? "ALERT" : "NORMAL", status.get("status"), step);
+		assertEquals(summary.circuitBreaker().active(), status.get("circuitBreakerActive"), step);
+		assertEquals(summary.circuitBreaker().reason(), status.get("reason"), step);
+		assertEquals(summary.alerts(), status.get("alerts"), step);
+		assertEquals(summary.drift().score(), status.get("driftScore"), step);
+		assertEquals(summary.windowSize(), status.get("windowSize"), step);
+	}
+
+	private static double expectedDrift(Deque<Recorded> window) {
+		if (window.size() < 5) {
+			return 0.0;
+		}
+		List<Recorded> events = new ArrayList<>(window);
+		int olderCount = events.size() / 2;
+		double older = events.subList(0, olderCount).stream().mapToDouble(Recorded::probability).average()
+				.orElseThrow();
+		double newer = events.subList(olderCount, events.size()).stream().mapToDouble(Recorded::probability)
+				.average().orElseThrow();
+		return round(Math.abs(newer - older));
+	}
+
+	/** {@code value -> "count/approved"} for every group present in the window. */
+	private static Map<String, String> expectedGroups(Deque<Recorded> window) {
+		return window.stream().collect(Collectors.groupingBy(Recorded::gender, TreeMap::new,
+				Collectors.collectingAndThen(Collectors.toList(), events -> "%d/%d".formatted(events.size(),
+						events.stream().filter(Recorded::approved).count()))));
+	}
+
+	private static Map<String, String> groupsByValue(DimensionSnapshot dimension) {
+		Map<String, String> groups = new TreeMap<>();
+		for (GroupSnapshot group : dimension.groups()) {
+			groups.put(group.value(), "%d/%d".formatted(group.count(), Math.round(group.approvalRate() * group.count())));
+		}
+		return groups;
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 1000) / 1000.0;
+	}
+
+	private record Recorded(String gender, boolean approved, double probability) {
+	}
+}
@@ -0,0 +1,78 @@
+package com.ethicalbanking.gateway.scoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Replays the reference outputs exported by {@code modeling/train_model.py} against the native engine. The build
+ * copies both files from {@code ai-service/ethical_model}, so they always come from the same export.
+ */
+class NativeScoringEngineParityTests {
+
+	private static final double TOLERANCE = 1e-9;
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+	private static PortableModel model;
+	private static JsonNode parity;
+
+	@BeforeAll
+	static void loadFixtures() throws IOException {
+		try (InputStream artifact = resource("/model/model.portable.json");
+				InputStream cases = resource("/scoring/model.parity.json")) {
+			model = objectMapper.readValue(artifact, PortableModel.class);
+			parity = objectMapper.readTree(cases);
+		}
+	}
+
+	@Test
+	void parityCasesTargetTheShippedModel() {
+		assertEquals(parity.get("modelVersion").asText(), model.modelVersion());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void matchesPythonDecisionProbabilityAndShapValues() {
+		NativeScoringEngine engine = new NativeScoringEngine(model);
+		int topN = parity.get("topN").asInt();
+
+		for (JsonNode testCase : parity.get("cases")) {
+			Map<String, Object> payload = objectMapper.convertValue(testCase.get("payload"), Map.class);
+			JsonNode expected = testCase.get("expected");
+			NativeScore actual = engine.score(payload, topN);
+			String label = "payload " + payload;
+
+			assertEquals(expected.get("decision").asText(), actual.decision(), label);
+			assertEquals(expected.get("probability").asDouble(), actual.probability(), TOLERANCE, label);
+			assertEquals(expected.get("base_value").asDouble(), actual.baseValue(), TOLERANCE, label);
+
+			List<String> expectedFeatures = new ArrayList<>();
+			expected.get("shap_values").fieldNames().forEachRemaining(expectedFeatures::add);
+			assertIterableEquals(expectedFeatures, actual.shapValues().keySet(), label);
+			for (String feature : expectedFeatures) {
+				assertEquals(expected.get("shap_values").get(feature).asDouble(), actual.shapValues().get(feature),
+						TOLERANCE, label + " / " + feature);
+			}
+		}
+	}
+
+	@Test
+	void rejectsNonNumericValuesForNumericFeatures() {
+		NativeScoringEngine engine = new NativeScoringEngine(model);
+		assertThrows(IllegalArgumentException.class, () -> engine.score(Map.of("Credit_Score", "excellent"), 6));
+	}
+
+	private static InputStream resource(String path) {
+		return NativeScoringEngineParityTests.class.getResourceAsStream(path);
+	}
+}
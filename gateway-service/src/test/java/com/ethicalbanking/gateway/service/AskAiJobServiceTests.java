@@ -0,0 +1,98 @@
+package com.ethicalbanking.gateway.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ethicalbanking.gateway.client.ExternalServiceException;
+import com.ethicalbanking.gateway.domain.askai.AskAiJob;
+import com.ethicalbanking.gateway.domain.askai.AskAiJobStatus;
+import com.ethicalbanking.gateway.repository.AskAiJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Transient job failures are requeued behind an exponential backoff instead of being retried on the next poll.
+ */
+class AskAiJobServiceTests {
+
+	private final AskAiJobRepository askAiJobRepository = mock(AskAiJobRepository.class);
+	private final AskAiService askAiService = mock(AskAiService.class);
+	// Runs jobs on the polling thread so dispatch returns once the job has been handled
+	private final AskAiJobService askAiJobService = new AskAiJobService(askAiJobRepository, askAiService,
+			new ObjectMapper(), Runnable::run, 1, 100, 4, 1000, 5, 24, 5000, 30000);
+
+	@Test
+	void backoffDoublesWithEachAttemptUpToTheCap() {
+		assertEquals(Duration.ofSeconds(5), askAiJobService.retryBackoff(1));
+		assertEquals(Duration.ofSeconds(10), askAiJobService.retryBackoff(2));
+		assertEquals(Duration.ofSeconds(20), askAiJobService.retryBackoff(3));
+		assertEquals(Duration.ofSeconds(30), askAiJobService.retryBackoff(4));
+		assertEquals(Duration.ofSeconds(30), askAiJobService.retryBackoff(Integer.MAX_VALUE));
+	}
+
+	@Test
+	void transientFailureRequeuesTheJobBehindItsBackoff() {
+		AskAiJob job = claimedJob(2);
+		when(askAiService.processQueuedQuestion(any(), any()))
+				.thenThrow(new ExternalServiceException("Hugging Face", "rate limited"));
+
+		Instant before = Instant.now();
+		askAiJobService.dispatch();
+
+		verify(askAiJobRepository).save(job);
+		assertEquals(AskAiJobStatus.QUEUED, job.getStatus());
+		assertEquals("rate limited", job.getError());
+		assertFalse(job.getNotBefore().isBefore(before.plusSeconds(10)), String.valueOf(job.getNotBefore()));
+		assertFalse(job.getNotBefore().isAfter(Instant.now().plusSeconds(10)), String.valueOf(job.getNotBefore()));
+	}
+
+	@Test
+	void lastAttemptFailsTheJobWithoutRequeueing() {
+		AskAiJob job = claimedJob(4);
+		when(askAiService.processQueuedQuestion(any(), any()))
+				.thenThrow(new DeadlineExceededException("explanation", "out of budget"));
+
+		askAiJobService.dispatch();
+
+		assertEquals(AskAiJobStatus.FAILED, job.getStatus());
+		assertNull(job.getNotBefore());
+	}
+
+	@Test
+	void pollOnlyAsksForJobsWhoseBackoffHasElapsed() {
+		Instant before = Instant.now();
+		askAiJobService.dispatch();
+
+		verify(askAiJobRepository).findReadyIds(eq(AskAiJobStatus.QUEUED),
+				argThat(now -> !now.isBefore(before) && !now.isAfter(Instant.now())),
+				any(Pageable.class));
+	}
+
+	/** A queued job that the poller will find and claim, as if on its {@code attempts}-th attempt. */
+	private AskAiJob claimedJob(int attempts) {
+		AskAiJob job = new AskAiJob();
+		job.setUserExternalId("user_001");
+		job.setQuestion("Why was I approved?");
+		job.setFeatureSnapshot("{}");
+		ReflectionTestUtils.setField(job, "attempts", attempts);
+		when(askAiJobRepository.findReadyIds(eq(AskAiJobStatus.QUEUED), any(Instant.class), any(Pageable.class)))
+				.thenReturn(List.of(job.getId()));
+		when(askAiJobRepository.claim(eq(job.getId()), any(Instant.class), eq(AskAiJobStatus.QUEUED),
+				eq(AskAiJobStatus.RUNNING))).thenReturn(1);
+		when(askAiJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+		return job;
+	}
+}
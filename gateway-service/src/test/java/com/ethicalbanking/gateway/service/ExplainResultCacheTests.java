@@ -0,0 +1,70 @@
+package com.ethicalbanking.gateway.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ethicalbanking.gateway.dto.ExplainResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cached backend explanations are only served for the model version the backend currently reports.
+ */
+class ExplainResultCacheTests {
+
+	private final ExplainResultCache cache = new ExplainResultCache(new SimpleMeterRegistry(), true, 100, 60,
+			0.0001);
+
+	@Test
+	void servesEntriesOfTheCurrentBackendModel() {
+		cache.put("a", response("v1", 0.8));
+
+		assertEquals(0.8, cache.get("a").orElseThrow().probability());
+		assertEquals("v1", cache.get("a").orElseThrow().modelVersion());
+	}
+
+	@Test
+	void retrainedBackendDropsEveryCachedExplanation() {
+		cache.put("a", response("v1", 0.8));
+		cache.put("b", response("v1", 0.3));
+
+		cache.observeModelVersion("v2");
+
+		assertFalse(cache.get("a").isPresent());
+		assertFalse(cache.get("b").isPresent());
+		assertTrue(cache.isEmpty());
+	}
+
+	@Test
+	void freshResponseFromANewModelInvalidatesOlderEntries() {
+		cache.put("a", response("v1", 0.8));
+		cache.put("b", response("v2", 0.3));
+
+		assertFalse(cache.get("a").isPresent());
+		assertEquals(0.3, cache.get("b").orElseThrow().probability());
+	}
+
+	@Test
+	void sameVersionKeepsTheCache() {
+		cache.put("a", response("v1", 0.8));
+
+		cache.observeModelVersion("v1");
+		cache.observeModelVersion(null);
+
+		assertTrue(cache.get("a").isPresent());
+	}
+
+	@Test
+	void responsesWithoutAModelVersionAreNotCached() {
+		cache.put("a", response(null, 0.8));
+
+		assertFalse(cache.get("a").isPresent());
+		assertTrue(cache.isEmpty());
+	}
+
+	private static ExplainResponse response(String modelVersion, double probability) {
+		return new ExplainResponse("Approved", probability, Map.of("Credit Score", 0.4), -0.1, modelVersion, null);
+	}
+}
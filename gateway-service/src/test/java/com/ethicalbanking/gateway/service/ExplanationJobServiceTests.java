@@ -0,0 +1,86 @@
+package com.ethicalbanking.gateway.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.ethicalbanking.gateway.client.LlmRequestScheduler.Priority;
+import com.ethicalbanking.gateway.dto.ExplanationJobResponse;
+import com.ethicalbanking.gateway.service.ExplanationJobService.JobStatus;
+import com.ethicalbanking.gateway.service.HuggingFaceService.PreparedPrompt;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Background explanation jobs always reach a final state and are only readable by the user they belong to.
+ */
+class ExplanationJobServiceTests {
+
+	private static final PreparedPrompt PROMPT = new PreparedPrompt("Approved", Map.of("Credit Score", 0.4),
+			"system", "user");
+
+	private final HuggingFaceService huggingFaceService = mock(HuggingFaceService.class);
+	private ExplanationJobService explanationJobService;
+
+	@BeforeEach
+	void setUp() {
+		when(huggingFaceService.interimExplanation(PROMPT)).thenReturn("interim");
+		when(huggingFaceService.fallbackExplanation(PROMPT)).thenReturn("fallback");
+		// Runs enrichment on the submitting thread so the job is final once submit returns
+		explanationJobService = new ExplanationJobService(huggingFaceService, Runnable::run, 45, 15, 100);
+	}
+
+	@Test
+	void generatedExplanationCompletesTheJob() {
+		when(huggingFaceService.generate(any(), any(Duration.class), any(Priority.class)))
+				.thenReturn(Optional.of("generated"));
+
+		ExplanationJobResponse job = explanationJobService.submit("user_001", PROMPT);
+
+		assertEquals(JobStatus.COMPLETED.name(), job.status());
+		assertEquals("generated", job.explanation());
+	}
+
+	@Test
+	void failingGenerationFinishesTheJobWithTheFallback() {
+		when(huggingFaceService.generate(any(), any(Duration.class), any(Priority.class)))
+				.thenThrow(new IllegalStateException("renderer exploded"));
+
+		ExplanationJobResponse job = explanationJobService.submit("user_001", PROMPT);
+
+		assertEquals(JobStatus.FAILED.name(), job.status());
+		assertEquals("fallback", job.explanation());
+	}
+
+	@Test
+	void failingFallbackKeepsTheInterimAnswer() {
+		when(huggingFaceService.generate(any(), any(Duration.class), any(Priority.class)))
+				.thenReturn(Optional.empty());
+		when(huggingFaceService.fallbackExplanation(PROMPT)).thenThrow(new IllegalStateException("no template"));
+
+		ExplanationJobResponse job = explanationJobService.submit("user_001", PROMPT);
+
+		assertEquals(JobStatus.FAILED.name(), job.status());
+		assertEquals("interim", job.explanation());
+	}
+
+	@Test
+	void jobsAreOnlyVisibleToTheirOwner() {
+		when(huggingFaceService.generate(any(), any(Duration.class), any(Priority.class)))
+				.thenReturn(Optional.of("generated"));
+		String jobId = explanationJobService.submit("user_001", PROMPT).jobId();
+
+		assertTrue(explanationJobService.find(jobId, "user_001").isPresent());
+		assertFalse(explanationJobService.find(jobId, "user_002").isPresent());
+		assertFalse(explanationJobService.subscribe(jobId, "user_002").isPresent());
+		// Without a session there is no caller identity to check
+		assertTrue(explanationJobService.find(jobId, null).isPresent());
+		assertFalse(explanationJobService.find("unknown", "user_001").isPresent());
+	}
+}
@@ -0,0 +1,78 @@
+package com.ethicalbanking.gateway.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.ethicalbanking.gateway.client.AiInsightsClient;
+import com.ethicalbanking.gateway.client.AiWireFormat;
+import com.ethicalbanking.gateway.client.FairGuardClient;
+import com.ethicalbanking.gateway.scoring.FeatureSchemaRegistry;
+import com.ethicalbanking.gateway.service.ExplanationService.ScoredExplanation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cancelling the future returned by {@link ExplanationService#scoreAsync} must dispose the backend exchange, not just
+ * a derived stage.
+ */
+class ExplanationServiceCancellationTests {
+
+	private final CountDownLatch exchangeStarted = new CountDownLatch(1);
+	private final AtomicBoolean exchangeCancelled = new AtomicBoolean();
+	private ExplanationService explanationService;
+
+	@BeforeEach
+	void setUp() {
+		// Stands in for the HTTP connector: the exchange never answers and records cancellation of its subscription
+		WebClient aiWebClient = WebClient.builder()
+				.exchangeFunction(request -> Mono.<ClientResponse>never()
+						.doOnSubscribe(subscription -> exchangeStarted.countDown())
+						.doOnCancel(() -> exchangeCancelled.set(true)))
+				.build();
+		AiWireFormat wireFormat = new AiWireFormat("json");
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		FairGuardService fairGuardService = new FairGuardService(new FairGuardClient(aiWebClient, wireFormat),
+				meterRegistry, "local", List.of("GENDER"), 0.15, 0.2, 200, 5, 32, 2000);
+		explanationService = new ExplanationService(new AiInsightsClient(aiWebClient, wireFormat), fairGuardService,
+				new ExplainResultCache(meterRegistry, true, 100, 60, 0.0001), mock(FeatureSchemaRegistry.class),
+				false);
+	}
+
+	@Test
+	void cancellingTheScoreDisposesTheExchange() throws InterruptedException {
+		CompletableFuture<ScoredExplanation> scored = explanationService.scoreAsync(Map.of("AGE", 41), null,
+				Duration.ofSeconds(5));
+		assertTrue(exchangeStarted.await(5, TimeUnit.SECONDS), "exchange should start on scoreAsync");
+		assertFalse(exchangeCancelled.get());
+
+		scored.cancel(true);
+
+		assertTrue(exchangeCancelled.get(), "cancelling the future should cancel the WebClient exchange");
+	}
+
+	@Test
+	void cancellingADerivedStageLeavesTheExchangeRunning() throws InterruptedException {
+		CompletableFuture<ScoredExplanation> scored = explanationService.scoreAsync(Map.of("AGE", 41), null,
+				Duration.ofSeconds(5));
+		assertTrue(exchangeStarted.await(5, TimeUnit.SECONDS));
+
+		// Callers must cancel the future scoreAsync returned, as AskAiService does
+		scored.thenApply(ScoredExplanation::response).cancel(true);
+
+		assertFalse(exchangeCancelled.get());
+		scored.cancel(true);
+		assertTrue(exchangeCancelled.get());
+	}
+}
@@ -0,0 +1,135 @@
+package com.ethicalbanking.gateway.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ethicalbanking.gateway.domain.user.UserProfile;
+import com.ethicalbanking.gateway.domain.user.UserType;
+import com.ethicalbanking.gateway.service.SessionTokenService.IssuedSessionToken;
+import com.ethicalbanking.gateway.service.SessionTokenService.SessionPrincipal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Signing, tampering, expiry and revocation of the HMAC session tokens.
+ */
+class SessionTokenServiceTests {
+
+	private static final String SECRET = "session-token-tests-secret";
+
+	private final SessionTokenService sessionTokenService = new SessionTokenService(SECRET, 30);
+
+	@Test
+	void issuedTokenVerifiesToItsUser() {
+		IssuedSessionToken issued = sessionTokenService.issue(profile("user_001", UserType.CUSTOMER));
+
+		SessionPrincipal principal = sessionTokenService.verify(issued.token()).orElseThrow();
+		assertEquals("user_001", principal.userId());
+		assertEquals(UserType.CUSTOMER, principal.userType());
+		assertEquals(issued.expiresAt().getEpochSecond(), principal.expiresAt().getEpochSecond());
+		assertTrue(issued.expiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(29))));
+	}
+
+	@Test
+	void tamperedPayloadIsRejected() {
+		String token = sessionTokenService.issue(profile("user_001", UserType.CUSTOMER)).token();
+		String[] parts = token.split("\\.");
+		String payload = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+		String escalated = payload.replace("|CUSTOMER|", "|ADMIN|");
+
+		assertFalse(sessionTokenService.verify(encode(escalated) + "." + parts[1]).isPresent());
+		assertFalse(sessionTokenService.verify(parts[0] + "." + encode("not-the-signature")).isPresent());
+	}
+
+	@Test
+	void tokenFromAnotherSecretIsRejected() {
+		String token = new SessionTokenService("another-secret", 30).issue(profile("user_001", UserType.ADMIN))
+				.token();
+
+		assertFalse(sessionTokenService.verify(token).isPresent());
+	}
+
+	@Test
+	void malformedTokensAreRejected() {
+		for (String token : new String[] { null, "", "   ", "no-separator", "payload.", ".signature", "!!!.###",
+				encode("user_001|CUSTOMER") + "." + encode("x") }) {
+			assertFalse(sessionTokenService.verify(token).isPresent(), () -> "accepted " + token);
+		}
+		// Correctly signed, but the payload does not have the expected fields
+		assertFalse(sessionTokenService.verify(signed("user_001|CUSTOMER|not-a-number|id")).isPresent());
+		assertFalse(sessionTokenService.verify(signed("user_001|ROOT|" + epochSeconds(60) + "|id")).isPresent());
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		String live = signed("user_001|CUSTOMER|" + epochSeconds(60) + "|" + UUID.randomUUID());
+		String expired = signed("user_001|CUSTOMER|" + epochSeconds(-1) + "|" + UUID.randomUUID());
+
+		assertTrue(sessionTokenService.verify(live).isPresent());
+		assertFalse(sessionTokenService.verify(expired).isPresent());
+		assertFalse(sessionTokenService.revoke(expired));
+	}
+
+	@Test
+	void revokedTokenIsRejectedWithoutAffectingOtherSessions() {
+		String first = sessionTokenService.issue(profile("user_001", UserType.CUSTOMER)).token();
+		String second = sessionTokenService.issue(profile("user_001", UserType.CUSTOMER)).token();
+
+		assertTrue(sessionTokenService.revoke(first));
+		assertFalse(sessionTokenService.verify(first).isPresent());
+		assertFalse(sessionTokenService.revoke(first));
+		assertTrue(sessionTokenService.verify(second).isPresent());
+	}
+
+	@Test
+	void revokedTokensSurviveThePrune() {
+		String revoked = sessionTokenService.issue(profile("user_001", UserType.CUSTOMER)).token();
+		sessionTokenService.revoke(revoked);
+		// Crossing the prune threshold only drops entries whose tokens have already expired
+		for (int i = 0; i < 1100; i++) {
+			sessionTokenService.revoke(sessionTokenService.issue(profile("user_" + i, UserType.CUSTOMER)).token());
+		}
+
+		assertFalse(sessionTokenService.verify(revoked).isPresent());
+	}
+
+	private static UserProfile profile(String externalId, UserType userType) {
+		UserProfile profile = new UserProfile();
+		profile.setExternalId(externalId);
+		profile.setUserType(userType);
+		return profile;
+	}
+
+	private static long epochSeconds(long offsetSeconds) {
+		return Instant.now().plusSeconds(offsetSeconds).getEpochSecond();
+	}
+
+	/** Signs {@code payload} the way the service does, to build tokens it would never issue itself. */
+	private static String signed(String payload) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+			return encode(payloadBytes) + "." + encode(mac.doFinal(payloadBytes));
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static String encode(String value) {
+		return encode(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String encode(byte[] value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+	}
+}
@@ -0,0 +1,29 @@
+package com.ethicalbanking.loadtest;
+
+import java.util.Random;
+
+/**
+ * Injected stub latency in milliseconds.
+ * <p>
+ * {@code fixed} uses {@code valueMs}; {@code uniform} draws from {@code [minMs, maxMs)}; {@code exponential} has
+ * mean {@code valueMs}; {@code lognormal} has median {@code valueMs} and shape {@code sigma}. Samples are capped at
+ * {@code maxMs} when it is set (except for {@code uniform}, where it is the upper bound).
+ */
+public record LatencyDistribution(String type, double valueMs, double minMs, double maxMs, double sigma) {
+
+	public static final LatencyDistribution NONE = new LatencyDistribution("fixed", 0, 0, 0, 0);
+
+	public long sampleMillis(Random random) {
+		double sample = switch (type == null ? "fixed" : type) {
+			case "fixed" -> valueMs;
+			case "uniform" -> minMs + random.nextDouble() * Math.max(0, maxMs - minMs);
+			case "exponential" -> -valueMs * Math.log(1 - random.nextDouble());
+			case "lognormal" -> valueMs * Math.exp(sigma * random.nextGaussian());
+			default -> throw new IllegalArgumentException("Unknown latency distribution '%s'".formatted(type));
+		};
+		if (maxMs > 0 && !"uniform".equals(type)) {
+			sample = Math.min(sample, maxMs);
+		}
+		return Math.max(0, Math.round(sample));
+	}
+}
@@ -0,0 +1,72 @@
+package com.ethicalbanking.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response times and outcomes of one operation. Latencies are measured from the intended send time of the
+ * open-loop schedule, so queueing behind a slow gateway is included rather than hidden.
+ * <p>
+ * Arrivals dropped because the client was saturated are only counted: they never reached the gateway, so they
+ * are kept out of the latency percentiles, throughput and outcome breakdown.
+ */
+public class LatencyRecorder {
+
+	private static final double[] PERCENTILES = { 50, 90, 95, 99, 99.9 };
+
+	private long[] latenciesMicros = new long[1024];
+	private int count;
+	private long failures;
+	private long clientSaturated;
+	private final Map<String, Long> outcomes = new TreeMap<>();
+
+	public synchronized void record(long latencyMicros, String outcome, boolean success) {
+		if (count == latenciesMicros.length) {
+			latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+		}
+		latenciesMicros[count++] = latencyMicros;
+		if (!success) {
+			failures++;
+		}
+		outcomes.merge(outcome, 1L, Long::sum);
+	}
+
+	public synchronized void recordClientSaturated() {
+		clientSaturated++;
+	}
+
+	/** Count, throughput, failures, dropped arrivals, outcome breakdown and latency percentiles in milliseconds. */
+	public synchronized Map<String, Object> summarize(double durationSeconds) {
+		long[] sorted = Arrays.copyOf(latenciesMicros, count);
+		Arrays.sort(sorted);
+
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("requests", count);
+		summary.put("failures", failures);
+		summary.put("clientSaturated", clientSaturated);
+		summary.put("throughputPerSecond", round(count / durationSeconds));
+		summary.put("outcomes", new TreeMap<>(outcomes));
+		Map<String, Object> latency = new LinkedHashMap<>();
+		if (count > 0) {
+			latency.put("mean", round(Arrays.stream(sorted).average().orElse(0) / 1000.0));
+			for (double percentile : PERCENTILES) {
+				latency.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+						: String.valueOf(percentile)), round(valueAt(sorted, percentile) / 1000.0));
+			}
+			latency.put("max", round(sorted[count - 1] / 1000.0));
+		}
+		summary.put("latencyMs", latency);
+		return summary;
+	}
+
+	private static long valueAt(long[] sorted, double percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+}
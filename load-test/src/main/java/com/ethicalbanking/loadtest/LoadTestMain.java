@@ -0,0 +1,108 @@
+package com.ethicalbanking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Entry point: {@code run <scenario.json>} starts the stubs (unless disabled), drives the scenario and writes the
+ * report; {@code stubs <scenario.json>} only serves the stubs until interrupted, for manual testing.
+ */
+public final class LoadTestMain {
+
+	private LoadTestMain() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length != 2 || !("run".equals(args[0]) || "stubs".equals(args[0]))) {
+			System.err.println("Usage: java -jar load-test.jar (run|stubs) <scenario.json>");
+			System.exit(2);
+		}
+		ObjectMapper objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.enable(SerializationFeature.INDENT_OUTPUT)
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		Scenario scenario = objectMapper.readValue(Path.of(args[1]).toFile(), Scenario.class);
+
+		if ("stubs".equals(args[0])) {
+			try (StubServers stubs = new StubServers(scenario.stubs(), objectMapper)) {
+				stubs.start();
+				System.out.printf("AI backend stub on :%d, LLM stub on :%d; Ctrl+C to stop%n",
+						scenario.stubs().aiPort(), scenario.stubs().llmPort());
+				new CountDownLatch(1).await();
+			}
+			return;
+		}
+		run(scenario, objectMapper);
+	}
+
+	private static void run(Scenario scenario, ObjectMapper objectMapper) throws IOException, InterruptedException {
+		StubServers stubs = scenario.stubs() != null && scenario.stubs().enabled()
+				? new StubServers(scenario.stubs(), objectMapper) : null;
+		try {
+			if (stubs != null) {
+				stubs.start();
+			}
+			TrafficDriver driver = new TrafficDriver(scenario.gatewayUrl(), scenario.traffic(), objectMapper);
+			driver.prepare();
+
+			Instant startedAt = Instant.now();
+			Map<Operation, LatencyRecorder> recorders = driver.run();
+			double durationSeconds = scenario.traffic().durationSeconds();
+
+			Map<String, Object> operations = new LinkedHashMap<>();
+			recorders.forEach((operation, recorder) -> {
+				Map<String, Object> summary = new LinkedHashMap<>();
+				summary.put("route", operation.route());
+				summary.putAll(recorder.summarize(durationSeconds));
+				operations.put(operation.key(), summary);
+			});
+
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("scenario", scenario.name());
+			report.put("gatewayUrl", scenario.gatewayUrl());
+			report.put("startedAt", startedAt);
+			report.put("offeredRatePerSecond", scenario.traffic().ratePerSecond());
+			report.put("warmupSeconds", scenario.traffic().warmupSeconds());
+			report.put("durationSeconds", scenario.traffic().durationSeconds());
+			report.put("operations", operations);
+			if (stubs != null) {
+				report.put("stubs", stubs.counters());
+			}
+
+			Path reportPath = Path.of(scenario.reportPath() != null ? scenario.reportPath()
+					: "results/%s.json".formatted(scenario.name()));
+			if (reportPath.getParent() != null) {
+				Files.createDirectories(reportPath.getParent());
+			}
+			objectMapper.writeValue(reportPath.toFile(), report);
+			printSummary(operations, reportPath);
+		}
+		finally {
+			if (stubs != null) {
+				stubs.close();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void printSummary(Map<String, Object> operations, Path reportPath) {
+		System.out.printf("%-18s %9s %9s %10s %8s %8s %8s %8s %8s%n", "operation", "requests", "failures",
+				"saturated", "rps", "p50", "p95", "p99", "max");
+		operations.forEach((key, value) -> {
+			Map<String, Object> summary = (Map<String, Object>) value;
+			Map<String, Object> latency = (Map<String, Object>) summary.get("latencyMs");
+			System.out.printf("%-18s %9s %9s %10s %8s %8s %8s %8s %8s%n", key, summary.get("requests"),
+					summary.get("failures"), summary.get("clientSaturated"), summary.get("throughputPerSecond"),
+					latency.get("p50"), latency.get("p95"), latency.get("p99"), latency.get("max"));
+		});
+		System.out.println("Report written to " + reportPath.toAbsolutePath());
+	}
+}
@@ -0,0 +1,37 @@
+package com.ethicalbanking.loadtest;
+
+/**
+ * Gateway calls the driver can issue; {@link #key()} is the name used in scenario mixes and reports.
+ */
+public enum Operation {
+
+	ASK("ask", "POST /api/ask"),
+	DECISION("decision", "GET /api/decision/{userId}"),
+	FAIRGUARD_SUMMARY("fairguardSummary", "GET /api/fairguard/summary"),
+	LOGIN("login", "POST /api/user/login");
+
+	private final String key;
+	private final String route;
+
+	Operation(String key, String route) {
+		this.key = key;
+		this.route = route;
+	}
+
+	public String key() {
+		return key;
+	}
+
+	public String route() {
+		return route;
+	}
+
+	public static Operation fromKey(String key) {
+		for (Operation operation : values()) {
+			if (operation.key.equals(key)) {
+				return operation;
+			}
+		}
+		throw new IllegalArgumentException("Unknown operation '%s' in traffic mix".formatted(key));
+	}
+}
@@ -0,0 +1,46 @@
+package com.ethicalbanking.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A load-test run: where the gateway lives, how the stubs behave and which traffic mix to drive.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Scenario(String name, String gatewayUrl, String reportPath, Stubs stubs, Traffic traffic) {
+
+	/**
+	 * Stand-ins for the AI backend ({@code aiPort}) and the OpenAI-compatible LLM endpoint ({@code llmPort}).
+	 */
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Stubs(boolean enabled, int aiPort, int llmPort, Endpoint explain, Endpoint fairguardSummary,
+			Endpoint fairguardStatus, Endpoint fairguardEvents, Endpoint chatCompletions, Streaming streaming) {
+	}
+
+	/**
+	 * Latency added before answering and the share of requests answered with {@code errorStatus} instead.
+	 */
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Endpoint(LatencyDistribution latency, double errorRate, int errorStatus) {
+
+		public static final Endpoint IMMEDIATE = new Endpoint(LatencyDistribution.NONE, 0, 503);
+	}
+
+	/**
+	 * Shape of {@code "stream": true} chat completions: number of SSE chunks and the delay before each one.
+	 */
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Streaming(int chunks, LatencyDistribution interChunk) {
+	}
+
+	/**
+	 * Open-loop arrivals at {@code ratePerSecond}; requests issued during the warm-up are not recorded.
+	 * {@code mix} weights are keyed by {@link Operation#key()}. {@code distinctSnapshots} bounds the Ask AI feature
+	 * snapshots so repeat questions behave like production traffic.
+	 */
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Traffic(double ratePerSecond, int warmupSeconds, int durationSeconds, int maxInFlight,
+			List<String> users, String password, Map<String, Integer> mix, int distinctSnapshots, long seed) {
+	}
+}
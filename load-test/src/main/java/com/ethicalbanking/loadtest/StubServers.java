@@ -0,0 +1,269 @@
+package com.ethicalbanking.loadtest;
+
+import com.ethicalbanking.loadtest.Scenario.Endpoint;
+import com.ethicalbanking.loadtest.Scenario.Streaming;
+import com.ethicalbanking.loadtest.Scenario.Stubs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDK {@link HttpServer} stand-ins for the Flask AI backend and the Hugging Face router.
+ * <p>
+ * Request bodies are read as CBOR or JSON by {@code Content-Type} and answered in CBOR when the caller accepts
+ * it, like the real backend. Every endpoint sleeps for a sample of its latency distribution and fails a
+ * configurable share of requests; 429 and 503 failures carry {@code Retry-After: 1}.
+ */
+public class StubServers implements AutoCloseable {
+
+	private static final String CBOR = "application/cbor";
+	private static final String JSON = "application/json";
+	private static final String[] NUMERIC_FEATURES = { "Credit_Score", "enq_L3m", "NETMONTHLYINCOME",
+			"num_times_delinquent", "AGE", "time_since_recent_enq" };
+
+	private final Stubs config;
+	private final ObjectMapper jsonMapper;
+	private final ObjectMapper cborMapper;
+	private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "stub-worker");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> injectedErrors = new ConcurrentHashMap<>();
+	private final AtomicLong decisions = new AtomicLong();
+	private HttpServer aiServer;
+	private HttpServer llmServer;
+
+	public StubServers(Stubs config, ObjectMapper jsonMapper) {
+		this.config = config;
+		// Compact output: each SSE event must stay on one line
+		this.jsonMapper = jsonMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+		this.cborMapper = new ObjectMapper(new CBORFactory());
+	}
+
+	public void start() throws IOException {
+		aiServer = HttpServer.create(new InetSocketAddress(config.aiPort()), 512);
+		aiServer.createContext("/explain", stub("explain", config.explain(), this::explain));
+		aiServer.createContext("/monitor/fairguard/status", stub("fairguardStatus", config.fairguardStatus(),
+				exchange -> respond(exchange, 200, status())));
+		aiServer.createContext("/monitor/fairguard/events", stub("fairguardEvents", config.fairguardEvents(),
+				exchange -> {
+					readBody(exchange);
+					decisions.incrementAndGet();
+					respond(exchange, 200, status());
+				}));
+		aiServer.createContext("/monitor/fairguard", stub("fairguardSummary", config.fairguardSummary(),
+				exchange -> respond(exchange, 200, summary())));
+		aiServer.setExecutor(executor);
+		aiServer.start();
+
+		llmServer = HttpServer.create(new InetSocketAddress(config.llmPort()), 512);
+		llmServer.createContext("/v1/chat/completions", stub("chatCompletions", config.chatCompletions(),
+				this::chatCompletion));
+		llmServer.setExecutor(executor);
+		llmServer.start();
+	}
+
+	/** Requests and injected errors per stub endpoint since start. */
+	public Map<String, Map<String, Long>> counters() {
+		Map<String, Map<String, Long>> counters = new LinkedHashMap<>();
+		requests.forEach((name, count) -> counters.put(name, Map.of(
+				"requests", count.get(),
+				"injectedErrors", injectedErrors.getOrDefault(name, new AtomicLong()).get())));
+		return counters;
+	}
+
+	@Override
+	public void close() {
+		if (aiServer != null) {
+			aiServer.stop(0);
+		}
+		if (llmServer != null) {
+			llmServer.stop(0);
+		}
+		executor.shutdownNow();
+	}
+
+	private HttpHandler stub(String name, Endpoint endpoint, HttpHandler handler) {
+		Endpoint behaviour = endpoint != null ? endpoint : Endpoint.IMMEDIATE;
+		return exchange -> {
+			try {
+				requests.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				pause(behaviour.latency() != null ? behaviour.latency().sampleMillis(random) : 0);
+				if (behaviour.errorRate() > 0 && random.nextDouble() < behaviour.errorRate()) {
+					injectedErrors.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+					int status = behaviour.errorStatus() > 0 ? behaviour.errorStatus() : 503;
+					if (status == 429 || status == 503) {
+						exchange.getResponseHeaders().set("Retry-After", "1");
+					}
+					respond(exchange, status, Map.of("error", "injected %d from %s stub".formatted(status, name)));
+					return;
+				}
+				handler.handle(exchange);
+			}
+			catch (RuntimeException ex) {
+				respond(exchange, 500, Map.of("error", String.valueOf(ex.getMessage())));
+			}
+			finally {
+				exchange.close();
+			}
+		};
+	}
+
+	private void explain(HttpExchange exchange) throws IOException {
+		Map<String, Object> payload = readBody(exchange);
+		double creditScore = number(payload.get("Credit_Score"), 680);
+		double logOdds = (creditScore - 650) / 40.0;
+		double probability = 1 / (1 + Math.exp(-logOdds));
+
+		Map<String, Object> shapValues = new LinkedHashMap<>();
+		for (int i = 0; i < NUMERIC_FEATURES.length; i++) {
+			shapValues.put(NUMERIC_FEATURES[i], Math.round(logOdds / (i + 2) * 1000) / 1000.0);
+		}
+		decisions.incrementAndGet();
+
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("decision", probability >= 0.5 ? "Approved" : "Rejected");
+		response.put("probability", probability);
+		response.put("shap_values", shapValues);
+		response.put("base_value", -0.12);
+		response.put("model_version", "loadtest-stub");
+		response.put("fairguard", status());
+		respond(exchange, 200, response);
+	}
+
+	private void chatCompletion(HttpExchange exchange) throws IOException {
+		Map<String, Object> request = readBody(exchange);
+		String content = """
+				{"summary":"The decision was driven mainly by the credit score and recent enquiries.",\
+				"factors":[{"feature":"Credit Score","reason":"The score moved the approval odds the most."},\
+				{"feature":"Enquiries (3 months)","reason":"Recent enquiries signal credit seeking."}],\
+				"next_steps":["Keep utilisation low.","Avoid new enquiries for three months."]}""";
+
+		if (Boolean.TRUE.equals(request.get("stream"))) {
+			streamCompletion(exchange, content);
+			return;
+		}
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("id", "chatcmpl-stub");
+		response.put("object", "chat.completion");
+		response.put("model", request.getOrDefault("model", "stub"));
+		response.put("choices", List.of(Map.of("index", 0, "finish_reason", "stop",
+				"message", Map.of("role", "assistant", "content", content))));
+		response.put("usage", Map.of("prompt_tokens", 140, "completion_tokens", 90, "total_tokens", 230));
+		respond(exchange, 200, response);
+	}
+
+	private void streamCompletion(HttpExchange exchange, String content) throws IOException {
+		Streaming streaming = config.streaming();
+		int chunks = streaming != null && streaming.chunks() > 0 ? streaming.chunks() : 8;
+		LatencyDistribution interChunk = streaming != null && streaming.interChunk() != null
+				? streaming.interChunk() : LatencyDistribution.NONE;
+
+		exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+		exchange.sendResponseHeaders(200, 0);
+		OutputStream body = exchange.getResponseBody();
+		int step = (content.length() + chunks - 1) / chunks;
+		for (int offset = 0; offset < content.length(); offset += step) {
+			pause(interChunk.sampleMillis(ThreadLocalRandom.current()));
+			String delta = content.substring(offset, Math.min(content.length(), offset + step));
+			Map<String, Object> chunk = Map.of("object", "chat.completion.chunk",
+					"choices", List.of(Map.of("index", 0, "delta", Map.of("content", delta))));
+			body.write(("data: " + jsonMapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+			body.flush();
+		}
+		body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+		body.flush();
+	}
+
+	private Map<String, Object> status() {
+		Map<String, Object> status = new LinkedHashMap<>();
+		status.put("status", "NORMAL");
+		status.put("circuitBreakerActive", false);
+		status.put("reason", null);
+		status.put("alerts", List.of());
+		status.put("driftScore", 0.04);
+		status.put("windowSize", Math.min(200, decisions.get()));
+		return status;
+	}
+
+	private Map<String, Object> summary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("generatedAt", Instant.now().toString());
+		summary.put("windowSize", Math.min(200, decisions.get()));
+		summary.put("drift", Map.of("score", 0.04, "threshold", 0.2, "status", "stable"));
+		summary.put("circuitBreaker", Map.of("active", false, "reason", ""));
+		summary.put("alerts", List.of());
+		summary.put("dimensions", List.of(Map.of("attribute", "GENDER", "parityGap", 0.03, "threshold", 0.15,
+				"status", "ok", "sampleSize", 200, "groups", List.of(
+						Map.of("value", "F", "count", 96, "approvalRate", 0.62),
+						Map.of("value", "M", "count", 104, "approvalRate", 0.65)))));
+		summary.put("shapWatchlist", List.of(Map.of("feature", "Credit_Score", "weight", 0.41)));
+		return summary;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] bytes = in.readAllBytes();
+			if (bytes.length == 0) {
+				return Map.of();
+			}
+			String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+			ObjectMapper mapper = contentType != null && contentType.startsWith(CBOR) ? cborMapper : jsonMapper;
+			return mapper.readValue(bytes, Map.class);
+		}
+	}
+
+	private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+		String accept = exchange.getRequestHeaders().getFirst("Accept");
+		boolean cbor = accept != null && accept.contains(CBOR);
+		byte[] bytes = (cbor ? cborMapper : jsonMapper).writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", cbor ? CBOR : JSON);
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+	}
+
+	private static double number(Object value, double fallback) {
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		try {
+			return value != null ? Double.parseDouble(value.toString()) : fallback;
+		}
+		catch (NumberFormatException ex) {
+			return fallback;
+		}
+	}
+
+	private static void pause(long millis) {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
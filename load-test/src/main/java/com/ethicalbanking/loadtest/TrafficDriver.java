@@ -0,0 +1,222 @@
+package com.ethicalbanking.loadtest;
+
+import com.ethicalbanking.loadtest.Scenario.Traffic;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an open-loop traffic mix against the gateway.
+ * <p>
+ * Arrivals follow a fixed schedule independent of response times; when {@code maxInFlight} requests are already
+ * outstanding the arrival is recorded as {@code client-saturated} instead of being delayed, so an overloaded
+ * gateway shows up as failures and tail latency rather than as a lower offered rate.
+ */
+public class TrafficDriver {
+
+	private static final String SESSION_TOKEN_HEADER = "X-Session-Token";
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final String[] QUESTIONS = { "Why was my application declined?",
+			"What would improve my chances next time?", "Which factors mattered most?" };
+	private static final String[] EDUCATION = { "GRADUATE", "UNDER GRADUATE", "POST-GRADUATE", "12TH", "SSC" };
+
+	private final String gatewayUrl;
+	private final Traffic traffic;
+	private final ObjectMapper objectMapper;
+	private final Random random;
+	private final ExecutorService executor;
+	private final HttpClient httpClient;
+	private final Map<String, String> sessionTokens = new ConcurrentHashMap<>();
+	private final Map<String, String> consentedQuestions = new ConcurrentHashMap<>();
+	private final List<Map<String, Object>> snapshots = new ArrayList<>();
+
+	public TrafficDriver(String gatewayUrl, Traffic traffic, ObjectMapper objectMapper) {
+		this.gatewayUrl = gatewayUrl.endsWith("/") ? gatewayUrl.substring(0, gatewayUrl.length() - 1) : gatewayUrl;
+		this.traffic = traffic;
+		this.objectMapper = objectMapper;
+		this.random = new Random(traffic.seed());
+		this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(executor)
+				.build();
+	}
+
+	/**
+	 * Logs every scenario user in, records TrustVault consent so Ask AI is allowed, and builds the snapshot pool.
+	 * The gateway matches the question against the consent hash, so each user always asks the question they
+	 * consented to.
+	 */
+	public void prepare() throws IOException, InterruptedException {
+		for (int i = 0; i < traffic.users().size(); i++) {
+			String userId = traffic.users().get(i);
+			String question = QUESTIONS[i % QUESTIONS.length];
+			HttpResponse<String> login = httpClient.send(login(userId), HttpResponse.BodyHandlers.ofString());
+			if (login.statusCode() != 200) {
+				throw new IllegalStateException("Login for %s failed with %d".formatted(userId, login.statusCode()));
+			}
+			login.headers().firstValue(SESSION_TOKEN_HEADER).ifPresent(token -> sessionTokens.put(userId, token));
+
+			HttpResponse<String> consent = httpClient.send(
+					post("/api/user/%s/trustvault".formatted(userId), userId,
+							Map.of("consentPayload", question)),
+					HttpResponse.BodyHandlers.ofString());
+			if (consent.statusCode() / 100 != 2) {
+				throw new IllegalStateException(
+						"Consent for %s failed with %d".formatted(userId, consent.statusCode()));
+			}
+			consentedQuestions.put(userId, question);
+		}
+		for (int i = 0; i < Math.max(1, traffic.distinctSnapshots()); i++) {
+			Map<String, Object> snapshot = new LinkedHashMap<>();
+			snapshot.put("AGE", 21 + random.nextInt(40));
+			snapshot.put("NETMONTHLYINCOME", 8000 + random.nextInt(60) * 1000);
+			snapshot.put("Credit_Score", 560 + random.nextInt(240));
+			snapshot.put("EDUCATION", EDUCATION[random.nextInt(EDUCATION.length)]);
+			snapshot.put("MARITALSTATUS", random.nextBoolean() ? "Married" : "Single");
+			snapshot.put("GENDER", random.nextBoolean() ? "F" : "M");
+			snapshot.put("num_times_delinquent", random.nextInt(4));
+			snapshots.add(snapshot);
+		}
+	}
+
+	/** Runs the warm-up and the measured window and returns one recorder per operation in the mix. */
+	public Map<Operation, LatencyRecorder> run() throws InterruptedException {
+		Operation[] operations = new Operation[traffic.mix().size()];
+		int[] cumulativeWeights = new int[operations.length];
+		int totalWeight = 0;
+		int index = 0;
+		for (Map.Entry<String, Integer> entry : traffic.mix().entrySet()) {
+			operations[index] = Operation.fromKey(entry.getKey());
+			totalWeight += Math.max(0, entry.getValue());
+			cumulativeWeights[index++] = totalWeight;
+		}
+		if (totalWeight == 0) {
+			throw new IllegalArgumentException("Traffic mix has no positive weights");
+		}
+
+		Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+		for (Operation operation : operations) {
+			recorders.put(operation, new LatencyRecorder());
+		}
+
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / traffic.ratePerSecond());
+		long warmupNanos = TimeUnit.SECONDS.toNanos(traffic.warmupSeconds());
+		long totalArrivals = (long) ((traffic.warmupSeconds() + traffic.durationSeconds()) * traffic.ratePerSecond());
+		AtomicInteger inFlight = new AtomicInteger();
+		long start = System.nanoTime();
+
+		for (long arrival = 0; arrival < totalArrivals; arrival++) {
+			long intended = start + arrival * intervalNanos;
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			int pick = random.nextInt(totalWeight);
+			int slot = 0;
+			while (cumulativeWeights[slot] <= pick) {
+				slot++;
+			}
+			Operation operation = operations[slot];
+			LatencyRecorder recorder = intended - start >= warmupNanos ? recorders.get(operation) : null;
+
+			if (inFlight.get() >= traffic.maxInFlight()) {
+				if (recorder != null) {
+					recorder.recordClientSaturated();
+				}
+				continue;
+			}
+			inFlight.incrementAndGet();
+			httpClient.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, failure) -> {
+						inFlight.decrementAndGet();
+						if (recorder == null) {
+							return;
+						}
+						long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+						if (failure != null) {
+							Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+									? failure.getCause() : failure;
+							recorder.record(latencyMicros, cause.getClass().getSimpleName(), false);
+						}
+						else {
+							recorder.record(latencyMicros, String.valueOf(response.statusCode()),
+									response.statusCode() / 100 == 2);
+						}
+					});
+		}
+
+		long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+		while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+			Thread.sleep(20);
+		}
+		executor.shutdownNow();
+		return recorders;
+	}
+
+	private HttpRequest request(Operation operation) {
+		String userId = traffic.users().get(random.nextInt(traffic.users().size()));
+		return switch (operation) {
+			case ASK -> {
+				Map<String, Object> body = new LinkedHashMap<>();
+				body.put("userId", userId);
+				body.put("question", consentedQuestions.get(userId));
+				body.put("featureSnapshot", snapshots.get(random.nextInt(snapshots.size())));
+				yield post("/api/ask", userId, body);
+			}
+			case DECISION -> get("/api/decision/" + userId, userId);
+			case FAIRGUARD_SUMMARY -> get("/api/fairguard/summary", userId);
+			case LOGIN -> login(userId);
+		};
+	}
+
+	private HttpRequest login(String userId) {
+		return post("/api/user/login", null, Map.of("userId", userId, "password", traffic.password()));
+	}
+
+	private HttpRequest get(String path, String userId) {
+		return builder(path, userId).GET().build();
+	}
+
+	private HttpRequest post(String path, String userId, Object body) {
+		try {
+			return builder(path, userId)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+					.build();
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Unable to encode request body for " + path, ex);
+		}
+	}
+
+	private HttpRequest.Builder builder(String path, String userId) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Accept", "application/json");
+		String token = userId != null ? sessionTokens.get(userId) : null;
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+}